@@ -0,0 +1,141 @@
+package com.saf.actorpool;
+
+import com.saf.core.Actor;
+import com.saf.core.ActorProps;
+import com.saf.core.ActorRef;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Métriques Micrometer d'un pool d'acteurs (tag pool) :
+ * actor.mailbox.size : messages en attente, par worker
+ * actor.dead.letters : messages refusés ou évincés, par worker
+ * Ces deux métriques n'existent que pour le Dispatcher.VIRTUAL : la boîte aux lettres
+ * du framework (Dispatcher.DEFAULT) n'expose ni sa taille ni ses messages perdus.
+ * actor.handler : durée de traitement par type de payload ; son count donne les messages/s
+ * actor.ask : latence des asks par issue (success, timeout, rejected, error)
+ * actor.ask.timeouts : asks expirés
+ */
+public class ActorMetrics {
+
+    private final MeterRegistry registry;
+    private final String pool;
+    private final Counter askTimeouts;
+    private final Map<Class<?>, Timer> handlerTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> askTimers = new ConcurrentHashMap<>();
+
+    public ActorMetrics(MeterRegistry registry, String pool) {
+        this.registry = registry;
+        this.pool = pool;
+        this.askTimeouts = Counter.builder("actor.ask.timeouts")
+                .description("Asks expirés avant la réponse de l'acteur")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    /**
+     * Métriques désactivées : un registre composite sans enfant ne publie rien
+     */
+    public static ActorMetrics disabled(String pool) {
+        return new ActorMetrics(new CompositeMeterRegistry(), pool);
+    }
+
+    /**
+     * Mêmes ActorProps, mais chaque acteur créé est enveloppé pour chronométrer ses handlers
+     */
+    public ActorProps instrument(ActorProps props) {
+        Supplier<Actor> supplier = props.getActorSupplier();
+        ActorProps instrumented = ActorProps.create(() -> new InstrumentedActor(supplier.get(), this))
+                .withMailboxCapacity(props.getMailboxCapacity());
+        if (props.getSupervisionStrategy() != null) {
+            instrumented = instrumented.withSupervisionStrategy(props.getSupervisionStrategy());
+        }
+        return instrumented;
+    }
+
+    /**
+     * Jauges de boîte aux lettres ; les workers du framework (dispatcher default) n'exposent pas leur file
+     */
+    public void register(ActorRef worker) {
+        if (worker instanceof MailboxActorRef mailbox) {
+            Gauge.builder("actor.mailbox.size", mailbox, MailboxActorRef::getMailboxSize)
+                    .description("Messages en attente dans la boîte aux lettres")
+                    .tag("pool", pool)
+                    .tag("actor", mailbox.getName())
+                    .register(registry);
+            FunctionCounter.builder("actor.dead.letters", mailbox, MailboxActorRef::getDeadLetterCount)
+                    .description("Messages refusés ou évincés par la boîte aux lettres")
+                    .tag("pool", pool)
+                    .tag("actor", mailbox.getName())
+                    .register(registry);
+        }
+    }
+
+    void recordHandler(Object payload, long nanos, Throwable error) {
+        Timer timer = error == null
+                ? handlerTimers.computeIfAbsent(payloadType(payload), type -> handlerTimer(type, "none"))
+                : handlerTimer(payloadType(payload), error.getClass().getSimpleName());
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Chronomètre un ask à partir de {@code startNanos} jusqu'à la complétion de la réponse
+     */
+    public CompletableFuture<Object> timeAsk(long startNanos, CompletableFuture<Object> reply) {
+        return reply.whenComplete((response, error) -> {
+            String outcome = outcome(error);
+            if ("timeout".equals(outcome)) {
+                askTimeouts.increment();
+            }
+            askTimers.computeIfAbsent(outcome, this::askTimer)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private Timer handlerTimer(Class<?> type, String exception) {
+        return Timer.builder("actor.handler")
+                .description("Durée de traitement d'un message par l'acteur")
+                .tag("pool", pool)
+                .tag("payload", type.getSimpleName())
+                .tag("exception", exception)
+                .register(registry);
+    }
+
+    private Timer askTimer(String outcome) {
+        return Timer.builder("actor.ask")
+                .description("Latence d'un ask, de l'envoi à la réponse")
+                .tag("pool", pool)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Class<?> payloadType(Object payload) {
+        return payload != null ? payload.getClass() : Void.class;
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        if (MailboxOverflowException.isCause(error)) {
+            return "rejected";
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException) {
+                return "timeout";
+            }
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,115 @@
+package com.saf.actorpool;
+
+import com.saf.core.ActorProps;
+import com.saf.core.ActorRef;
+import com.saf.core.Message;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Pool de N acteurs identiques exposé comme un seul ActorRef.
+ * Les messages portant la même clé de routage (annonceId, userId...) sont
+ * toujours envoyés au même worker, ce qui préserve l'ordre par entité.
+ * Les messages sans clé sont répartis en round-robin.
+ * Les asks sont chronométrés via ActorMetrics.
+ * Créé par {@link #create}, le pool et ses workers sont enregistrés dans le
+ * PoolActorSystem, qui les arrête à son shutdown.
+ */
+public class ActorPool implements ActorRef {
+
+    private final String name;
+    private final List<ActorRef> workers;
+    private final Function<Object, Object> routingKey;
+    private final ActorMetrics metrics;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public ActorPool(String name, List<ActorRef> workers, Function<Object, Object> routingKey) {
+        this(name, workers, routingKey, ActorMetrics.disabled(name));
+    }
+
+    public ActorPool(String name, List<ActorRef> workers, Function<Object, Object> routingKey,
+            ActorMetrics metrics) {
+        if (workers.isEmpty()) {
+            throw new IllegalArgumentException("Le pool " + name + " doit contenir au moins un worker");
+        }
+        this.name = name;
+        this.workers = List.copyOf(workers);
+        this.routingKey = routingKey;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Crée {@code size} workers nommés {@code name-0 ... name-(size-1)} sur le dispatcher donné,
+     * chacun avec sa propre boîte aux lettres (capacité des ActorProps, débordement selon overflow).
+     * Les métriques du pool sont publiées dans meterRegistry.
+     * DROP_OLDEST et BLOCK ne sont appliqués que par le Dispatcher.VIRTUAL : avec DEFAULT,
+     * c'est le framework qui gère le débordement, la configuration est donc refusée.
+     */
+    public static ActorPool create(PoolActorSystem actorSystem, String name, int size, Dispatcher dispatcher,
+            ActorProps props, MailboxOverflow overflow, Function<Object, Object> routingKey,
+            MeterRegistry meterRegistry) {
+        if (dispatcher == Dispatcher.DEFAULT && overflow.policy() != OverflowPolicy.REJECT) {
+            throw new IllegalArgumentException("Pool " + name + " : la politique de débordement "
+                    + overflow.policy() + " exige le dispatcher VIRTUAL");
+        }
+        ActorMetrics metrics = new ActorMetrics(meterRegistry, name);
+        ActorProps instrumented = metrics.instrument(props);
+        List<ActorRef> workers = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, size); i++) {
+            ActorRef worker = dispatcher.spawn(actorSystem, name + "-" + i, instrumented, overflow);
+            metrics.register(worker);
+            workers.add(worker);
+        }
+        ActorPool pool = new ActorPool(name, workers, routingKey, metrics);
+        actorSystem.register(pool);
+        return pool;
+    }
+
+    @Override
+    public void send(Object message, ActorRef sender) {
+        route(message).send(message, sender);
+    }
+
+    @Override
+    public void sendMessage(Message message) {
+        route(message.getPayload()).sendMessage(message);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public CompletableFuture<Object> ask(Object message, Duration timeout) {
+        long start = System.nanoTime();
+        return metrics.timeAsk(start, route(message).ask(message, timeout));
+    }
+
+    public int size() {
+        return workers.size();
+    }
+
+    List<ActorRef> getWorkers() {
+        return workers;
+    }
+
+    ActorRef route(Object payload) {
+        Object key = routingKey.apply(payload);
+        int index = key != null
+                ? Math.floorMod(key.hashCode(), workers.size())
+                : Math.floorMod(roundRobin.getAndIncrement(), workers.size());
+        return workers.get(index);
+    }
+
+    @Override
+    public String toString() {
+        return "ActorPool[" + name + ", workers=" + workers.size() + "]";
+    }
+}
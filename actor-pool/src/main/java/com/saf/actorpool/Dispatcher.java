@@ -0,0 +1,45 @@
+package com.saf.actorpool;
+
+import com.saf.core.ActorProps;
+import com.saf.core.ActorRef;
+import com.saf.core.ActorSystem;
+
+import java.util.Locale;
+
+/**
+ * Dispatcher sur lequel un acteur exécute sa boîte aux lettres
+ * DEFAULT : exécuteur du framework (ActorSystem.createActor) ; la capacité des
+ * ActorProps est transmise au framework, qui applique sa propre gestion du débordement
+ * (seule la politique REJECT est acceptée par ActorPool.create)
+ * VIRTUAL : un thread virtuel Java 21 par acteur, adapté aux handlers
+ * qui bloquent sur JPA ou Feign sans monopoliser un thread plateforme
+ */
+public enum Dispatcher {
+
+    DEFAULT {
+        @Override
+        public ActorRef spawn(ActorSystem actorSystem, String name, ActorProps props, MailboxOverflow overflow) {
+            return actorSystem.createActor(name, props);
+        }
+    },
+
+    VIRTUAL {
+        @Override
+        public ActorRef spawn(ActorSystem actorSystem, String name, ActorProps props, MailboxOverflow overflow) {
+            return new MailboxActorRef(name, props, overflow, actorSystem,
+                    Thread.ofVirtual().name("actor-" + name).factory()).start();
+        }
+    };
+
+    public abstract ActorRef spawn(ActorSystem actorSystem, String name, ActorProps props, MailboxOverflow overflow);
+
+    /**
+     * Lecture tolérante depuis la configuration ("virtual", "DEFAULT"...)
+     */
+    public static Dispatcher of(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
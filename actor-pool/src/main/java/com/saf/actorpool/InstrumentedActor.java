@@ -0,0 +1,70 @@
+package com.saf.actorpool;
+
+import com.saf.core.Actor;
+import com.saf.core.ActorContext;
+import com.saf.core.Message;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Enveloppe un acteur pour chronométrer onReceive par type de payload.
+ * Pour un ask, l'acteur répond dans une future intermédiaire, transmise à l'appelant
+ * une fois la durée enregistrée : qui a reçu la réponse voit le handler déjà compté.
+ * Une réponse donnée plus tard (sur un autre thread) est transmise dès qu'elle arrive.
+ * Le cycle de vie est délégué tel quel, la supervision voit les mêmes exceptions.
+ */
+class InstrumentedActor implements Actor {
+
+    private final Actor delegate;
+    private final ActorMetrics metrics;
+
+    InstrumentedActor(Actor delegate, ActorMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void onReceive(Message message, ActorContext context) {
+        CompletableFuture<Object> reply = message.expectsResponse() ? new CompletableFuture<>() : null;
+        Message delivered = reply != null ? new Message(message.getPayload(), message.getSender(), reply) : message;
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            delegate.onReceive(delivered, context);
+        } catch (RuntimeException | Error e) {
+            error = e;
+            throw e;
+        } finally {
+            metrics.recordHandler(message.getPayload(), System.nanoTime() - start, error);
+            if (reply != null) {
+                reply.whenComplete((result, failure) -> {
+                    if (failure != null) {
+                        message.replyWithError(failure);
+                    } else {
+                        message.reply(result);
+                    }
+                });
+            }
+        }
+    }
+
+    @Override
+    public void preStart() {
+        delegate.preStart();
+    }
+
+    @Override
+    public void postStop() {
+        delegate.postStop();
+    }
+
+    @Override
+    public void preRestart(Throwable reason, Message message) {
+        delegate.preRestart(reason, message);
+    }
+
+    @Override
+    public void postRestart(Throwable reason) {
+        delegate.postRestart(reason);
+    }
+}
@@ -0,0 +1,278 @@
+package com.saf.actorpool;
+
+import com.saf.core.Actor;
+import com.saf.core.ActorContext;
+import com.saf.core.ActorProps;
+import com.saf.core.ActorRef;
+import com.saf.core.ActorSystem;
+import com.saf.core.DeadLetter;
+import com.saf.core.EventBus;
+import com.saf.core.Message;
+import com.saf.core.Scheduler;
+import com.saf.core.SupervisionStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Acteur hébergé hors de l'exécuteur du framework : une boîte aux lettres
+ * et un thread dédié (virtuel ou plateforme selon la ThreadFactory) qui
+ * traite les messages un par un.
+ * La supervision suit la SupervisionStrategy des ActorProps (RESUME par défaut).
+ * La boîte aux lettres est bornée par ActorProps.withMailboxCapacity ; au-delà,
+ * la MailboxOverflow décide. Tout message refusé part en DeadLetter sur l'EventBus,
+ * est compté, et l'ask correspondant échoue avec une MailboxOverflowException ;
+ * c'est aussi le sort des messages encore en attente quand l'acteur s'arrête.
+ * BLOCK n'attend jamais sur un thread de requête HTTP ni sur le thread d'un
+ * autre acteur : depuis ces threads, un message qui ne trouve pas de place est refusé.
+ */
+public class MailboxActorRef implements ActorRef {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailboxActorRef.class);
+
+    // Acteur dont le thread courant traite la boîte aux lettres
+    private static final ThreadLocal<MailboxActorRef> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final ActorProps props;
+    private final MailboxOverflow overflow;
+    private final ActorSystem actorSystem;
+    private final BlockingQueue<Message> mailbox;
+    private final LongAdder deadLetters = new LongAdder();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public MailboxActorRef(String name, ActorProps props, MailboxOverflow overflow,
+            ActorSystem actorSystem, ThreadFactory threadFactory) {
+        this.name = name;
+        this.props = props;
+        this.overflow = overflow;
+        this.actorSystem = actorSystem;
+        int capacity = props.getMailboxCapacity();
+        this.mailbox = capacity > 0 ? new LinkedBlockingQueue<>(capacity) : new LinkedBlockingQueue<>();
+        this.thread = threadFactory.newThread(this::run);
+    }
+
+    public MailboxActorRef start() {
+        thread.start();
+        return this;
+    }
+
+    public void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    /**
+     * Acteur exécuté par le thread courant, ou null hors d'un MailboxActorRef
+     */
+    static MailboxActorRef current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void send(Object message, ActorRef sender) {
+        sendMessage(new Message(message, sender));
+    }
+
+    @Override
+    public void sendMessage(Message message) {
+        if (!running) {
+            deadLetter(message, "Acteur arrêté");
+            return;
+        }
+        switch (effectivePolicy()) {
+            case REJECT -> {
+                if (!mailbox.offer(message)) {
+                    deadLetter(message, "Boîte aux lettres pleine");
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!mailbox.offer(message)) {
+                    Message oldest = mailbox.poll();
+                    if (oldest != null) {
+                        deadLetter(oldest, "Évincé par un message plus récent");
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (!mailbox.offer(message, overflow.blockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                        deadLetter(message, "Boîte aux lettres pleine après " + overflow.blockTimeout().toMillis() + " ms");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    deadLetter(message, "Émetteur interrompu");
+                }
+            }
+        }
+        // Arrêté pendant l'envoi, après la vidange : le message ne serait jamais traité
+        if (!running && mailbox.remove(message)) {
+            deadLetter(message, "Acteur arrêté");
+        }
+    }
+
+    /**
+     * BLOCK dégradé en REJECT quand l'émetteur est une requête HTTP (RequestContextHolder)
+     * ou un acteur : le bloquer retarderait toutes les requêtes ou tous les messages derrière lui
+     */
+    private OverflowPolicy effectivePolicy() {
+        OverflowPolicy policy = overflow.policy();
+        if (policy == OverflowPolicy.BLOCK
+                && (RequestContextHolder.getRequestAttributes() != null || current() != null)) {
+            return OverflowPolicy.REJECT;
+        }
+        return policy;
+    }
+
+    /**
+     * Nombre de messages en attente de traitement
+     */
+    public int getMailboxSize() {
+        return mailbox.size();
+    }
+
+    /**
+     * Nombre de messages refusés ou évincés depuis le démarrage
+     */
+    public long getDeadLetterCount() {
+        return deadLetters.sum();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public CompletableFuture<Object> ask(Object message, Duration timeout) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        sendMessage(new Message(message, null, future));
+        return future.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void run() {
+        Supplier<Actor> supplier = props.getActorSupplier();
+        ActorContext context = new MailboxContext();
+        Actor actor = null;
+        CURRENT.set(this);
+        try {
+            actor = supplier.get();
+            actor.preStart();
+            while (running) {
+                Message message = mailbox.take();
+                try {
+                    actor.onReceive(message, context);
+                } catch (Throwable e) {
+                    SupervisionStrategy.Directive directive = decide(e);
+                    logger.error("Erreur dans l'acteur {} ({}): {}", name, directive, e.getMessage(), e);
+                    if (message.expectsResponse()) {
+                        message.replyWithError(e);
+                    }
+                    if (directive == SupervisionStrategy.Directive.RESTART) {
+                        actor.preRestart(e, message);
+                        actor = supplier.get();
+                        actor.postRestart(e);
+                    } else if (directive != SupervisionStrategy.Directive.RESUME) {
+                        running = false;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // Création, preStart ou redémarrage en échec : l'acteur s'arrête
+            logger.error("Acteur {} arrêté: {}", name, e.getMessage(), e);
+        } finally {
+            running = false;
+            for (Message pending = mailbox.poll(); pending != null; pending = mailbox.poll()) {
+                deadLetter(pending, "Acteur arrêté");
+            }
+            if (actor != null) {
+                actor.postStop();
+            }
+            CURRENT.remove();
+        }
+    }
+
+    private void deadLetter(Message message, String reason) {
+        deadLetters.increment();
+        logger.warn("Message refusé par {} ({}): {}", name, reason, message.getPayload());
+        if (message.expectsResponse()) {
+            message.replyWithError(new MailboxOverflowException(name, reason));
+        }
+        EventBus eventBus = actorSystem != null ? actorSystem.getEventBus() : null;
+        if (eventBus != null) {
+            eventBus.publish(new DeadLetter(message, this, reason));
+        }
+    }
+
+    private SupervisionStrategy.Directive decide(Throwable error) {
+        SupervisionStrategy strategy = props.getSupervisionStrategy();
+        return strategy != null ? strategy.decide(error) : SupervisionStrategy.Directive.RESUME;
+    }
+
+    @Override
+    public String toString() {
+        return "MailboxActorRef[" + name + "]";
+    }
+
+    /**
+     * Contexte passé à l'acteur : délègue au système, mais getSelf() désigne cet acteur
+     */
+    private class MailboxContext implements ActorContext {
+
+        @Override
+        public ActorRef createActor(String childName, Supplier<Actor> actorSupplier) {
+            return actorSystem.createActor(childName, actorSupplier);
+        }
+
+        @Override
+        public ActorRef createActor(String childName, ActorProps childProps) {
+            return actorSystem.createActor(childName, childProps);
+        }
+
+        @Override
+        public ActorRef getActor(String actorName) {
+            return actorSystem.getActor(actorName);
+        }
+
+        @Override
+        public void stopActor(ActorRef actorRef) {
+            if (actorRef == MailboxActorRef.this) {
+                stop();
+            } else {
+                actorSystem.stopActor(actorRef);
+            }
+        }
+
+        @Override
+        public ActorRef getSelf() {
+            return MailboxActorRef.this;
+        }
+
+        @Override
+        public ActorRef getParent() {
+            return actorSystem instanceof PoolActorSystem pools ? pools.parentOf(name) : null;
+        }
+
+        @Override
+        public Scheduler getScheduler() {
+            return actorSystem.getScheduler();
+        }
+
+        @Override
+        public EventBus getEventBus() {
+            return actorSystem.getEventBus();
+        }
+    }
+}
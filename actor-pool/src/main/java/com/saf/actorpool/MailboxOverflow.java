@@ -0,0 +1,17 @@
+package com.saf.actorpool;
+
+import java.time.Duration;
+
+/**
+ * Politique de débordement d'une boîte aux lettres et délai d'attente (BLOCK uniquement)
+ */
+public record MailboxOverflow(OverflowPolicy policy, Duration blockTimeout) {
+
+    public static MailboxOverflow reject() {
+        return new MailboxOverflow(OverflowPolicy.REJECT, Duration.ZERO);
+    }
+
+    public static MailboxOverflow of(String policy, long blockTimeoutMillis) {
+        return new MailboxOverflow(OverflowPolicy.of(policy), Duration.ofMillis(blockTimeoutMillis));
+    }
+}
@@ -0,0 +1,31 @@
+package com.saf.actorpool;
+
+/**
+ * Message refusé par une boîte aux lettres pleine ou un acteur arrêté.
+ * Les contrôleurs la traduisent en HTTP 503.
+ */
+public class MailboxOverflowException extends RuntimeException {
+
+    private final String actorName;
+
+    public MailboxOverflowException(String actorName, String reason) {
+        super(actorName + ": " + reason);
+        this.actorName = actorName;
+    }
+
+    public String getActorName() {
+        return actorName;
+    }
+
+    /**
+     * Vrai si l'échec d'un ask (éventuellement enveloppé dans une CompletionException) vient d'un débordement
+     */
+    public static boolean isCause(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof MailboxOverflowException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
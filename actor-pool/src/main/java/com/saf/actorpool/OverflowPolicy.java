@@ -0,0 +1,28 @@
+package com.saf.actorpool;
+
+import java.util.Locale;
+
+/**
+ * Comportement d'une boîte aux lettres bornée quand elle est pleine
+ * REJECT : le message est refusé immédiatement (HTTP 503 côté contrôleur)
+ * DROP_OLDEST : le plus ancien message en attente est évincé au profit du nouveau
+ * BLOCK : l'émetteur attend une place, au plus le délai configuré, puis le message est refusé ;
+ * un émetteur qui est une requête HTTP ou un acteur n'attend pas (comme REJECT)
+ * DROP_OLDEST et BLOCK exigent le Dispatcher.VIRTUAL
+ */
+public enum OverflowPolicy {
+
+    REJECT,
+    DROP_OLDEST,
+    BLOCK;
+
+    /**
+     * Lecture tolérante depuis la configuration ("reject", "drop-oldest"...)
+     */
+    public static OverflowPolicy of(String value) {
+        if (value == null || value.isBlank()) {
+            return REJECT;
+        }
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
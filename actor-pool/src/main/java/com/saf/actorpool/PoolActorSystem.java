@@ -0,0 +1,86 @@
+package com.saf.actorpool;
+
+import com.saf.core.ActorRef;
+import com.saf.core.ActorSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ActorSystem qui connaît aussi les pools et les workers hébergés hors de son
+ * exécuteur (Dispatcher.VIRTUAL) : getActor les retrouve par nom, stopActor et
+ * shutdown les arrêtent, et le parent d'un worker est son pool.
+ */
+public class PoolActorSystem extends ActorSystem {
+
+    private final Map<String, ActorRef> hosted = new ConcurrentHashMap<>();
+    private final Map<String, ActorPool> parents = new ConcurrentHashMap<>();
+
+    /**
+     * Enregistre le pool et ses workers (ceux du Dispatcher.DEFAULT le sont déjà par le framework)
+     */
+    void register(ActorPool pool) {
+        hosted.put(pool.getName(), pool);
+        for (ActorRef worker : pool.getWorkers()) {
+            if (worker instanceof MailboxActorRef) {
+                hosted.put(worker.getName(), worker);
+            }
+            parents.put(worker.getName(), pool);
+        }
+    }
+
+    /**
+     * Pool dont l'acteur est un worker, ou null
+     */
+    public ActorRef parentOf(String actorName) {
+        return parents.get(actorName);
+    }
+
+    @Override
+    public ActorRef getActor(String name) {
+        ActorRef actor = hosted.get(name);
+        return actor != null ? actor : super.getActor(name);
+    }
+
+    @Override
+    public ActorRef getSelf() {
+        MailboxActorRef current = MailboxActorRef.current();
+        return current != null ? current : super.getSelf();
+    }
+
+    @Override
+    public ActorRef getParent() {
+        ActorRef self = getSelf();
+        ActorRef parent = self != null ? parents.get(self.getName()) : null;
+        return parent != null ? parent : super.getParent();
+    }
+
+    /**
+     * Arrêter un pool arrête tous ses workers ; les messages en attente partent en DeadLetter
+     */
+    @Override
+    public void stopActor(ActorRef actorRef) {
+        if (actorRef instanceof ActorPool pool) {
+            hosted.remove(pool.getName(), pool);
+            pool.getWorkers().forEach(this::stopActor);
+        } else if (actorRef instanceof MailboxActorRef worker) {
+            hosted.remove(worker.getName(), worker);
+            parents.remove(worker.getName());
+            worker.stop();
+        } else {
+            parents.remove(actorRef.getName());
+            super.stopActor(actorRef);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        List<ActorRef> actors = new ArrayList<>(hosted.values());
+        // Les pools d'abord : leurs workers sont arrêtés avec eux
+        actors.stream().filter(ActorPool.class::isInstance).forEach(this::stopActor);
+        actors.stream().filter(MailboxActorRef.class::isInstance).forEach(this::stopActor);
+        super.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.saf.actorpool.web;
+
+import com.saf.actorpool.MailboxOverflowException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+/**
+ * Réponses communes aux contrôleurs adossés aux acteurs (user-service, transaction-service)
+ */
+public final class ActorReplies {
+
+    private ActorReplies() {
+    }
+
+    /**
+     * Échec d'un ask : 503 si la boîte aux lettres de l'acteur a refusé le message
+     * (délestage), sinon 500 avec le message d'erreur donné
+     */
+    public static ResponseEntity<?> failure(Throwable error, String message) {
+        if (MailboxOverflowException.isCause(error)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Service surchargé, réessayez plus tard"));
+        }
+        return ResponseEntity.status(500).body(Map.of("error", message));
+    }
+}
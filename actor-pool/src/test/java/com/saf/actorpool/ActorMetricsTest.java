@@ -0,0 +1,86 @@
+package com.saf.actorpool;
+
+import com.saf.core.ActorProps;
+import com.saf.core.Message;
+import com.saf.actorpool.ActorPoolTest.Delete;
+import com.saf.actorpool.ActorPoolTest.Get;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PoolActorSystem actorSystem;
+    private ActorPool pool;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        actorSystem = new PoolActorSystem();
+        // Get reçoit une réponse, Delete jamais (pour provoquer un timeout)
+        pool = ActorPool.create(actorSystem, "annonceActor", 2, Dispatcher.VIRTUAL,
+                ActorProps.create(() -> (message, context) -> {
+                    if (message.getPayload() instanceof Get) {
+                        message.reply("ok");
+                    }
+                }),
+                MailboxOverflow.reject(), ActorPoolTest::routingKey, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        actorSystem.shutdown();
+        registry.close();
+    }
+
+    @Test
+    void testAskAndHandlerAreTimedPerPayloadType() throws Exception {
+        pool.ask(new Get(1L), Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS);
+        pool.ask(new Get(2L), Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS);
+
+        assertEquals(2, registry.get("actor.ask").tags("pool", "annonceActor", "outcome", "success")
+                .timer().count());
+        // La réponse n'est transmise qu'une fois le handler chronométré
+        assertEquals(2, registry.get("actor.handler").tags("payload", "Get", "exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    void testLateReplyIsForwardedToCaller() throws Exception {
+        CompletableFuture<Object> later = new CompletableFuture<>();
+        ActorMetrics metrics = new ActorMetrics(registry, "userActor");
+        InstrumentedActor actor = new InstrumentedActor((message, context) ->
+                later.thenAccept(message::reply), metrics);
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+
+        actor.onReceive(new Message(new Get(1L), null, reply), null);
+        assertFalse(reply.isDone());
+
+        later.complete("ok");
+        assertEquals("ok", reply.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testAskTimeoutIsCounted() {
+        CompletableFuture<Object> reply = pool.ask(new Delete(1L), Duration.ofMillis(50));
+
+        assertThrows(ExecutionException.class, () -> reply.get(2, TimeUnit.SECONDS));
+        assertEquals(1.0, registry.get("actor.ask.timeouts").tag("pool", "annonceActor").counter().count());
+        assertEquals(1, registry.get("actor.ask").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void testMailboxGaugesAreRegisteredPerWorker() {
+        assertEquals(2, registry.get("actor.mailbox.size").tag("pool", "annonceActor").gauges().size());
+        assertEquals(0.0, registry.get("actor.dead.letters").tag("actor", "annonceActor-0").functionCounter().count());
+    }
+}
@@ -0,0 +1,100 @@
+package com.saf.actorpool;
+
+import com.saf.core.ActorProps;
+import com.saf.core.ActorRef;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActorPoolTest {
+
+    record Get(Long id) {
+    }
+
+    record Update(Long id) {
+    }
+
+    record Delete(Long id) {
+    }
+
+    record ListAll() {
+    }
+
+    static Object routingKey(Object payload) {
+        if (payload instanceof Get msg) {
+            return msg.id();
+        } else if (payload instanceof Update msg) {
+            return msg.id();
+        } else if (payload instanceof Delete msg) {
+            return msg.id();
+        }
+        return null;
+    }
+
+    private ActorRef worker0;
+    private ActorRef worker1;
+    private ActorRef worker2;
+    private ActorPool pool;
+
+    @BeforeEach
+    void setUp() {
+        worker0 = mock(ActorRef.class);
+        worker1 = mock(ActorRef.class);
+        worker2 = mock(ActorRef.class);
+        pool = new ActorPool("annonceActor", List.of(worker0, worker1, worker2), ActorPoolTest::routingKey);
+    }
+
+    @Test
+    void testSameKeyAlwaysRoutesToSameWorker() {
+        ActorRef first = pool.route(new Get(42L));
+
+        assertSame(first, pool.route(new Update(42L)));
+        assertSame(first, pool.route(new Delete(42L)));
+    }
+
+    @Test
+    void testMessagesWithoutKeyAreSpreadAcrossWorkers() {
+        Set<ActorRef> used = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            used.add(pool.route(new ListAll()));
+        }
+
+        assertEquals(3, used.size());
+    }
+
+    @Test
+    void testSendDelegatesToRoutedWorker() {
+        Get msg = new Get(7L);
+        ActorRef target = pool.route(msg);
+
+        pool.send(msg, null);
+
+        verify(target).send(msg, null);
+    }
+
+    @Test
+    void testEmptyPoolIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ActorPool("empty", List.of(), ActorPoolTest::routingKey));
+    }
+
+    @Test
+    void testOverflowPolicyOtherThanRejectRequiresVirtualDispatcher() {
+        PoolActorSystem actorSystem = mock(PoolActorSystem.class);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ActorPool.create(actorSystem, "annonceActor", 1, Dispatcher.DEFAULT,
+                        ActorProps.create(() -> (message, context) -> message.reply("ok")),
+                        new MailboxOverflow(OverflowPolicy.BLOCK, Duration.ofMillis(200)),
+                        ActorPoolTest::routingKey, new SimpleMeterRegistry()));
+        verifyNoInteractions(actorSystem);
+    }
+}
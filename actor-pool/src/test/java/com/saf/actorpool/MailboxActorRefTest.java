@@ -0,0 +1,226 @@
+package com.saf.actorpool;
+
+import com.saf.core.Actor;
+import com.saf.core.ActorContext;
+import com.saf.core.ActorProps;
+import com.saf.core.ActorSystem;
+import com.saf.core.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class MailboxActorRefTest {
+
+    private MailboxActorRef actorRef;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (actorRef != null) {
+            actorRef.stop();
+        }
+    }
+
+    @Test
+    void testAskIsAnsweredOnVirtualThread() throws Exception {
+        actorRef = (MailboxActorRef) Dispatcher.VIRTUAL.spawn(mock(ActorSystem.class), "echo",
+                ActorProps.create(() -> (message, context) -> message.reply(Thread.currentThread().isVirtual())),
+                MailboxOverflow.reject());
+
+        Object response = actorRef.ask("ping", Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS);
+
+        assertEquals(true, response);
+    }
+
+    @Test
+    void testFailingHandlerRepliesWithErrorAndKeepsProcessing() throws Exception {
+        actorRef = (MailboxActorRef) Dispatcher.VIRTUAL.spawn(mock(ActorSystem.class), "fragile",
+                ActorProps.create(() -> (message, context) -> {
+                    if ("boom".equals(message.getPayload())) {
+                        throw new IllegalStateException("boom");
+                    }
+                    message.reply("ok");
+                }), MailboxOverflow.reject());
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> actorRef.ask("boom", Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+
+        assertEquals("ok", actorRef.ask("ping", Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testHandlerErrorIsSupervisedLikeAnException() throws Exception {
+        actorRef = (MailboxActorRef) Dispatcher.VIRTUAL.spawn(mock(ActorSystem.class), "fragile",
+                ActorProps.create(() -> (message, context) -> {
+                    if ("boom".equals(message.getPayload())) {
+                        throw new AssertionError("boom");
+                    }
+                    message.reply("ok");
+                }), MailboxOverflow.reject());
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> actorRef.ask("boom", Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, error.getCause());
+
+        assertEquals("ok", actorRef.ask("ping", Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailingPreStartStopsActorAndRejectsMessages() throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        actorRef = (MailboxActorRef) Dispatcher.VIRTUAL.spawn(mock(ActorSystem.class), "mort-ne",
+                ActorProps.create(() -> new Actor() {
+                    @Override
+                    public void preStart() {
+                        throw new IllegalStateException("preStart");
+                    }
+
+                    @Override
+                    public void onReceive(Message message, ActorContext context) {
+                        message.reply("ok");
+                    }
+
+                    @Override
+                    public void postStop() {
+                        stopped.countDown();
+                    }
+                }), MailboxOverflow.reject());
+
+        assertTrue(stopped.await(2, TimeUnit.SECONDS));
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> actorRef.ask("ping", Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS));
+        assertInstanceOf(MailboxOverflowException.class, error.getCause());
+    }
+
+    @Test
+    void testFullMailboxRejectsWithOverflowError() throws Exception {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        actorRef = blockingActor(OverflowPolicy.REJECT, busy, release);
+
+        CompletableFuture<Object> first = actorRef.ask("first", Duration.ofSeconds(2));
+        assertTrue(busy.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Object> queued = actorRef.ask("queued", Duration.ofSeconds(2));
+        CompletableFuture<Object> rejected = actorRef.ask("rejected", Duration.ofSeconds(2));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(MailboxOverflowException.class, error.getCause());
+        assertEquals(1, actorRef.getDeadLetterCount());
+
+        release.countDown();
+        assertEquals("first", first.get(2, TimeUnit.SECONDS));
+        assertEquals("queued", queued.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDropOldestEvictsQueuedMessage() throws Exception {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        actorRef = blockingActor(OverflowPolicy.DROP_OLDEST, busy, release);
+
+        actorRef.ask("first", Duration.ofSeconds(2));
+        assertTrue(busy.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Object> oldest = actorRef.ask("oldest", Duration.ofSeconds(2));
+        CompletableFuture<Object> newest = actorRef.ask("newest", Duration.ofSeconds(2));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> oldest.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(MailboxOverflowException.class, error.getCause());
+
+        release.countDown();
+        assertEquals("newest", newest.get(2, TimeUnit.SECONDS));
+        assertEquals(1, actorRef.getDeadLetterCount());
+    }
+
+    @Test
+    void testBlockRejectsImmediatelyOnRequestThread() throws Exception {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        actorRef = blockingActor(OverflowPolicy.BLOCK, busy, release, Duration.ofSeconds(5));
+
+        actorRef.ask("first", Duration.ofSeconds(2));
+        assertTrue(busy.await(2, TimeUnit.SECONDS));
+        actorRef.ask("queued", Duration.ofSeconds(2));
+        RequestContextHolder.setRequestAttributes(mock(RequestAttributes.class));
+
+        long start = System.nanoTime();
+        CompletableFuture<Object> rejected = actorRef.ask("rejected", Duration.ofSeconds(2));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(MailboxOverflowException.class, error.getCause());
+        release.countDown();
+    }
+
+    @Test
+    void testBlockRejectsImmediatelyOnActorThread() throws Exception {
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        actorRef = blockingActor(OverflowPolicy.BLOCK, busy, release, Duration.ofSeconds(5));
+        MailboxActorRef target = actorRef;
+        MailboxActorRef sender = (MailboxActorRef) Dispatcher.VIRTUAL.spawn(mock(ActorSystem.class), "sender",
+                ActorProps.create(() -> (message, context) ->
+                        message.reply(target.ask("rejected", Duration.ofSeconds(2)))),
+                MailboxOverflow.reject());
+        try {
+            actorRef.ask("first", Duration.ofSeconds(2));
+            assertTrue(busy.await(2, TimeUnit.SECONDS));
+            actorRef.ask("queued", Duration.ofSeconds(2));
+
+            // La réponse de sender n'arrive dans la seconde que s'il n'a pas attendu de place
+            CompletableFuture<?> rejected = (CompletableFuture<?>) sender.ask("send", Duration.ofSeconds(2))
+                    .get(1, TimeUnit.SECONDS);
+            ExecutionException error = assertThrows(ExecutionException.class, () -> rejected.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(MailboxOverflowException.class, error.getCause());
+        } finally {
+            release.countDown();
+            sender.stop();
+        }
+    }
+
+    @Test
+    void testOverflowPolicyIsReadFromConfiguration() {
+        assertEquals(OverflowPolicy.DROP_OLDEST, OverflowPolicy.of("drop-oldest"));
+        assertEquals(OverflowPolicy.BLOCK, OverflowPolicy.of(" block "));
+        assertEquals(OverflowPolicy.REJECT, OverflowPolicy.of(null));
+    }
+
+    @Test
+    void testDispatcherIsReadFromConfiguration() {
+        assertEquals(Dispatcher.VIRTUAL, Dispatcher.of("virtual"));
+        assertEquals(Dispatcher.DEFAULT, Dispatcher.of(" Default "));
+        assertEquals(Dispatcher.DEFAULT, Dispatcher.of(null));
+    }
+
+    /**
+     * Acteur à boîte aux lettres de capacité 1 dont le premier message bloque jusqu'à release
+     */
+    private MailboxActorRef blockingActor(OverflowPolicy policy, CountDownLatch busy, CountDownLatch release) {
+        return blockingActor(policy, busy, release, Duration.ZERO);
+    }
+
+    private MailboxActorRef blockingActor(OverflowPolicy policy, CountDownLatch busy, CountDownLatch release,
+            Duration blockTimeout) {
+        ActorProps props = ActorProps.create(() -> (message, context) -> {
+            busy.countDown();
+            try {
+                release.await(2, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            message.reply(message.getPayload());
+        }).withMailboxCapacity(1);
+        return (MailboxActorRef) Dispatcher.VIRTUAL.spawn(mock(ActorSystem.class), "bounded", props,
+                new MailboxOverflow(policy, blockTimeout));
+    }
+}
@@ -0,0 +1,89 @@
+package com.saf.actorpool;
+
+import com.saf.core.ActorProps;
+import com.saf.core.ActorRef;
+import com.saf.core.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PoolActorSystemTest {
+
+    private final PoolActorSystem actorSystem = new PoolActorSystem();
+    private final CountDownLatch busy = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        actorSystem.shutdown();
+    }
+
+    @Test
+    void testVirtualWorkersAreRegisteredUnderTheirPool() throws Exception {
+        ActorPool pool = pool(message -> message.reply("ok"));
+
+        assertSame(pool, actorSystem.getActor("annonceActor"));
+        ActorRef worker = actorSystem.getActor("annonceActor-0");
+        assertInstanceOf(MailboxActorRef.class, worker);
+        assertSame(pool, actorSystem.parentOf("annonceActor-0"));
+        assertSame(pool, worker.ask("parent", Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdownFailsQueuedAsks() throws Exception {
+        ActorPool pool = pool(message -> {
+            busy.countDown();
+            // Bloqué jusqu'à l'interruption par l'arrêt
+            new CountDownLatch(1).await();
+        });
+        CompletableFuture<Object> inProgress = pool.ask("premier", Duration.ofSeconds(5));
+        assertTrue(busy.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Object> queued = pool.ask("second", Duration.ofSeconds(5));
+
+        actorSystem.shutdown();
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> queued.get(2, TimeUnit.SECONDS));
+        assertTrue(MailboxOverflowException.isCause(error));
+        assertThrows(ExecutionException.class, () -> inProgress.get(2, TimeUnit.SECONDS));
+        assertNull(actorSystem.getActor("annonceActor"));
+        assertNull(actorSystem.getActor("annonceActor-0"));
+    }
+
+    @Test
+    void testStoppedWorkerRejectsNewMessages() {
+        ActorPool pool = pool(message -> message.reply("ok"));
+
+        actorSystem.stopActor(pool);
+
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> pool.ask("apres", Duration.ofSeconds(2)).get(2, TimeUnit.SECONDS));
+        assertTrue(MailboxOverflowException.isCause(error));
+    }
+
+    interface Handler {
+        void handle(Message message) throws Exception;
+    }
+
+    private ActorPool pool(Handler handler) {
+        return ActorPool.create(actorSystem, "annonceActor", 1, Dispatcher.VIRTUAL,
+                ActorProps.create(() -> (message, context) -> {
+                    if ("parent".equals(message.getPayload())) {
+                        message.reply(context.getParent());
+                        return;
+                    }
+                    try {
+                        handler.handle(message);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }),
+                MailboxOverflow.reject(), payload -> null, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,48 @@
+package com.saf.apigateway.controller;
+
+import com.saf.apigateway.filter.EdgeCache;
+import com.saf.apigateway.security.IdentityHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Invalidation du cache de catalogue, appelée par user-service quand une annonce
+ * change. La requête est signée avec le secret partagé gateway.identity.secret
+ * et n'est acceptée que dans la minute qui suit sa signature.
+ */
+@RestController
+@RequestMapping("/internal/edge-cache")
+public class EdgeCacheController {
+
+    public static final String TIMESTAMP = "X-Edge-Cache-Timestamp";
+    public static final String SIGNATURE = "X-Edge-Cache-Signature";
+
+    private static final Duration MAX_SKEW = Duration.ofMinutes(1);
+
+    private final EdgeCache edgeCache;
+    private final IdentityHeaders identityHeaders;
+
+    public EdgeCacheController(EdgeCache edgeCache, IdentityHeaders identityHeaders) {
+        this.edgeCache = edgeCache;
+        this.identityHeaders = identityHeaders;
+    }
+
+    @PostMapping("/invalidate")
+    public ResponseEntity<Map<String, Object>> invalidate(@RequestParam Long annonceId,
+            @RequestHeader(TIMESTAMP) long timestamp,
+            @RequestHeader(SIGNATURE) String signature) {
+        long skew = Math.abs(Instant.now().getEpochSecond() - timestamp);
+        if (skew > MAX_SKEW.toSeconds()
+                || !identityHeaders.verify("edge-cache\n" + annonceId + "\n" + timestamp, signature)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Signature invalide"));
+        }
+
+        edgeCache.invalidateAnnonce(annonceId);
+        return ResponseEntity.ok(Map.of("annonceId", annonceId));
+    }
+}
@@ -0,0 +1,30 @@
+package com.saf.apigateway.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Réponse d'un service copiée en mémoire (statut, en-têtes, corps), rejouable
+ * vers d'autres clients
+ */
+record CapturedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+    /**
+     * Rejoue la réponse ; les en-têtes déjà posés pour ce client (CORS, limitation
+     * de débit...) sont conservés
+     */
+    Mono<Void> writeTo(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        HttpHeaders target = response.getHeaders();
+        headers.forEach((name, values) -> {
+            if (!target.containsKey(name)) {
+                target.put(name, values);
+            }
+        });
+        target.remove(HttpHeaders.TRANSFER_ENCODING);
+        target.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
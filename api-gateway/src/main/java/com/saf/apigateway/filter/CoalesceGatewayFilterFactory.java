@@ -0,0 +1,110 @@
+package com.saf.apigateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtre de route "Coalesce" : les GET identiques (même chemin, même query) qui
+ * arrivent pendant qu'un premier appel est en cours n'en déclenchent pas d'autre ;
+ * ils reçoivent une copie de sa réponse. Réservé aux routes de catalogue, dont
+ * les réponses sont les mêmes pour tous les utilisateurs.
+ * Si l'appel de tête se termine sans réponse copiable, chaque requête en attente
+ * repart vers le service.
+ * Le filtre s'exécute avant NettyWriteResponseFilter, qui écrit le corps de la
+ * réponse : c'est ce qui permet de la copier, mais aussi avant RequestRateLimiter.
+ * L'appel de tête passe ensuite par RequestRateLimiter ; une requête qui le rejoint
+ * consomme ici un jeton du même seau (route et clé de UserOrIpKeyResolver) et
+ * reçoit un 429 s'il n'y en a plus.
+ */
+@Component
+public class CoalesceGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    private final Map<String, Sinks.One<CapturedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final RateLimiter<?> rateLimiter;
+    private final KeyResolver keyResolver;
+
+    public CoalesceGatewayFilterFactory(RateLimiter<?> rateLimiter, KeyResolver keyResolver) {
+        this.rateLimiter = rateLimiter;
+        this.keyResolver = keyResolver;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = key(request);
+            Sinks.One<CapturedResponse> leader = Sinks.one();
+            Sinks.One<CapturedResponse> pending = inFlight.putIfAbsent(key, leader);
+            if (pending != null) {
+                return allowed(exchange).flatMap(allowed -> {
+                    if (!allowed) {
+                        return exchange.getResponse().setComplete();
+                    }
+                    // Sans réponse de tête, la requête suit la chaîne (et RequestRateLimiter) normalement
+                    return pending.asMono()
+                            .flatMap(captured -> captured.writeTo(exchange.getResponse()).thenReturn(true))
+                            .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(true)))
+                            .then();
+                });
+            }
+
+            ResponseCapture capture = new ResponseCapture(exchange.getResponse(), captured -> {
+                // Les requêtes suivantes repartent vers le service : seuls les appels simultanés sont regroupés
+                inFlight.remove(key, leader);
+                leader.tryEmitValue(captured);
+            });
+            return chain.filter(exchange.mutate().response(capture).build())
+                    .doFinally(signal -> {
+                        inFlight.remove(key, leader);
+                        leader.tryEmitEmpty();
+                    });
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    /**
+     * Même contrôle que RequestRateLimiter : en-têtes X-RateLimit-* posés, 429 si refusé
+     */
+    private Mono<Boolean> allowed(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return Mono.just(true);
+        }
+        return keyResolver.resolve(exchange)
+                .flatMap(key -> rateLimiter.isAllowed(route.getId(), key))
+                .map(response -> {
+                    ServerHttpResponse httpResponse = exchange.getResponse();
+                    response.getHeaders().forEach(httpResponse.getHeaders()::set);
+                    if (!response.isAllowed()) {
+                        httpResponse.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                    }
+                    return response.isAllowed();
+                })
+                .defaultIfEmpty(true);
+    }
+
+    static String key(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return query != null ? request.getURI().getRawPath() + "?" + query : request.getURI().getRawPath();
+    }
+}
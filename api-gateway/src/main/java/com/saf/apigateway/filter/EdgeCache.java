@@ -0,0 +1,124 @@
+package com.saf.apigateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Réponses de catalogue gardées en mémoire par la passerelle (filtre EdgeCache).
+ * Le cache est borné en octets (gateway.edge-cache.max-size) ; chaque entrée
+ * expire après le TTL de sa route. Quand user-service signale qu'une annonce a
+ * changé, sa fiche et toutes les listes d'annonces sont retirées.
+ */
+@Component
+public class EdgeCache {
+
+    private static final String ANNONCES = "/api/annonces";
+    private static final Pattern ANNONCE_ITEM = Pattern.compile("^/api/annonces/\\d+$");
+
+    /**
+     * Réponse en cache, avec son ETag et sa durée de vie
+     */
+    record Entry(CapturedResponse response, String etag, Duration ttl) {
+    }
+
+    private final Cache<String, Entry> entries;
+    // Incrémenté à chaque invalidation : une réponse demandée avant n'est pas gardée
+    private final AtomicLong generation = new AtomicLong();
+
+    public EdgeCache(@Value("${gateway.edge-cache.max-size:64MB}") DataSize maxSize,
+            MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Entry entry) -> key.length() + entry.response().body().length)
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "edgeCache");
+    }
+
+    Entry get(String key) {
+        return entries.getIfPresent(key);
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Garde la réponse, sauf si une invalidation a eu lieu depuis generation
+     * (la réponse peut alors être antérieure à la modification)
+     */
+    void put(String key, Entry entry, long generation) {
+        if (this.generation.get() != generation) {
+            return;
+        }
+        entries.put(key, entry);
+        if (this.generation.get() != generation) {
+            entries.invalidate(key);
+        }
+    }
+
+    /**
+     * Retire la fiche de l'annonce et toutes les listes d'annonces
+     */
+    public void invalidateAnnonce(Long annonceId) {
+        generation.incrementAndGet();
+        String item = ANNONCES + "/" + annonceId;
+        entries.asMap().keySet().removeIf(key -> {
+            String path = pathOf(key);
+            return path.equals(item) || (isAnnonces(path) && !ANNONCE_ITEM.matcher(path).matches());
+        });
+    }
+
+    /**
+     * ETag fort dérivé du corps, pour les réponses qui n'en ont pas
+     */
+    static String etagOf(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isAnnonces(String path) {
+        return path.equals(ANNONCES) || path.startsWith(ANNONCES + "/");
+    }
+
+    private static String pathOf(String key) {
+        int query = key.indexOf('?');
+        return query >= 0 ? key.substring(0, query) : key;
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
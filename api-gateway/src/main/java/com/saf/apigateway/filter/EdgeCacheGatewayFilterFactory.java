@@ -0,0 +1,137 @@
+package com.saf.apigateway.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Filtre de route "EdgeCache" : les GET de catalogue sont servis depuis la
+ * mémoire de la passerelle (EdgeCache) pendant ttl, sans appeler le service.
+ * Chaque réponse en cache porte un ETag ; un client qui le renvoie dans
+ * If-None-Match reçoit un 304 sans corps.
+ * Seules les réponses 200 sans cookie ni Cache-Control no-store/private sont gardées.
+ * Le filtre passe avant Coalesce et la limitation de débit : une réponse
+ * servie depuis le cache ne consomme pas de jeton.
+ * Usage : - EdgeCache=30s (à défaut, gateway.edge-cache.ttl)
+ */
+@Component
+public class EdgeCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<EdgeCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_STATUS = "X-Cache";
+
+    private final EdgeCache cache;
+    private final Duration defaultTtl;
+
+    public EdgeCacheGatewayFilterFactory(EdgeCache cache,
+            @Value("${gateway.edge-cache.ttl:30s}") Duration defaultTtl) {
+        super(Config.class);
+        this.cache = cache;
+        this.defaultTtl = defaultTtl;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Duration ttl = config.getTtl() != null ? config.getTtl() : defaultTtl;
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = CoalesceGatewayFilterFactory.key(request);
+            ServerHttpResponse response = exchange.getResponse();
+            EdgeCache.Entry cached = cache.get(key);
+            if (cached != null) {
+                response.getHeaders().set(CACHE_STATUS, "HIT");
+                if (matches(request.getHeaders().getIfNoneMatch(), cached.etag())) {
+                    response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                    response.getHeaders().setETag(cached.etag());
+                    return response.setComplete();
+                }
+                return cached.response().writeTo(response);
+            }
+
+            long generation = cache.generation();
+            response.getHeaders().set(CACHE_STATUS, "MISS");
+            ResponseCapture capture = new ResponseCapture(response, captured -> {
+                if (!cacheable(captured)) {
+                    return;
+                }
+                String etag = captured.headers().getETag() != null
+                        ? captured.headers().getETag()
+                        : EdgeCache.etagOf(captured.body());
+                response.getHeaders().setETag(etag);
+                cache.put(key, new EdgeCache.Entry(stored(captured, etag), etag, ttl), generation);
+            });
+            return chain.filter(exchange.mutate().response(capture).build());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2);
+    }
+
+    private static boolean cacheable(CapturedResponse captured) {
+        if (captured.status().value() != HttpStatus.OK.value() || captured.headers().containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = captured.headers().getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    /**
+     * Copie à rejouer : sans les en-têtes propres au premier client
+     * (limitation de débit, statut du cache)
+     */
+    private static CapturedResponse stored(CapturedResponse captured, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        captured.headers().forEach((name, values) -> {
+            if (!name.regionMatches(true, 0, "X-RateLimit-", 0, 12) && !name.equalsIgnoreCase(CACHE_STATUS)) {
+                headers.put(name, values);
+            }
+        });
+        headers.setETag(etag);
+        return new CapturedResponse(captured.status(), headers, captured.body());
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        // Comparaison faible (RFC 9110) : W/"x" et "x" désignent la même version
+        String expected = opaque(etag);
+        for (String candidate : ifNoneMatch) {
+            if (candidate.equals("*") || opaque(candidate).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    public static class Config {
+
+        private Duration ttl;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public Config setTtl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+    }
+}
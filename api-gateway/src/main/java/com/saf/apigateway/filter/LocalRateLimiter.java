@@ -0,0 +1,140 @@
+package com.saf.apigateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Backend du filtre RequestRateLimiter en mémoire locale (sans Redis) : un seau
+ * à jetons par route et par clé (utilisateur ou IP, voir UserOrIpKeyResolver).
+ * Chaque instance de la passerelle applique sa propre limite.
+ * Réglage par route : local-rate-limiter.replenish-rate (jetons par seconde),
+ * local-rate-limiter.burst-capacity, local-rate-limiter.requested-tokens ;
+ * à défaut, gateway.rate-limit.*.
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private final Config defaultConfig;
+    private final Cache<String, TokenBucket> buckets;
+
+    public LocalRateLimiter(ConfigurationService configurationService,
+            @Value("${gateway.rate-limit.replenish-rate:20}") int replenishRate,
+            @Value("${gateway.rate-limit.burst-capacity:40}") int burstCapacity,
+            @Value("${gateway.rate-limit.max-keys:100000}") long maxKeys) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = new Config().setReplenishRate(replenishRate).setBurstCapacity(burstCapacity);
+        // Un seau inactif depuis quelques minutes est plein : l'oublier ne change rien
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        TokenBucket bucket = buckets.get(routeId + ":" + id,
+                key -> new TokenBucket(config.getBurstCapacity(), config.getReplenishRate()));
+        long remaining = bucket.tryConsume(config.getRequestedTokens());
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-RateLimit-Remaining", String.valueOf(Math.max(remaining, 0)));
+        headers.put("X-RateLimit-Replenish-Rate", String.valueOf(config.getReplenishRate()));
+        headers.put("X-RateLimit-Burst-Capacity", String.valueOf(config.getBurstCapacity()));
+        if (remaining < 0) {
+            headers.put(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return Mono.just(new Response(remaining >= 0, headers));
+    }
+
+    /**
+     * Seau à jetons : capacity jetons au plus, rechargé de replenishRate jetons par seconde
+     */
+    static final class TokenBucket {
+
+        private final long capacity;
+        private final double tokensPerNano;
+        private final LongSupplier nanoClock;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(long capacity, long replenishRate) {
+            this(capacity, replenishRate, System::nanoTime);
+        }
+
+        TokenBucket(long capacity, long replenishRate, LongSupplier nanoClock) {
+            this.capacity = capacity;
+            this.tokensPerNano = replenishRate / 1_000_000_000.0;
+            this.nanoClock = nanoClock;
+            this.tokens = capacity;
+            this.lastRefill = nanoClock.getAsLong();
+        }
+
+        /**
+         * @return jetons restants après consommation, ou -1 si la demande est refusée
+         */
+        synchronized long tryConsume(int requested) {
+            long now = nanoClock.getAsLong();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens < requested) {
+                return -1;
+            }
+            tokens -= requested;
+            return (long) tokens;
+        }
+    }
+
+    public static class Config {
+
+        @Min(1)
+        private int replenishRate = 20;
+
+        @Min(1)
+        private int burstCapacity = 40;
+
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.saf.apigateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+
+/**
+ * Transmet la réponse du service au client tout en en gardant une copie,
+ * remise à onCaptured avant l'écriture. Les réponses en flux
+ * (writeAndFlushWith, SSE) ne sont pas copiées.
+ */
+class ResponseCapture extends ServerHttpResponseDecorator {
+
+    private final Consumer<CapturedResponse> onCaptured;
+
+    ResponseCapture(ServerHttpResponse delegate, Consumer<CapturedResponse> onCaptured) {
+        super(delegate);
+        this.onCaptured = onCaptured;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(Flux.from(body))
+                .map(joined -> {
+                    byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(bytes -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    headers.addAll(getHeaders());
+                    HttpStatusCode status = getStatusCode() != null ? getStatusCode() : HttpStatus.OK;
+                    onCaptured.accept(new CapturedResponse(status, headers, bytes));
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                });
+    }
+}
@@ -0,0 +1,31 @@
+package com.saf.apigateway.filter;
+
+import com.saf.apigateway.security.IdentityHeaders;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Clé de limitation de débit : l'utilisateur authentifié (X-User-Id, posé par
+ * JwtAuthenticationFilter qui s'exécute avant les filtres de route), sinon
+ * l'adresse IP du client.
+ */
+@Component
+public class UserOrIpKeyResolver implements KeyResolver {
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String userId = exchange.getRequest().getHeaders().getFirst(IdentityHeaders.USER_ID);
+        if (userId != null) {
+            return Mono.just("user:" + userId);
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote != null && remote.getAddress() != null) {
+            return Mono.just("ip:" + remote.getAddress().getHostAddress());
+        }
+        return Mono.just("ip:unknown");
+    }
+}
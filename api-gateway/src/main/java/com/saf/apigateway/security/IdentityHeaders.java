@@ -0,0 +1,77 @@
+package com.saf.apigateway.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * En-têtes d'identité transmis aux services après vérification du JWT.
+ * La signature HMAC-SHA256 (secret partagé gateway.identity.secret) couvre
+ * userId, rôle, username et expiration : un service n'accepte pas d'en-têtes
+ * qu'il n'aurait pas reçus de la passerelle.
+ */
+@Component
+public class IdentityHeaders {
+
+    public static final String USER_ID = "X-User-Id";
+    public static final String USER_NAME = "X-User-Name";
+    public static final String USER_ROLE = "X-User-Role";
+    public static final String EXPIRES = "X-User-Expires";
+    public static final String SIGNATURE = "X-User-Signature";
+
+    public static final List<String> ALL = List.of(USER_ID, USER_NAME, USER_ROLE, EXPIRES, SIGNATURE);
+
+    private final SecretKeySpec key;
+
+    public IdentityHeaders(@Value("${gateway.identity.secret}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /**
+     * @param expiresAt expiration du token, en secondes epoch
+     */
+    public void write(HttpHeaders headers, Long userId, String username, String role, long expiresAt) {
+        String encodedName = username != null ? URLEncoder.encode(username, StandardCharsets.UTF_8) : "";
+        String roleValue = role != null ? role : "";
+        headers.set(USER_ID, String.valueOf(userId));
+        headers.set(USER_NAME, encodedName);
+        headers.set(USER_ROLE, roleValue);
+        headers.set(EXPIRES, String.valueOf(expiresAt));
+        headers.set(SIGNATURE, sign(userId + "\n" + encodedName + "\n" + roleValue + "\n" + expiresAt));
+    }
+
+    /**
+     * Vérifie un message signé par un service avec le même secret
+     * (ex. invalidation du cache de catalogue par user-service)
+     */
+    public boolean verify(String payload, String signature) {
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(Base64.getUrlDecoder().decode(sign(payload)), actual);
+    }
+
+    private String sign(String payload) {
+        try {
+            // Mac n'est pas thread-safe : une instance par signature
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
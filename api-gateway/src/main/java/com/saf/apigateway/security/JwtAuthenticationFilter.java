@@ -0,0 +1,125 @@
+package com.saf.apigateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Vérifie le JWT une seule fois, en bordure, pour toutes les routes :
+ * token invalide ou expiré → 401 sans appel aux services ; token valide →
+ * identité transmise dans les en-têtes X-User-* signés. Les en-têtes X-User-*
+ * envoyés par le client sont toujours retirés.
+ * Le token est lu dans Authorization (Bearer) uniquement : le flux SSE s'ouvre
+ * avec un ticket à usage unique (POST /api/push/ticket), vérifié par user-service.
+ */
+@Component
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    private static final byte[] INVALID_TOKEN = "{\"error\":\"Token invalide\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final JwtParser parser;
+    private final IdentityHeaders identityHeaders;
+    private final List<PathPattern> requiredPaths;
+
+    public JwtAuthenticationFilter(@Value("${jwt.secret}") String secret,
+            @Value("${gateway.auth.required-paths:}") List<String> requiredPaths,
+            IdentityHeaders identityHeaders) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.identityHeaders = identityHeaders;
+        this.requiredPaths = requiredPaths.stream()
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String token = resolveToken(request);
+
+        if (token == null) {
+            if (request.getMethod() != HttpMethod.OPTIONS && isRequired(request.getPath())) {
+                return unauthorized(exchange);
+            }
+            return chain.filter(exchange.mutate()
+                    .request(request.mutate().headers(JwtAuthenticationFilter::stripIdentity).build())
+                    .build());
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return unauthorized(exchange);
+        }
+
+        Long userId = claims.get("userId", Long.class);
+        if (userId == null || claims.getExpiration() == null) {
+            return unauthorized(exchange);
+        }
+
+        ServerHttpRequest authenticated = request.mutate()
+                .headers(headers -> {
+                    stripIdentity(headers);
+                    identityHeaders.write(headers, userId, claims.getSubject(), claims.get("role", String.class),
+                            claims.getExpiration().toInstant().getEpochSecond());
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(authenticated).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // Avant le routage et le load balancing : un token refusé ne coûte aucun appel
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private static String resolveToken(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return null;
+    }
+
+    private boolean isRequired(RequestPath path) {
+        return requiredPaths.stream().anyMatch(pattern -> pattern.matches(path.pathWithinApplication()));
+    }
+
+    private static void stripIdentity(HttpHeaders headers) {
+        IdentityHeaders.ALL.forEach(headers::remove);
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(INVALID_TOKEN);
+        return response.writeWith(Mono.just(body));
+    }
+}
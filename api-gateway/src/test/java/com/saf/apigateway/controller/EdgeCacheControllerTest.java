@@ -0,0 +1,60 @@
+package com.saf.apigateway.controller;
+
+import com.saf.apigateway.filter.EdgeCache;
+import com.saf.apigateway.security.IdentityHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EdgeCacheControllerTest {
+
+    private static final String SECRET = "testGatewayIdentitySecret";
+
+    private final EdgeCache edgeCache = mock(EdgeCache.class);
+    private final EdgeCacheController controller = new EdgeCacheController(edgeCache, new IdentityHeaders(SECRET));
+
+    @Test
+    void testSignedRequestInvalidatesAnnonce() throws Exception {
+        long now = Instant.now().getEpochSecond();
+
+        assertEquals(HttpStatus.OK, controller.invalidate(42L, now, sign(SECRET, 42L, now)).getStatusCode());
+        verify(edgeCache).invalidateAnnonce(42L);
+    }
+
+    @Test
+    void testBadSignatureIsRejected() throws Exception {
+        long now = Instant.now().getEpochSecond();
+
+        assertEquals(HttpStatus.FORBIDDEN,
+                controller.invalidate(42L, now, sign("autreSecret", 42L, now)).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN,
+                controller.invalidate(43L, now, sign(SECRET, 42L, now)).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, controller.invalidate(42L, now, "pas-une-signature").getStatusCode());
+        verify(edgeCache, never()).invalidateAnnonce(any());
+    }
+
+    @Test
+    void testStaleTimestampIsRejected() throws Exception {
+        long stale = Instant.now().minusSeconds(300).getEpochSecond();
+
+        assertEquals(HttpStatus.FORBIDDEN,
+                controller.invalidate(42L, stale, sign(SECRET, 42L, stale)).getStatusCode());
+        verify(edgeCache, never()).invalidateAnnonce(any());
+    }
+
+    private static String sign(String secret, Long annonceId, long timestamp) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal(("edge-cache\n" + annonceId + "\n" + timestamp).getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+}
@@ -0,0 +1,124 @@
+package com.saf.apigateway.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CoalesceGatewayFilterFactoryTest {
+
+    private static final Route ROUTE = Route.async()
+            .id("user-service-catalog")
+            .uri(URI.create("http://localhost"))
+            .predicate(exchange -> true)
+            .build();
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final Sinks.Empty<Void> leaderGate = Sinks.empty();
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = filter(40);
+    }
+
+    @Test
+    void testFollowersReceiveTheLeaderResponse() throws Exception {
+        MockServerWebExchange leader = get();
+        MockServerWebExchange follower = get();
+
+        CompletableFuture<Void> leaderDone = filter.filter(leader, gated(service("[1,2]"))).toFuture();
+        CompletableFuture<Void> followerDone = filter.filter(follower, service("[autre]")).toFuture();
+        leaderGate.tryEmitEmpty();
+        leaderDone.get(5, TimeUnit.SECONDS);
+        followerDone.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, calls.get());
+        assertEquals("[1,2]", leader.getResponse().getBodyAsString().block());
+        assertEquals("[1,2]", follower.getResponse().getBodyAsString().block());
+        assertNotNull(follower.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    void testFollowersCallTheServiceWhenLeaderHasNoResponse() throws Exception {
+        MockServerWebExchange leader = get();
+        MockServerWebExchange follower = get();
+
+        CompletableFuture<Void> leaderDone = filter.filter(leader, gated(exchange -> Mono.empty())).toFuture();
+        CompletableFuture<Void> followerDone = filter.filter(follower, service("[1,2]")).toFuture();
+        leaderGate.tryEmitEmpty();
+        leaderDone.get(5, TimeUnit.SECONDS);
+        followerDone.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, calls.get());
+        assertEquals("[1,2]", follower.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testFollowerOverTheLimitGetsTooManyRequests() throws Exception {
+        filter = filter(1);
+        MockServerWebExchange leader = get();
+        MockServerWebExchange allowed = get();
+        MockServerWebExchange limited = get();
+
+        CompletableFuture<Void> leaderDone = filter.filter(leader, gated(service("[1,2]"))).toFuture();
+        CompletableFuture<Void> allowedDone = filter.filter(allowed, service("[autre]")).toFuture();
+        filter.filter(limited, service("[autre]")).block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, limited.getResponse().getStatusCode());
+        assertEquals("0", limited.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"));
+
+        leaderGate.tryEmitEmpty();
+        leaderDone.get(5, TimeUnit.SECONDS);
+        allowedDone.get(5, TimeUnit.SECONDS);
+        assertEquals("[1,2]", allowed.getResponse().getBodyAsString().block());
+        assertEquals(1, calls.get());
+    }
+
+    private static GatewayFilter filter(int burstCapacity) {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(mock(ConfigurationService.class), 1, burstCapacity, 100);
+        return new CoalesceGatewayFilterFactory(rateLimiter, new UserOrIpKeyResolver()).apply(new Object());
+    }
+
+    private static MockServerWebExchange get() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/annonces?page=1"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        return exchange;
+    }
+
+    /**
+     * L'appel de tête reste en cours jusqu'à leaderGate
+     */
+    private GatewayFilterChain gated(GatewayFilterChain chain) {
+        return exchange -> leaderGate.asMono().then(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    private GatewayFilterChain service(String body) {
+        return exchange -> {
+            calls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.saf.apigateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgeCacheGatewayFilterFactoryTest {
+
+    private static final String CATALOGUE = "/api/annonces?page=1";
+
+    private EdgeCache cache;
+    private GatewayFilter filter;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new EdgeCache(DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+        filter = new EdgeCacheGatewayFilterFactory(cache, Duration.ofSeconds(30))
+                .apply(new EdgeCacheGatewayFilterFactory.Config());
+    }
+
+    @Test
+    void testMissThenHitWithoutCallingTheService() {
+        MockServerWebExchange first = get(CATALOGUE);
+        filter.filter(first, service("[1,2]")).block();
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(EdgeCacheGatewayFilterFactory.CACHE_STATUS));
+        assertEquals("[1,2]", first.getResponse().getBodyAsString().block());
+
+        MockServerWebExchange second = get(CATALOGUE);
+        filter.filter(second, service("[3]")).block();
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(EdgeCacheGatewayFilterFactory.CACHE_STATUS));
+        assertEquals("[1,2]", second.getResponse().getBodyAsString().block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testMatchingIfNoneMatchGetsNotModified() {
+        MockServerWebExchange first = get(CATALOGUE);
+        filter.filter(first, service("[1,2]")).block();
+        String etag = first.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+
+        MockServerWebExchange revalidation = MockServerWebExchange.from(MockServerHttpRequest.get(CATALOGUE)
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + etag));
+        filter.filter(revalidation, service("[3]")).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals(etag, revalidation.getResponse().getHeaders().getETag());
+        assertEquals("", revalidation.getResponse().getBodyAsString().defaultIfEmpty("").block());
+    }
+
+    @Test
+    void testResponseRequestedBeforeAnInvalidationIsNotCached() {
+        MockServerWebExchange inFlight = get(CATALOGUE);
+        filter.filter(inFlight, exchange -> {
+            // L'annonce change pendant que le service prépare la réponse
+            cache.invalidateAnnonce(1L);
+            return service("[ancienne]").filter(exchange);
+        }).block();
+        assertEquals("[ancienne]", inFlight.getResponse().getBodyAsString().block());
+
+        MockServerWebExchange next = get(CATALOGUE);
+        filter.filter(next, service("[nouvelle]")).block();
+        assertEquals("MISS", next.getResponse().getHeaders().getFirst(EdgeCacheGatewayFilterFactory.CACHE_STATUS));
+        assertEquals("[nouvelle]", next.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testInvalidationRemovesItemAndLists() {
+        filter.filter(get(CATALOGUE), service("[1,2]")).block();
+        filter.filter(get("/api/annonces/1"), service("{\"id\":1}")).block();
+        filter.filter(get("/api/annonces/2"), service("{\"id\":2}")).block();
+
+        cache.invalidateAnnonce(1L);
+
+        assertNull(cache.get(CoalesceGatewayFilterFactory.key(get(CATALOGUE).getRequest())));
+        assertNull(cache.get(CoalesceGatewayFilterFactory.key(get("/api/annonces/1").getRequest())));
+        assertNotNull(cache.get(CoalesceGatewayFilterFactory.key(get("/api/annonces/2").getRequest())));
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+
+    private GatewayFilterChain service(String body) {
+        return exchange -> {
+            calls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory()
+                    .wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package com.saf.apigateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class LocalRateLimiterTest {
+
+    @Test
+    void testBucketDeniesWhenEmptyAndRefillsOverTime() {
+        AtomicLong now = new AtomicLong();
+        LocalRateLimiter.TokenBucket bucket = new LocalRateLimiter.TokenBucket(2, 4, now::get);
+
+        assertEquals(1, bucket.tryConsume(1));
+        assertEquals(0, bucket.tryConsume(1));
+        assertEquals(-1, bucket.tryConsume(1));
+
+        // 4 jetons par seconde : un jeton toutes les 250 ms
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertEquals(0, bucket.tryConsume(1));
+        assertEquals(-1, bucket.tryConsume(1));
+
+        // Jamais plus que la capacité, même après une longue pause
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(-1, bucket.tryConsume(3));
+        assertEquals(0, bucket.tryConsume(2));
+    }
+
+    @Test
+    void testDeniedResponseCarriesRateLimitHeaders() {
+        LocalRateLimiter limiter = new LocalRateLimiter(mock(ConfigurationService.class), 1, 1, 100);
+
+        RateLimiter.Response first = limiter.isAllowed("catalog", "ip:10.0.0.1").block();
+        RateLimiter.Response second = limiter.isAllowed("catalog", "ip:10.0.0.1").block();
+        RateLimiter.Response otherKey = limiter.isAllowed("catalog", "ip:10.0.0.2").block();
+
+        assertTrue(first.isAllowed());
+        assertFalse(second.isAllowed());
+        assertEquals("0", second.getHeaders().get("X-RateLimit-Remaining"));
+        assertEquals("1", second.getHeaders().get(HttpHeaders.RETRY_AFTER));
+        assertTrue(otherKey.isAllowed());
+    }
+}
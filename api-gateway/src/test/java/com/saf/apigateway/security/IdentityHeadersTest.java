@@ -0,0 +1,35 @@
+package com.saf.apigateway.security;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentityHeadersTest {
+
+    private static final String SECRET = "identity-secret-de-test";
+
+    private final IdentityHeaders identityHeaders = new IdentityHeaders(SECRET);
+
+    @Test
+    void testVerifyAcceptsPayloadSignedWithSharedSecret() throws Exception {
+        // Signature produite comme GatewayIdentity.signForGateway côté user-service
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(mac.doFinal("catalogue\n1700000000".getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(identityHeaders.verify("catalogue\n1700000000", signature));
+        assertFalse(identityHeaders.verify("catalogue\n1700000001", signature));
+        assertFalse(new IdentityHeaders("autre-secret").verify("catalogue\n1700000000", signature));
+    }
+
+    @Test
+    void testVerifyRejectsMalformedSignature() {
+        assertFalse(identityHeaders.verify("catalogue", "pas du base64 !"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.saf.apigateway.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String JWT_SECRET = "jwt-secret-de-test-assez-long-pour-hmac-sha256";
+    private static final String IDENTITY_SECRET = "identity-secret-de-test";
+
+    private JwtAuthenticationFilter filter;
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(JWT_SECRET, List.of("/api/push/**", " "),
+                new IdentityHeaders(IDENTITY_SECRET));
+    }
+
+    @Test
+    void testClientIdentityHeadersAreStripped() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/annonces")
+                .header(IdentityHeaders.USER_ID, "1")
+                .header(IdentityHeaders.USER_ROLE, "ADMIN")
+                .header(IdentityHeaders.SIGNATURE, "forgée"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        IdentityHeaders.ALL.forEach(name -> assertFalse(headers.containsKey(name), name));
+    }
+
+    @Test
+    void testClientIdentityHeadersAreReplacedWhenTokenIsValid() {
+        Instant expiration = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/annonces")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(JWT_SECRET, expiration))
+                .header(IdentityHeaders.USER_ID, "1")
+                .header(IdentityHeaders.USER_ROLE, "ADMIN"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertEquals(List.of("42"), headers.get(IdentityHeaders.USER_ID));
+        assertEquals(List.of("USER"), headers.get(IdentityHeaders.USER_ROLE));
+        assertEquals("j%C3%A9r%C3%B4me+d", headers.getFirst(IdentityHeaders.USER_NAME));
+        assertEquals(String.valueOf(expiration.getEpochSecond()), headers.getFirst(IdentityHeaders.EXPIRES));
+    }
+
+    @Test
+    void testSignatureMatchesWhatServicesVerify() throws Exception {
+        Instant expiration = Instant.now().plus(1, ChronoUnit.HOURS);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/annonces")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(JWT_SECRET, expiration)));
+
+        filter.filter(exchange, chain).block();
+
+        // Même calcul que GatewayIdentity côté user-service
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        String payload = headers.getFirst(IdentityHeaders.USER_ID) + "\n"
+                + headers.getFirst(IdentityHeaders.USER_NAME) + "\n"
+                + headers.getFirst(IdentityHeaders.USER_ROLE) + "\n"
+                + headers.getFirst(IdentityHeaders.EXPIRES);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(IDENTITY_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] expected = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        assertArrayEquals(expected, Base64.getUrlDecoder().decode(headers.getFirst(IdentityHeaders.SIGNATURE)));
+    }
+
+    @Test
+    void testInvalidTokenIsRejectedWithoutCallingServices() {
+        String foreign = token("autre-secret-de-test-assez-long-pour-hmac-sha256", Instant.now().plus(1, ChronoUnit.HOURS));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/annonces")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + foreign));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void testExpiredTokenIsRejected() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/annonces")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(JWT_SECRET, Instant.now().minus(1, ChronoUnit.MINUTES))));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void testRequiredPathWithoutTokenIsRejected() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/push/ticket"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void testPreflightOnRequiredPathPassesWithoutToken() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.method(HttpMethod.OPTIONS, "/api/push/ticket"));
+
+        filter.filter(exchange, chain).block();
+
+        assertNull(exchange.getResponse().getStatusCode());
+        assertNotNull(forwarded.get());
+    }
+
+    private static String token(String secret, Instant expiration) {
+        return Jwts.builder()
+                .subject("jérôme d")
+                .claim("userId", 42L)
+                .claim("role", "USER")
+                .expiration(Date.from(expiration))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+}
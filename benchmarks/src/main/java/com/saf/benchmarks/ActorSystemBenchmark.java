@@ -0,0 +1,79 @@
+package com.saf.benchmarks;
+
+import com.saf.core.Actor;
+import com.saf.core.ActorContext;
+import com.saf.core.ActorRef;
+import com.saf.core.ActorSystem;
+import com.saf.core.Message;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de send() et latence de ask() sur un acteur du framework (dispatcher DEFAULT).
+ * sendBatch : {@code batchSize} envois suivis d'un ask barrière (la boîte aux lettres
+ * est FIFO, la réponse arrive quand tout le lot a été traité).
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActorSystemBenchmark {
+
+    @Param({"100"})
+    public int batchSize;
+
+    private ActorSystem actorSystem;
+    private ActorRef echo;
+
+    public record Ping(int value) {
+    }
+
+    public record Barrier() {
+    }
+
+    /**
+     * Acteur minimal : répond aux asks, ignore les sends
+     */
+    static class EchoActor implements Actor {
+
+        private long received;
+
+        @Override
+        public void onReceive(Message message, ActorContext context) {
+            received++;
+            if (message.expectsResponse()) {
+                message.reply(received);
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        actorSystem = new ActorSystem();
+        echo = actorSystem.createActor("echo", EchoActor::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        actorSystem.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Object sendBatch() {
+        for (int i = 0; i < batchSize; i++) {
+            echo.send(new Ping(i), null);
+        }
+        return echo.ask(new Barrier(), Duration.ofSeconds(10)).join();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Object askRoundTrip() {
+        return echo.ask(new Ping(0), Duration.ofSeconds(10)).join();
+    }
+}
@@ -0,0 +1,135 @@
+package com.saf.benchmarks;
+
+import com.saf.core.Message;
+import com.saf.userservice.actor.AnnonceActor;
+import com.saf.userservice.actor.messages.AnnonceMessages.*;
+import com.saf.userservice.model.Annonce;
+import com.saf.userservice.model.User;
+import com.saf.userservice.repository.AnnonceRepository;
+import com.saf.userservice.repository.UserRepository;
+import com.saf.userservice.search.AnnonceSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handlers de AnnonceActor contre H2, appelés directement (sans boîte aux lettres)
+ * pour isoler le coût JPA du coût de dispatch mesuré par ActorSystemBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnnonceActorBenchmark {
+
+    private static final String[] GENRES = {"Rock", "Jazz", "Pop", "Electro", "Classique"};
+
+    @Param({"1000"})
+    public int annonces;
+
+    private ConfigurableApplicationContext context;
+    private AnnonceRepository annonceRepository;
+    private AnnonceSearchIndex searchIndex;
+    private AnnonceActor actor;
+    private Long vendeurId;
+    private final List<Long> annonceIds = new ArrayList<>();
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Annonce.class)
+    @EnableJpaRepositories(basePackageClasses = AnnonceRepository.class)
+    static class UserJpaConfiguration {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = H2Context.start(UserJpaConfiguration.class, "bench-annonces");
+        annonceRepository = context.getBean(AnnonceRepository.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        searchIndex = new AnnonceSearchIndex(annonceRepository, "", 100);
+        actor = new AnnonceActor(annonceRepository, userRepository, searchIndex, Duration.ofMinutes(2));
+
+        vendeurId = userRepository.save(new User("vendeur", "vendeur@example.com", "secret")).getId();
+
+        List<Annonce> seed = new ArrayList<>(annonces);
+        for (int i = 0; i < annonces; i++) {
+            seed.add(annonce("Album " + i, GENRES[i % GENRES.length]));
+        }
+        annonceRepository.saveAll(seed).forEach(saved -> annonceIds.add(saved.getId()));
+        searchIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        searchIndex.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Object getAnnonce() {
+        Long id = annonceIds.get(ThreadLocalRandom.current().nextInt(annonceIds.size()));
+        return handle(new GetAnnonce(id));
+    }
+
+    @Benchmark
+    public Object getAllAnnoncesDisponibles() {
+        return handle(new GetAllAnnoncesDisponibles(500));
+    }
+
+    @Benchmark
+    public Object getAnnoncesPage() {
+        return handle(new GetAnnoncesPage(new AnnonceFilter("Jazz", null, null, null), null, false, 20));
+    }
+
+    @Benchmark
+    public Object searchAnnonces() {
+        return handle(new SearchAnnonces("album 42"));
+    }
+
+    @Benchmark
+    public Object getAnnoncesByGenre() {
+        return handle(new GetAnnoncesByGenre("Jazz"));
+    }
+
+    @Benchmark
+    public Object createAnnonce() {
+        return handle(new CreateAnnonce(annonce("Nouvel album", "Rock")));
+    }
+
+    private Object handle(Object payload) {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        actor.onReceive(new Message(payload, null, reply), null);
+        return reply.join();
+    }
+
+    private Annonce annonce(String titre, String genre) {
+        Annonce annonce = new Annonce();
+        annonce.setTitre(titre);
+        annonce.setArtiste("Artiste");
+        annonce.setGenre(genre);
+        annonce.setAnneeSortie(1990);
+        annonce.setPrix(new BigDecimal("19.99"));
+        annonce.setEtat("Bon");
+        annonce.setVendeurId(vendeurId);
+        annonce.setVendeurUsername("vendeur");
+        return annonce;
+    }
+}
@@ -0,0 +1,91 @@
+package com.saf.benchmarks;
+
+import com.saf.actorpool.ActorPool;
+import com.saf.actorpool.Dispatcher;
+import com.saf.actorpool.MailboxOverflow;
+import com.saf.actorpool.PoolActorSystem;
+import com.saf.core.Actor;
+import com.saf.core.ActorContext;
+import com.saf.core.ActorProps;
+import com.saf.core.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare l'exécuteur du framework (DEFAULT) et les threads virtuels (VIRTUAL)
+ * sur des handlers bloquants, comme OffreActor qui attend JPA et Feign.
+ * Une opération = une rafale de {@code poolSize} asks, un par worker.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatcherBenchmark {
+
+    @Param({"DEFAULT", "VIRTUAL"})
+    public String dispatcher;
+
+    @Param({"16", "64"})
+    public int poolSize;
+
+    @Param({"5"})
+    public int blockMillis;
+
+    private PoolActorSystem actorSystem;
+    private ActorPool pool;
+
+    public record BlockingCall(int index) {
+    }
+
+    /**
+     * Simule un handler qui attend une requête JPA ou un appel Feign
+     */
+    static class BlockingActor implements Actor {
+
+        private final int blockMillis;
+
+        BlockingActor(int blockMillis) {
+            this.blockMillis = blockMillis;
+        }
+
+        @Override
+        public void onReceive(Message message, ActorContext context) {
+            try {
+                Thread.sleep(blockMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            message.reply(message.getPayload());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        actorSystem = new PoolActorSystem();
+        pool = ActorPool.create(actorSystem, "blocking", poolSize, Dispatcher.of(dispatcher),
+                ActorProps.create(() -> new BlockingActor(blockMillis)),
+                MailboxOverflow.reject(),
+                payload -> payload instanceof BlockingCall call ? call.index() : null,
+                new SimpleMeterRegistry());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        actorSystem.shutdown();
+    }
+
+    @Benchmark
+    public void blockingBurst() {
+        CompletableFuture<?>[] replies = new CompletableFuture<?>[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            replies[i] = pool.ask(new BlockingCall(i), Duration.ofSeconds(10));
+        }
+        CompletableFuture.allOf(replies).join();
+    }
+}
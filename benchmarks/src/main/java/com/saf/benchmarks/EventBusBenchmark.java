@@ -0,0 +1,52 @@
+package com.saf.benchmarks;
+
+import com.saf.core.ActorRef;
+import com.saf.core.ActorSystem;
+import com.saf.core.EventBus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coût de EventBus.publish selon le nombre d'abonnés au type publié
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventBusBenchmark {
+
+    @Param({"1", "16", "128"})
+    public int subscribers;
+
+    private ActorSystem actorSystem;
+    private EventBus eventBus;
+    private final LongAdder delivered = new LongAdder();
+
+    public record AnnonceVendue(long annonceId) {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        actorSystem = new ActorSystem();
+        eventBus = actorSystem.getEventBus();
+        for (int i = 0; i < subscribers; i++) {
+            ActorRef subscriber = actorSystem.createActor("subscriber-" + i, () -> (message, context) -> {
+            });
+            eventBus.subscribe(AnnonceVendue.class, subscriber, event -> delivered.increment());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        actorSystem.shutdown();
+    }
+
+    @Benchmark
+    public void publish() {
+        eventBus.publish(new AnnonceVendue(42L));
+    }
+}
@@ -0,0 +1,39 @@
+package com.saf.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Démarre un contexte Spring réduit à JPA sur une base H2 en mémoire,
+ * sans web, Eureka ni Feign, pour mesurer les handlers seuls.
+ * spring.config.name est détourné pour ne pas charger l'application.yml des services ;
+ * les lots JDBC y sont donc reproduits, et peuvent être surchargés par extraProperties.
+ */
+final class H2Context {
+
+    private H2Context() {
+    }
+
+    static ConfigurableApplicationContext start(Class<?> configuration, String database, String... extraProperties) {
+        return new SpringApplicationBuilder(configuration)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.config.name=benchmarks",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.jpa.properties.hibernate.order_updates=true",
+                        "logging.level.root=WARN")
+                .properties(extraProperties)
+                .run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.saf.benchmarks;
+
+import com.saf.actorpool.ActorPool;
+import com.saf.actorpool.Dispatcher;
+import com.saf.actorpool.MailboxOverflow;
+import com.saf.actorpool.PoolActorSystem;
+import com.saf.core.ActorProps;
+import com.saf.userservice.actor.UserActor;
+import com.saf.userservice.actor.messages.UserMessages;
+import com.saf.userservice.actor.messages.UserMessages.Login;
+import com.saf.userservice.model.User;
+import com.saf.userservice.repository.UserRepository;
+import com.saf.userservice.security.GatewayIdentity;
+import com.saf.userservice.security.JwtUtil;
+import com.saf.userservice.security.PasswordHashingPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit de login (BCrypt, coût par défaut) selon la taille du PasswordHashingPool.
+ * Une opération = une rafale de {@code burst} logins concurrents à travers le pool
+ * UserActor ; le score est donc directement en logins par seconde. Le débit doit
+ * croître avec hashingThreads jusqu'au nombre de cœurs, puis plafonner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(LoginBenchmark.BURST)
+public class LoginBenchmark {
+
+    static final int BURST = 32;
+
+    @Param({"1", "2", "4", "8"})
+    public int hashingThreads;
+
+    private ConfigurableApplicationContext context;
+    private PoolActorSystem actorSystem;
+    private PasswordHashingPool hashingPool;
+    private ActorPool userActor;
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class UserJpaConfiguration {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2Context.start(UserJpaConfiguration.class, "bench-login-" + hashingThreads);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+
+        String hash = encoder.encode("password");
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < BURST; i++) {
+            User user = new User("user" + i, "user" + i + "@example.com", hash);
+            user.setEmailVerified(true);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        hashingPool = new PasswordHashingPool(encoder, hashingThreads, 1000, meterRegistry);
+        JwtUtil jwtUtil = new JwtUtil("benchmarkSecretKeyForJWTTokenGenerationOnly1234567890", 3600000L,
+                Duration.ofMinutes(10), 1000, meterRegistry, new GatewayIdentity("benchmark"));
+
+        actorSystem = new PoolActorSystem();
+        userActor = ActorPool.create(actorSystem, "userActor", 4, Dispatcher.VIRTUAL,
+                ActorProps.create(() -> new UserActor(userRepository, hashingPool, jwtUtil, null))
+                        .withMailboxCapacity(1000),
+                MailboxOverflow.reject(),
+                UserMessages::routingKey,
+                meterRegistry);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        actorSystem.shutdown();
+        hashingPool.destroy();
+        context.close();
+    }
+
+    @Benchmark
+    public void loginBurst() {
+        CompletableFuture<?>[] replies = new CompletableFuture<?>[BURST];
+        for (int i = 0; i < BURST; i++) {
+            replies[i] = userActor.ask(new Login("user" + i, "password"), Duration.ofSeconds(30));
+        }
+        CompletableFuture.allOf(replies).join();
+    }
+}
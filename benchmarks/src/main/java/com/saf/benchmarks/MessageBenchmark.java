@@ -0,0 +1,42 @@
+package com.saf.benchmarks;
+
+import com.saf.core.Message;
+import com.saf.transactionservice.actor.messages.OffreMessages.FaireOffre;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'allocation d'un Message : enveloppe seule, enveloppe d'un ask
+ * (avec son CompletableFuture) et enveloppe + payload métier.
+ * À lancer avec {@code -prof gc} pour lire gc.alloc.rate.norm (octets par opération).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark {
+
+    private final Object payload = "ping";
+    private final BigDecimal prix = new BigDecimal("25.00");
+
+    @Benchmark
+    public void tellEnvelope(Blackhole bh) {
+        bh.consume(new Message(payload, null));
+    }
+
+    @Benchmark
+    public void askEnvelope(Blackhole bh) {
+        bh.consume(new Message(payload, null, new CompletableFuture<>()));
+    }
+
+    @Benchmark
+    public void faireOffreMessage(Blackhole bh) {
+        bh.consume(new Message(new FaireOffre(1L, 2L, prix, "Bonjour"), null, new CompletableFuture<>()));
+    }
+}
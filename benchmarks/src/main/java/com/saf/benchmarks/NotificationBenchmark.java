@@ -0,0 +1,72 @@
+package com.saf.benchmarks;
+
+import com.saf.userservice.model.Notification;
+import com.saf.userservice.repository.NotificationRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Création d'un lot de notifications (POST /api/notifications/batch) contre H2,
+ * avec et sans lots JDBC : batch_size=1 reproduit un INSERT par ligne.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationBenchmark {
+
+    @Param({"50"})
+    public int notifications;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private NotificationRepository notificationRepository;
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Notification.class)
+    @EnableJpaRepositories(basePackageClasses = NotificationRepository.class)
+    static class NotificationJpaConfiguration {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2Context.start(NotificationJpaConfiguration.class, "bench-notifications",
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+        notificationRepository = context.getBean(NotificationRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object createNotifications() {
+        List<Notification> batch = new ArrayList<>(notifications);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < notifications; i++) {
+            Notification notification = new Notification(100L + i, "OFFER_REFUSED", "Votre offre a été refusée", (long) i);
+            notification.setCreatedAt(now);
+            batch.add(notification);
+        }
+        return notificationRepository.saveAll(batch);
+    }
+}
@@ -0,0 +1,235 @@
+package com.saf.benchmarks;
+
+import com.saf.core.ActorRef;
+import com.saf.core.Message;
+import com.saf.transactionservice.actor.OffreActor;
+import com.saf.transactionservice.actor.messages.OffreMessages.*;
+import com.saf.transactionservice.client.BufferedNotificationSender;
+import com.saf.transactionservice.client.UserServiceClient;
+import com.saf.transactionservice.dto.AnnonceDTO;
+import com.saf.transactionservice.dto.UserDTO;
+import com.saf.transactionservice.model.Offre;
+import com.saf.transactionservice.repository.OffreRepository;
+import com.saf.transactionservice.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handlers de OffreActor contre H2. Le user-service est remplacé par un client
+ * en mémoire et l'acteur de notification par une référence muette : seuls
+ * le handler et JPA sont mesurés.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OffreActorBenchmark {
+
+    private static final long VENDEUR_ID = 200L;
+    private static final long ACHETEUR_ID = 100L;
+
+    @Param({"500"})
+    public int offres;
+
+    /**
+     * Offres concurrentes refusées à chaque acceptation
+     */
+    @Param({"10", "50"})
+    public int offresConcurrentes;
+
+    private ConfigurableApplicationContext context;
+    private OffreRepository offreRepository;
+    private OffreActor actor;
+    private BufferedNotificationSender notificationSender;
+    private final AtomicLong nextAnnonceId = new AtomicLong(1_000_000L);
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = Offre.class)
+    @EnableJpaRepositories(basePackageClasses = OffreRepository.class)
+    static class TransactionJpaConfiguration {
+    }
+
+    /**
+     * Offre PENDING fraîche (et ses concurrentes) préparée avant chaque acceptation
+     */
+    @State(Scope.Thread)
+    public static class PendingOffre {
+
+        Long offreId;
+        Long annonceId;
+
+        @Setup(Level.Invocation)
+        public void prepare(OffreActorBenchmark benchmark) {
+            annonceId = benchmark.nextAnnonceId.incrementAndGet();
+            List<Offre> batch = new ArrayList<>();
+            for (int i = 0; i <= benchmark.offresConcurrentes; i++) {
+                batch.add(offre(annonceId, ACHETEUR_ID + i));
+            }
+            offreId = benchmark.offreRepository.saveAll(batch).get(0).getId();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = H2Context.start(TransactionJpaConfiguration.class, "bench-offres");
+        offreRepository = context.getBean(OffreRepository.class);
+        InMemoryUserServiceClient userServiceClient = new InMemoryUserServiceClient();
+        notificationSender = new BufferedNotificationSender(userServiceClient, 200, 50);
+        actor = new OffreActor(offreRepository, context.getBean(TransactionRepository.class),
+                userServiceClient, new NoopActorRef(), notificationSender);
+
+        List<Offre> seed = new ArrayList<>(offres);
+        for (int i = 0; i < offres; i++) {
+            seed.add(offre(i % 50, ACHETEUR_ID + (i % 20)));
+        }
+        offreRepository.saveAll(seed);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        notificationSender.shutdown();
+        context.close();
+    }
+
+    @Benchmark
+    public Object faireOffre() {
+        return handle(new FaireOffre(1L, ACHETEUR_ID, new BigDecimal("25.00"), "Bonjour"));
+    }
+
+    @Benchmark
+    public Object getOffresPendingForVendeur() {
+        return handle(new GetOffresPendingForVendeur(VENDEUR_ID));
+    }
+
+    @Benchmark
+    public Object getOffresForAcheteur() {
+        return handle(new GetOffresForAcheteur(ACHETEUR_ID));
+    }
+
+    @Benchmark
+    public Object accepterOffre(PendingOffre pending) {
+        return handle(new AccepterOffre(pending.offreId, pending.annonceId));
+    }
+
+    private Object handle(Object payload) {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        actor.onReceive(new Message(payload, null, reply), null);
+        return reply.join();
+    }
+
+    private static Offre offre(long annonceId, long acheteurId) {
+        Offre offre = new Offre();
+        offre.setAnnonceId(annonceId);
+        offre.setAnnonceTitre("Album " + annonceId);
+        offre.setAcheteurId(acheteurId);
+        offre.setAcheteurUsername("acheteur");
+        offre.setVendeurId(VENDEUR_ID);
+        offre.setVendeurUsername("vendeur");
+        offre.setPrixPropose(new BigDecimal("25.00"));
+        offre.setPrixInitial(new BigDecimal("29.99"));
+        offre.setStatut("PENDING");
+        return offre;
+    }
+
+    /**
+     * Remplace le client Feign : annonces toujours disponibles, utilisateurs fictifs
+     */
+    static class InMemoryUserServiceClient implements UserServiceClient {
+
+        @Override
+        public AnnonceDTO getAnnonce(Long id) {
+            AnnonceDTO annonce = new AnnonceDTO();
+            annonce.setId(id);
+            annonce.setTitre("Album " + id);
+            annonce.setArtiste("Artiste");
+            annonce.setPrix(new BigDecimal("29.99"));
+            annonce.setVendeurId(VENDEUR_ID);
+            annonce.setVendeurUsername("vendeur");
+            annonce.setDisponible(true);
+            return annonce;
+        }
+
+        @Override
+        public void deleteAnnonce(Long id) {
+        }
+
+        @Override
+        public void markAnnonceAsUnavailable(Long id) {
+        }
+
+        @Override
+        public AnnonceDTO reserveAnnonce(Long id, Long version, String token) {
+            return getAnnonce(id);
+        }
+
+        @Override
+        public Map<String, Object> confirmAnnonce(Long id, String token) {
+            return Map.of("message", "Réservation confirmée");
+        }
+
+        @Override
+        public void releaseAnnonce(Long id, String token) {
+        }
+
+        @Override
+        public UserDTO getUser(Long id) {
+            UserDTO user = new UserDTO();
+            user.setId(id);
+            user.setUsername("user" + id);
+            user.setEmail("user" + id + "@example.com");
+            return user;
+        }
+
+        @Override
+        public void createNotification(Map<String, Object> notification) {
+        }
+
+        @Override
+        public void createNotifications(List<Map<String, Object>> notifications) {
+        }
+    }
+
+    /**
+     * Acteur de notification muet : les emails ne font pas partie de la mesure
+     */
+    static class NoopActorRef implements ActorRef {
+
+        @Override
+        public void send(Object message, ActorRef sender) {
+        }
+
+        @Override
+        public void sendMessage(Message message) {
+        }
+
+        @Override
+        public String getName() {
+            return "noop";
+        }
+
+        @Override
+        public CompletableFuture<Object> ask(Object message, Duration timeout) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
@@ -4,8 +4,10 @@ import com.saf.core.Actor;
 import com.saf.core.ActorContext;
 import com.saf.core.Message;
 import com.saf.transactionservice.actor.messages.OffreMessages.*;
+import com.saf.transactionservice.client.BufferedNotificationSender;
 import com.saf.transactionservice.client.UserServiceClient;
 import com.saf.transactionservice.dto.AnnonceDTO;
+import com.saf.transactionservice.dto.OffreRefuseeDTO;
 import com.saf.transactionservice.model.Offre;
 import com.saf.transactionservice.model.Transaction;
 import com.saf.transactionservice.repository.OffreRepository;
@@ -16,10 +18,12 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Actor gérant le système d'offres
  * Gère la création, acceptation et refus d'offres
+ * Les notifications en base passent par BufferedNotificationSender (envoi par lots)
  */
 public class OffreActor implements Actor {
 
@@ -29,15 +33,18 @@ public class OffreActor implements Actor {
     private final TransactionRepository transactionRepository;
     private final UserServiceClient userServiceClient;
     private final com.saf.core.ActorRef notificationActor;
+    private final BufferedNotificationSender notificationSender;
 
     public OffreActor(OffreRepository offreRepository,
             TransactionRepository transactionRepository,
             UserServiceClient userServiceClient,
-            com.saf.core.ActorRef notificationActor) {
+            com.saf.core.ActorRef notificationActor,
+            BufferedNotificationSender notificationSender) {
         this.offreRepository = offreRepository;
         this.transactionRepository = transactionRepository;
         this.userServiceClient = userServiceClient;
         this.notificationActor = notificationActor;
+        this.notificationSender = notificationSender;
     }
 
     @Override
@@ -110,7 +117,7 @@ public class OffreActor implements Actor {
                 notificationData.put("relatedId", saved.getId());
                 notificationData.put("isRead", false);
 
-                userServiceClient.createNotification(notificationData);
+                notificationSender.send(notificationData);
                 logger.info("Notification créée pour le vendeur ID: " + annonce.getVendeurId());
             } catch (Exception e) {
                 logger.error("Erreur lors de la création de la notification", e);
@@ -145,7 +152,8 @@ public class OffreActor implements Actor {
 
     private void handleAccepterOffre(AccepterOffre msg, Message originalMessage) {
         try {
-            Optional<Offre> offreOpt = offreRepository.findById(msg.offreId());
+            Optional<Offre> offreOpt = offreRepository.findById(msg.offreId())
+                    .filter(o -> o.getAnnonceId().equals(msg.annonceId()));
 
             if (offreOpt.isEmpty()) {
                 originalMessage.reply(new OffreOperationError("Offre introuvable"));
@@ -165,23 +173,41 @@ public class OffreActor implements Actor {
                 return;
             }
 
-            offre.setStatut("ACCEPTED");
-            offre.setRespondedAt(LocalDateTime.now());
-            offreRepository.save(offre);
+            // Même réservation conditionnelle que l'achat direct : l'annonce ne peut
+            // pas être vendue deux fois, quelle que soit l'instance qui traite la vente
+            String reservation = UUID.randomUUID().toString();
+            if (userServiceClient.reserveAnnonce(annonce.getId(), annonce.getVersion(), reservation) == null) {
+                originalMessage.reply(new OffreOperationError("Annonce non disponible"));
+                return;
+            }
+            if (userServiceClient.confirmAnnonce(annonce.getId(), reservation) == null) {
+                userServiceClient.releaseAnnonce(annonce.getId(), reservation);
+                originalMessage.reply(new OffreOperationError("Réservation expirée, veuillez réessayer"));
+                return;
+            }
 
             Transaction transaction = new Transaction();
-            transaction.setAnnonceId(offre.getAnnonceId());
-            transaction.setAnnonceTitre(offre.getAnnonceTitre());
-            transaction.setAcheteurId(offre.getAcheteurId());
-            transaction.setAcheteurUsername(offre.getAcheteurUsername());
-            transaction.setVendeurId(offre.getVendeurId());
-            transaction.setVendeurUsername(offre.getVendeurUsername());
-            transaction.setPrix(offre.getPrixPropose());
-            transaction.setStatut("COMPLETED");
-            transaction.setTypeAchat("OFFRE_ACCEPTEE");
-            transaction.setCompletedAt(LocalDateTime.now());
-
-            transactionRepository.save(transaction);
+            try {
+                offre.setStatut("ACCEPTED");
+                offre.setRespondedAt(LocalDateTime.now());
+                offreRepository.save(offre);
+
+                transaction.setAnnonceId(offre.getAnnonceId());
+                transaction.setAnnonceTitre(offre.getAnnonceTitre());
+                transaction.setAcheteurId(offre.getAcheteurId());
+                transaction.setAcheteurUsername(offre.getAcheteurUsername());
+                transaction.setVendeurId(offre.getVendeurId());
+                transaction.setVendeurUsername(offre.getVendeurUsername());
+                transaction.setPrix(offre.getPrixPropose());
+                transaction.setStatut("COMPLETED");
+                transaction.setTypeAchat("OFFRE_ACCEPTEE");
+                transaction.setCompletedAt(LocalDateTime.now());
+
+                transactionRepository.save(transaction);
+            } catch (RuntimeException e) {
+                userServiceClient.releaseAnnonce(annonce.getId(), reservation);
+                throw e;
+            }
 
             try {
                 userServiceClient.deleteAnnonce(offre.getAnnonceId());
@@ -189,13 +215,19 @@ public class OffreActor implements Actor {
                 logger.warn("Impossible de supprimer l'annonce: " + e.getMessage());
             }
 
-            List<Offre> autresOffres = offreRepository.findByAnnonceIdAndStatut(offre.getAnnonceId(), "PENDING");
-            for (Offre autre : autresOffres) {
-                if (!autre.getId().equals(offre.getId())) {
-                    autre.setStatut("REFUSED");
-                    autre.setRespondedAt(LocalDateTime.now());
-                    offreRepository.save(autre);
-                }
+            // Offres concurrentes refusées en un seul UPDATE
+            List<OffreRefuseeDTO> refusees = offreRepository.refuseCompetingOffers(offre);
+
+            for (OffreRefuseeDTO refusee : refusees) {
+                // Notifications des offres concurrentes : regroupées en un seul envoi
+                java.util.Map<String, Object> notificationData = new java.util.HashMap<>();
+                notificationData.put("userId", refusee.acheteurId());
+                notificationData.put("type", "OFFER_REFUSED");
+                notificationData.put("message", String.format("Votre offre pour \"%s\" a été refusée",
+                        offre.getAnnonceTitre()));
+                notificationData.put("relatedId", refusee.offreId());
+                notificationData.put("isRead", false);
+                notificationSender.send(notificationData);
             }
 
             // Créer une notification dans la base de données pour l'acheteur
@@ -208,7 +240,7 @@ public class OffreActor implements Actor {
                 notificationData.put("relatedId", transaction.getId());
                 notificationData.put("isRead", false);
 
-                userServiceClient.createNotification(notificationData);
+                notificationSender.send(notificationData);
                 logger.info("Notification créée pour l'acheteur ID: " + offre.getAcheteurId());
             } catch (Exception e) {
                 logger.error("Erreur lors de la création de la notification", e);
@@ -242,7 +274,8 @@ public class OffreActor implements Actor {
 
     private void handleRefuserOffre(RefuserOffre msg, Message originalMessage) {
         try {
-            Optional<Offre> offreOpt = offreRepository.findById(msg.offreId());
+            Optional<Offre> offreOpt = offreRepository.findById(msg.offreId())
+                    .filter(o -> o.getAnnonceId().equals(msg.annonceId()));
 
             if (offreOpt.isEmpty()) {
                 originalMessage.reply(new OffreOperationError("Offre introuvable"));
@@ -270,7 +303,7 @@ public class OffreActor implements Actor {
                 notificationData.put("relatedId", offre.getId());
                 notificationData.put("isRead", false);
 
-                userServiceClient.createNotification(notificationData);
+                notificationSender.send(notificationData);
                 logger.info("Notification créée pour l'acheteur ID: " + offre.getAcheteurId());
             } catch (Exception e) {
                 logger.error("Erreur lors de la création de la notification", e);
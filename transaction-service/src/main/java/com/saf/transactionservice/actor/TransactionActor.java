@@ -13,6 +13,8 @@ import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Actor gérant les achats directs (au prix affiché)
@@ -56,6 +58,10 @@ public class TransactionActor implements Actor {
 
     private void handleAchatDirect(AchatDirect msg, Message originalMessage) {
         try {
+            if (replayAchat(msg, originalMessage)) {
+                return;
+            }
+
             AnnonceDTO annonce = userServiceClient.getAnnonce(msg.annonceId());
 
             if (annonce == null) {
@@ -68,6 +74,19 @@ public class TransactionActor implements Actor {
                 return;
             }
 
+            // Réservation conditionnelle côté user-service : entre deux acheteurs, quelle
+            // que soit l'instance qui les traite, un seul obtient l'annonce, et seulement
+            // si elle n'a pas changé (prix compris) depuis sa lecture. Elle expire si
+            // elle n'est pas confirmée (instance tombée, appel perdu).
+            String reservation = UUID.randomUUID().toString();
+            if (userServiceClient.reserveAnnonce(annonce.getId(), annonce.getVersion(), reservation) == null) {
+                // Répétition concurrente du même achat : il a pu aboutir entre-temps
+                if (!replayAchat(msg, originalMessage)) {
+                    originalMessage.reply(new TransactionOperationError("Annonce déjà vendue ou modifiée entre-temps"));
+                }
+                return;
+            }
+
             Transaction transaction = new Transaction();
             transaction.setAnnonceId(annonce.getId());
             transaction.setAnnonceTitre(annonce.getTitre() + " - " + annonce.getArtiste());
@@ -78,8 +97,22 @@ public class TransactionActor implements Actor {
             transaction.setStatut("COMPLETED");
             transaction.setTypeAchat("DIRECT");
             transaction.setCompletedAt(LocalDateTime.now());
+            transaction.setIdempotencyKey(msg.idempotencyKey());
 
-            Transaction saved = transactionRepository.save(transaction);
+            // Confirmée avant l'enregistrement : une réservation expirée a pu être reprise
+            if (userServiceClient.confirmAnnonce(annonce.getId(), reservation) == null) {
+                userServiceClient.releaseAnnonce(annonce.getId(), reservation);
+                originalMessage.reply(new TransactionOperationError("Réservation expirée, veuillez réessayer"));
+                return;
+            }
+
+            Transaction saved;
+            try {
+                saved = transactionRepository.save(transaction);
+            } catch (RuntimeException e) {
+                userServiceClient.releaseAnnonce(annonce.getId(), reservation);
+                throw e;
+            }
 
             try {
                 userServiceClient.deleteAnnonce(msg.annonceId());
@@ -113,6 +146,31 @@ public class TransactionActor implements Actor {
         }
     }
 
+    /**
+     * Achat déjà enregistré sous la même clé d'idempotence : renvoie la transaction
+     * d'origine (ou une erreur si la clé a servi à un autre achat)
+     *
+     * @return true si une réponse a été envoyée
+     */
+    private boolean replayAchat(AchatDirect msg, Message originalMessage) {
+        if (msg.idempotencyKey() == null) {
+            return false;
+        }
+
+        Optional<Transaction> existing = transactionRepository.findByIdempotencyKey(msg.idempotencyKey());
+        if (existing.isEmpty()) {
+            return false;
+        }
+
+        Transaction transaction = existing.get();
+        if (transaction.getAnnonceId().equals(msg.annonceId()) && transaction.getAcheteurId().equals(msg.acheteurId())) {
+            originalMessage.reply(new TransactionCreated(transaction));
+        } else {
+            originalMessage.reply(new TransactionOperationError("Clé d'idempotence déjà utilisée pour un autre achat"));
+        }
+        return true;
+    }
+
     private void handleGetTransaction(GetTransaction msg, Message originalMessage) {
         transactionRepository.findById(msg.transactionId())
                 .ifPresentOrElse(
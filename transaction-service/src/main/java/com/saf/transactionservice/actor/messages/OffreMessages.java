@@ -13,10 +13,10 @@ public class OffreMessages {
     public record FaireOffre(Long annonceId, Long acheteurId, BigDecimal prixPropose, String message) {
     }
 
-    public record AccepterOffre(Long offreId) {
+    public record AccepterOffre(Long offreId, Long annonceId) {
     }
 
-    public record RefuserOffre(Long offreId) {
+    public record RefuserOffre(Long offreId, Long annonceId) {
     }
 
     public record GetOffresPendingForVendeur(Long vendeurId) {
@@ -40,4 +40,26 @@ public class OffreMessages {
 
     public record OffreOperationError(String error) {
     }
+
+    /**
+     * Clé de routage pour le pool d'acteurs : tous les messages d'une même annonce
+     * (nouvelles offres, acceptations, refus) sont traités par le même worker, l'un
+     * après l'autre. Cela n'exclut pas un achat direct, traité par le pool de
+     * transactions : c'est la réservation de l'annonce par user-service qui
+     * empêche une double vente.
+     */
+    public static Object routingKey(Object payload) {
+        if (payload instanceof FaireOffre msg) {
+            return msg.annonceId();
+        } else if (payload instanceof AccepterOffre msg) {
+            return msg.annonceId();
+        } else if (payload instanceof RefuserOffre msg) {
+            return msg.annonceId();
+        } else if (payload instanceof GetOffresPendingForVendeur msg) {
+            return msg.vendeurId();
+        } else if (payload instanceof GetOffresForAcheteur msg) {
+            return msg.acheteurId();
+        }
+        return null;
+    }
 }
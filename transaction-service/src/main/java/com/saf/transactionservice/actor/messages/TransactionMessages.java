@@ -9,7 +9,11 @@ import java.util.List;
 public class TransactionMessages {
 
     // Commandes
-    public record AchatDirect(Long annonceId, Long acheteurId) {
+    /**
+     * idempotencyKey (facultative) : un même achat envoyé plusieurs fois ne crée
+     * qu'une transaction, les répétitions reçoivent la transaction d'origine
+     */
+    public record AchatDirect(Long annonceId, Long acheteurId, String idempotencyKey) {
     }
 
     public record GetTransaction(Long transactionId) {
@@ -33,4 +37,21 @@ public class TransactionMessages {
 
     public record TransactionOperationError(String error) {
     }
+
+    /**
+     * Clé de routage pour le pool d'acteurs : deux achats de la même annonce
+     * sont traités par le même worker, donc l'un après l'autre. Face à une offre
+     * acceptée en parallèle (pool d'offres), seule la réservation de l'annonce par
+     * user-service garantit qu'une seule vente aboutit.
+     */
+    public static Object routingKey(Object payload) {
+        if (payload instanceof AchatDirect msg) {
+            return msg.annonceId();
+        } else if (payload instanceof GetTransaction msg) {
+            return msg.transactionId();
+        } else if (payload instanceof GetTransactionsByUser msg) {
+            return msg.userId();
+        }
+        return null;
+    }
 }
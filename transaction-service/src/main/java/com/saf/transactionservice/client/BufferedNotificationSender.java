@@ -0,0 +1,83 @@
+package com.saf.transactionservice.client;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Regroupe les notifications destinées à user-service : elles sont envoyées
+ * par lots via POST /api/notifications/batch, toutes les {@code window-ms}
+ * ou dès que {@code max-size} notifications sont en attente.
+ * Comme pour l'envoi unitaire, un lot en échec est journalisé puis abandonné.
+ */
+@Component
+public class BufferedNotificationSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(BufferedNotificationSender.class);
+
+    private final UserServiceClient userServiceClient;
+    private final int maxSize;
+    private final ConcurrentLinkedQueue<Map<String, Object>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    public BufferedNotificationSender(UserServiceClient userServiceClient,
+            @Value("${user-service.notifications.batch.window-ms:200}") long windowMs,
+            @Value("${user-service.notifications.batch.max-size:50}") int maxSize) {
+        this.userServiceClient = userServiceClient;
+        this.maxSize = maxSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flush, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Met la notification en attente ; l'envoi est asynchrone
+     */
+    public void send(Map<String, Object> notification) {
+        pending.add(notification);
+        if (pendingCount.incrementAndGet() >= maxSize) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Envoie tout ce qui est en attente, par lots d'au plus max-size
+     */
+    public synchronized void flush() {
+        while (!pending.isEmpty()) {
+            List<Map<String, Object>> batch = new ArrayList<>(maxSize);
+            Map<String, Object> notification;
+            while (batch.size() < maxSize && (notification = pending.poll()) != null) {
+                batch.add(notification);
+            }
+            pendingCount.addAndGet(-batch.size());
+            try {
+                userServiceClient.createNotifications(batch);
+                logger.debug("{} notifications envoyées à user-service", batch.size());
+            } catch (Exception e) {
+                logger.error("Erreur lors de l'envoi de {} notifications", batch.size(), e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown();
+        flush();
+    }
+}
@@ -0,0 +1,97 @@
+package com.saf.transactionservice.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.saf.transactionservice.dto.AnnonceDTO;
+import com.saf.transactionservice.dto.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache read-through devant UserServiceClient pour les UserDTO
+ * (username et email changent rarement) : TTL et taille bornée.
+ * Un changement d'utilisateur est visible au plus tard après le TTL.
+ * Les réponses du fallback (UserDTO.isUnavailable) ne sont jamais mises en cache.
+ * Les autres appels (annonces, notifications) sont délégués tels quels.
+ */
+@Component
+public class CachingUserServiceClient implements UserServiceClient {
+
+    private final UserServiceClient delegate;
+    private final Cache<Long, UserDTO> users;
+
+    public CachingUserServiceClient(UserServiceClient userServiceClient,
+            MeterRegistry meterRegistry,
+            @Value("${user-service.cache.users.ttl:10m}") Duration ttl,
+            @Value("${user-service.cache.users.max-size:10000}") long maxSize) {
+        this.delegate = userServiceClient;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "userDTO");
+    }
+
+    @Override
+    public UserDTO getUser(Long id) {
+        if (id == null) {
+            return delegate.getUser(null);
+        }
+        UserDTO cached = users.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        UserDTO user = delegate.getUser(id);
+        if (user != null && !user.isUnavailable()) {
+            users.put(id, user);
+        }
+        return user;
+    }
+
+    @Override
+    public AnnonceDTO getAnnonce(Long id) {
+        return delegate.getAnnonce(id);
+    }
+
+    @Override
+    public void deleteAnnonce(Long id) {
+        delegate.deleteAnnonce(id);
+    }
+
+    @Override
+    public void markAnnonceAsUnavailable(Long id) {
+        delegate.markAnnonceAsUnavailable(id);
+    }
+
+    @Override
+    public AnnonceDTO reserveAnnonce(Long id, Long version, String token) {
+        return delegate.reserveAnnonce(id, version, token);
+    }
+
+    @Override
+    public Map<String, Object> confirmAnnonce(Long id, String token) {
+        return delegate.confirmAnnonce(id, token);
+    }
+
+    @Override
+    public void releaseAnnonce(Long id, String token) {
+        delegate.releaseAnnonce(id, token);
+    }
+
+    @Override
+    public void createNotification(Map<String, Object> notification) {
+        delegate.createNotification(notification);
+    }
+
+    @Override
+    public void createNotifications(List<Map<String, Object>> notifications) {
+        delegate.createNotifications(notifications);
+    }
+}
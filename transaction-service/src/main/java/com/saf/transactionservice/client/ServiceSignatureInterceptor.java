@@ -0,0 +1,39 @@
+package com.saf.transactionservice.client;
+
+import com.saf.transactionservice.security.ServiceIdentity;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * Signe les appels Feign vers user-service (secret partagé gateway.identity.secret) :
+ * nom du service, méthode, chemin, paramètres et horodatage. user-service n'accepte les
+ * réservations d'annonces et les notifications par lots que signées ainsi.
+ */
+@Component
+public class ServiceSignatureInterceptor implements RequestInterceptor {
+
+    private final ServiceIdentity serviceIdentity;
+    private final String serviceName;
+
+    public ServiceSignatureInterceptor(ServiceIdentity serviceIdentity,
+            @Value("${spring.application.name}") String serviceName) {
+        this.serviceIdentity = serviceIdentity;
+        this.serviceName = serviceName;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        long timestamp = Instant.now().getEpochSecond();
+        // Chemin et paramètres tels que les voit user-service (getRequestURI, getQueryString)
+        String path = URI.create(template.path()).getRawPath();
+        template.header(ServiceIdentity.SERVICE, serviceName);
+        template.header(ServiceIdentity.TIMESTAMP, String.valueOf(timestamp));
+        template.header(ServiceIdentity.SIGNATURE,
+                serviceIdentity.sign(serviceName, template.method(), path, template.queryLine(), timestamp));
+    }
+}
@@ -5,6 +5,7 @@ import com.saf.transactionservice.dto.UserDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @FeignClient(name = "user-service", fallback = UserServiceClientFallback.class)
@@ -19,9 +20,31 @@ public interface UserServiceClient {
     @PutMapping("/api/annonces/{id}/mark-unavailable")
     void markAnnonceAsUnavailable(@PathVariable("id") Long id);
 
+    /**
+     * Réserve l'annonce avant un achat (compare-and-set sur la version lue), sous
+     * un jeton propre à cet achat. Renvoie l'annonce réservée, ou null via le
+     * fallback si elle ne l'est pas. Sans confirmation, la réservation expire.
+     */
+    @PutMapping("/api/annonces/{id}/reserve")
+    AnnonceDTO reserveAnnonce(@PathVariable("id") Long id,
+            @RequestParam(value = "version", required = false) Long version,
+            @RequestParam("token") String token);
+
+    /**
+     * Vente conclue : la réservation n'expire plus. null via le fallback si elle a expiré.
+     */
+    @PutMapping("/api/annonces/{id}/confirm")
+    Map<String, Object> confirmAnnonce(@PathVariable("id") Long id, @RequestParam("token") String token);
+
+    @PutMapping("/api/annonces/{id}/release")
+    void releaseAnnonce(@PathVariable("id") Long id, @RequestParam("token") String token);
+
     @GetMapping("/api/users/{id}")
     UserDTO getUser(@PathVariable("id") Long id);
 
     @PostMapping("/api/notifications")
     void createNotification(@RequestBody Map<String, Object> notification);
+
+    @PostMapping("/api/notifications/batch")
+    void createNotifications(@RequestBody List<Map<String, Object>> notifications);
 }
@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -39,6 +40,26 @@ public class UserServiceClientFallback implements UserServiceClient {
         // Ne rien faire, l'opération sera réessayée plus tard
     }
 
+    @Override
+    public AnnonceDTO reserveAnnonce(Long id, Long version, String token) {
+        // Réservation refusée (409) ou user-service injoignable : pas de vente sans réservation.
+        // Si elle a tout de même été prise (réponse perdue), elle expirera faute de confirmation.
+        logger.warn("Réservation de l'annonce {} impossible", id);
+        return null;
+    }
+
+    @Override
+    public Map<String, Object> confirmAnnonce(Long id, String token) {
+        logger.warn("Confirmation de la réservation de l'annonce {} impossible", id);
+        return null;
+    }
+
+    @Override
+    public void releaseAnnonce(Long id, String token) {
+        // La réservation expirera d'elle-même côté user-service
+        logger.warn("user-service indisponible - Réservation de l'annonce {} non annulée", id);
+    }
+
     @Override
     public UserDTO getUser(Long id) {
         logger.warn("user-service indisponible - Fallback pour getUser({})", id);
@@ -47,6 +68,7 @@ public class UserServiceClientFallback implements UserServiceClient {
         fallback.setId(id);
         fallback.setUsername("Utilisateur temporairement indisponible");
         fallback.setEmail("unavailable@example.com");
+        fallback.setUnavailable(true);
         return fallback;
     }
 
@@ -55,4 +77,9 @@ public class UserServiceClientFallback implements UserServiceClient {
         logger.warn("user-service indisponible - Notification non envoyée: {}", notification.get("message"));
         // Ne rien faire, la notification sera perdue (ou on pourrait la stocker dans une queue)
     }
+
+    @Override
+    public void createNotifications(List<Map<String, Object>> notifications) {
+        logger.warn("user-service indisponible - {} notifications non envoyées", notifications.size());
+    }
 }
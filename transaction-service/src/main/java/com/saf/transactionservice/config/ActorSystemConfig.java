@@ -1,13 +1,22 @@
 package com.saf.transactionservice.config;
 
+import com.saf.actorpool.ActorPool;
+import com.saf.actorpool.Dispatcher;
+import com.saf.actorpool.MailboxOverflow;
+import com.saf.actorpool.PoolActorSystem;
+import com.saf.core.ActorProps;
 import com.saf.core.ActorSystem;
 import com.saf.core.ActorRef;
 import com.saf.transactionservice.actor.NotificationActor;
 import com.saf.transactionservice.actor.OffreActor;
 import com.saf.transactionservice.actor.TransactionActor;
-import com.saf.transactionservice.client.UserServiceClient;
+import com.saf.transactionservice.actor.messages.OffreMessages;
+import com.saf.transactionservice.actor.messages.TransactionMessages;
+import com.saf.transactionservice.client.BufferedNotificationSender;
+import com.saf.transactionservice.client.CachingUserServiceClient;
 import com.saf.transactionservice.repository.OffreRepository;
 import com.saf.transactionservice.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +25,13 @@ import org.springframework.mail.javamail.JavaMailSender;
 /**
  * Configuration du système d'acteurs pour transaction-service
  * Initialise tous les acteurs avec supervision et résilience
+ * Les acteurs métier sont déployés en pools dimensionnés par configuration
+ * (actor.system.pools.*) et routés par clé d'entité, sur le dispatcher
+ * choisi par rôle (default ou virtual)
+ * Chaque worker a une boîte aux lettres bornée (mailbox-capacity) ; au-delà,
+ * la politique overflow (reject, drop-oldest, block) s'applique
+ * Les pools publient leurs métriques (actor.*) dans le MeterRegistry d'Actuator
+ * Les acteurs passent par CachingUserServiceClient pour les lookups d'utilisateurs
  */
 @Configuration
 public class ActorSystemConfig {
@@ -23,9 +39,36 @@ public class ActorSystemConfig {
     @Value("${spring.mail.username:noreply@marketplace.com}")
     private String fromEmail;
 
+    @Value("${actor.system.pools.transaction.size:4}")
+    private int transactionPoolSize;
+
+    @Value("${actor.system.pools.transaction.dispatcher:virtual}")
+    private String transactionDispatcher;
+
+    @Value("${actor.system.pools.offre.size:4}")
+    private int offrePoolSize;
+
+    @Value("${actor.system.pools.offre.dispatcher:virtual}")
+    private String offreDispatcher;
+
+    @Value("${actor.system.pools.transaction.mailbox-capacity:1000}")
+    private int transactionMailboxCapacity;
+
+    @Value("${actor.system.pools.transaction.overflow:reject}")
+    private String transactionOverflow;
+
+    @Value("${actor.system.pools.offre.mailbox-capacity:1000}")
+    private int offreMailboxCapacity;
+
+    @Value("${actor.system.pools.offre.overflow:reject}")
+    private String offreOverflow;
+
+    @Value("${actor.system.mailbox.block-timeout-ms:200}")
+    private long blockTimeoutMs;
+
     @Bean
-    public ActorSystem actorSystem() {
-        return new ActorSystem();
+    public PoolActorSystem actorSystem() {
+        return new PoolActorSystem();
     }
 
     @Bean
@@ -35,21 +78,35 @@ public class ActorSystemConfig {
     }
 
     @Bean
-    public ActorRef transactionActor(ActorSystem actorSystem,
+    public ActorRef transactionActor(PoolActorSystem actorSystem,
             TransactionRepository transactionRepository,
-            UserServiceClient userServiceClient,
-            ActorRef notificationActor) {
-        return actorSystem.createActor("transactionActor",
-                () -> new TransactionActor(transactionRepository, userServiceClient, notificationActor));
+            CachingUserServiceClient userServiceClient,
+            ActorRef notificationActor,
+            MeterRegistry meterRegistry) {
+        return ActorPool.create(actorSystem, "transactionActor", transactionPoolSize,
+                Dispatcher.of(transactionDispatcher),
+                ActorProps.create(() -> new TransactionActor(transactionRepository, userServiceClient,
+                        notificationActor))
+                        .withMailboxCapacity(transactionMailboxCapacity),
+                MailboxOverflow.of(transactionOverflow, blockTimeoutMs),
+                TransactionMessages::routingKey,
+                meterRegistry);
     }
 
     @Bean
-    public ActorRef offreActor(ActorSystem actorSystem,
+    public ActorRef offreActor(PoolActorSystem actorSystem,
             OffreRepository offreRepository,
             TransactionRepository transactionRepository,
-            UserServiceClient userServiceClient,
-            ActorRef notificationActor) {
-        return actorSystem.createActor("offreActor",
-                () -> new OffreActor(offreRepository, transactionRepository, userServiceClient, notificationActor));
+            CachingUserServiceClient userServiceClient,
+            ActorRef notificationActor,
+            BufferedNotificationSender notificationSender,
+            MeterRegistry meterRegistry) {
+        return ActorPool.create(actorSystem, "offreActor", offrePoolSize, Dispatcher.of(offreDispatcher),
+                ActorProps.create(() -> new OffreActor(offreRepository, transactionRepository, userServiceClient,
+                        notificationActor, notificationSender))
+                        .withMailboxCapacity(offreMailboxCapacity),
+                MailboxOverflow.of(offreOverflow, blockTimeoutMs),
+                OffreMessages::routingKey,
+                meterRegistry);
     }
 }
@@ -0,0 +1,24 @@
+package com.saf.transactionservice.config;
+
+import com.saf.transactionservice.security.ServiceIdentity;
+import com.saf.transactionservice.security.ServiceIdentityFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Les métriques des acteurs (/actuator/metrics) ne sont servies qu'aux appels
+ * de service signés (collecteur) ; /actuator/health reste ouvert pour Eureka.
+ * Le service n'embarque pas Spring Security : un simple filtre suffit.
+ */
+@Configuration
+public class ActuatorSecurityConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServiceIdentityFilter> metricsIdentityFilter(ServiceIdentity serviceIdentity) {
+        FilterRegistrationBean<ServiceIdentityFilter> registration =
+                new FilterRegistrationBean<>(new ServiceIdentityFilter(serviceIdentity));
+        registration.addUrlPatterns("/actuator/metrics", "/actuator/metrics/*");
+        return registration;
+    }
+}
@@ -1,5 +1,6 @@
 package com.saf.transactionservice.controller;
 
+import com.saf.actorpool.web.ActorReplies;
 import com.saf.core.ActorRef;
 import com.saf.transactionservice.actor.messages.TransactionMessages.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,7 +9,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/transactions")
@@ -18,144 +19,99 @@ public class TransactionController {
     @Autowired
     private ActorRef transactionActor;
 
+    /**
+     * Achat direct. L'en-tête Idempotency-Key (facultatif, 100 caractères au plus)
+     * permet au client de rejouer la requête sans risque de double achat.
+     */
     @PostMapping("/acheter")
-    public ResponseEntity<?> acheterDirect(@RequestBody Map<String, Long> request) {
-        try {
-            Long annonceId = request.get("annonceId");
-            Long acheteurId = request.get("acheteurId");
-
-            if (annonceId == null || acheteurId == null) {
-                return ResponseEntity.badRequest().body(Map.of("error", "annonceId et acheteurId requis"));
-            }
-
-            Object response = transactionActor.ask(
-                    new AchatDirect(annonceId, acheteurId),
-                    Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS);
-
-            if (response instanceof TransactionCreated result) {
-                return ResponseEntity.ok(Map.of(
-                        "message", "Achat réussi ! Le vendeur a été notifié.",
-                        "transactionId", result.transaction().getId(),
-                        "prix", result.transaction().getPrix()));
-            } else if (response instanceof TransactionOperationError error) {
-                return ResponseEntity.badRequest().body(Map.of("error", error.error()));
-            }
-
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur: " + e.getMessage()));
+    public CompletableFuture<ResponseEntity<?>> acheterDirect(@RequestBody Map<String, Long> request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        Long annonceId = request.get("annonceId");
+        Long acheteurId = request.get("acheteurId");
+
+        if (annonceId == null || acheteurId == null) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "annonceId et acheteurId requis")));
         }
-    }
-
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getTransaction(@PathVariable Long id) {
-        try {
-            Object response = transactionActor.ask(new GetTransaction(id), Duration.ofSeconds(5))
-                    .get(5, TimeUnit.SECONDS);
 
-            if (response instanceof TransactionResult result) {
-                return ResponseEntity.ok(result.transaction());
-            } else if (response instanceof TransactionOperationError error) {
-                return ResponseEntity.notFound().build();
-            }
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 100)) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.badRequest().body(Map.of("error", "Idempotency-Key invalide")));
+        }
 
-            return ResponseEntity.notFound().build();
+        return transactionActor.ask(new AchatDirect(annonceId, acheteurId, idempotencyKey), Duration.ofSeconds(10))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof TransactionCreated result) {
+                        return ResponseEntity.ok(Map.of(
+                                "message", "Achat réussi ! Le vendeur a été notifié.",
+                                "transactionId", result.transaction().getId(),
+                                "prix", result.transaction().getPrix()));
+                    } else if (response instanceof TransactionOperationError error) {
+                        return ResponseEntity.badRequest().body(Map.of("error", error.error()));
+                    }
+
+                    return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur: " + e.getMessage()));
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<?>> getTransaction(@PathVariable Long id) {
+        return transactionActor.ask(new GetTransaction(id), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof TransactionResult result) {
+                        return ResponseEntity.ok(result.transaction());
+                    }
+
+                    return ResponseEntity.notFound().build();
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<?> getTransactionsByUser(
+    public CompletableFuture<ResponseEntity<?>> getTransactionsByUser(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "false") boolean asVendeur) {
-        try {
-            Object response = transactionActor.ask(
-                    new GetTransactionsByUser(userId, asVendeur),
-                    Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
-
-            if (response instanceof TransactionsList result) {
-                return ResponseEntity.ok(result.transactions());
-            }
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+        return askTransactions(new GetTransactionsByUser(userId, asVendeur));
     }
 
     @GetMapping("/acheteur/{acheteurId}")
-    public ResponseEntity<?> getTransactionsByAcheteur(@PathVariable Long acheteurId) {
-        try {
-            Object response = transactionActor.ask(
-                    new GetTransactionsByUser(acheteurId, false),
-                    Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
-
-            if (response instanceof TransactionsList result) {
-                return ResponseEntity.ok(result.transactions());
-            }
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+    public CompletableFuture<ResponseEntity<?>> getTransactionsByAcheteur(@PathVariable Long acheteurId) {
+        return askTransactions(new GetTransactionsByUser(acheteurId, false));
     }
 
     @GetMapping("/vendeur/{vendeurId}")
-    public ResponseEntity<?> getTransactionsByVendeur(@PathVariable Long vendeurId) {
-        try {
-            Object response = transactionActor.ask(
-                    new GetTransactionsByUser(vendeurId, true),
-                    Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
-
-            if (response instanceof TransactionsList result) {
-                return ResponseEntity.ok(result.transactions());
-            }
-
-            return ResponseEntity.ok(response);
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+    public CompletableFuture<ResponseEntity<?>> getTransactionsByVendeur(@PathVariable Long vendeurId) {
+        return askTransactions(new GetTransactionsByUser(vendeurId, true));
     }
 
     @GetMapping("/count")
-    public ResponseEntity<Long> countTransactions() {
-        try {
-            Object response = transactionActor.ask(
-                    new GetAllTransactions(),
-                    Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
-
-            if (response instanceof TransactionsList result) {
-                return ResponseEntity.ok((long) result.transactions().size());
-            }
-
-            return ResponseEntity.ok(0L);
-
-        } catch (Exception e) {
-            return ResponseEntity.ok(0L);
-        }
+    public CompletableFuture<ResponseEntity<Long>> countTransactions() {
+        return transactionActor.ask(new GetAllTransactions(), Duration.ofSeconds(5))
+                .thenApply(response -> {
+                    if (response instanceof TransactionsList result) {
+                        return ResponseEntity.ok((long) result.transactions().size());
+                    }
+
+                    return ResponseEntity.ok(0L);
+                })
+                .exceptionally(e -> ResponseEntity.ok(0L));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<?> getAllTransactions() {
-        try {
-            Object response = transactionActor.ask(
-                    new GetAllTransactions(),
-                    Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
-
-            if (response instanceof TransactionsList result) {
-                return ResponseEntity.ok(result.transactions());
-            }
+    public CompletableFuture<ResponseEntity<?>> getAllTransactions() {
+        return askTransactions(new GetAllTransactions());
+    }
 
-            return ResponseEntity.ok(response);
+    private CompletableFuture<ResponseEntity<?>> askTransactions(Object query) {
+        return transactionActor.ask(query, Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof TransactionsList result) {
+                        return ResponseEntity.ok(result.transactions());
+                    }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
     }
 }
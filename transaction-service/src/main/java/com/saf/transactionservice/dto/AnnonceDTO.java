@@ -11,6 +11,7 @@ public class AnnonceDTO {
     private Long vendeurId;
     private String vendeurUsername;
     private boolean disponible;
+    private Long version;
 
     // Constructeurs
     public AnnonceDTO() {
@@ -72,4 +73,12 @@ public class AnnonceDTO {
     public void setDisponible(boolean disponible) {
         this.disponible = disponible;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
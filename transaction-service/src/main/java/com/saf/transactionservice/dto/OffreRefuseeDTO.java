@@ -0,0 +1,8 @@
+package com.saf.transactionservice.dto;
+
+/**
+ * Offre refusée d'office à l'acceptation d'une offre concurrente : de quoi
+ * prévenir son acheteur sans recharger l'entité
+ */
+public record OffreRefuseeDTO(Long offreId, Long acheteurId) {
+}
@@ -1,5 +1,7 @@
 package com.saf.transactionservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * DTO représentant les informations d'un utilisateur depuis user-service
  */
@@ -7,6 +9,9 @@ public class UserDTO {
     private Long id;
     private String username;
     private String email;
+    // Utilisateur par défaut du fallback, jamais lu depuis la réponse de user-service
+    @JsonIgnore
+    private boolean unavailable;
 
     // Constructeurs
     public UserDTO() {
@@ -36,4 +41,12 @@ public class UserDTO {
     public void setEmail(String email) {
         this.email = email;
     }
+
+    public boolean isUnavailable() {
+        return unavailable;
+    }
+
+    public void setUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
 }
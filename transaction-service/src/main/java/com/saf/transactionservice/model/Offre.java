@@ -5,11 +5,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "offres")
+@Table(name = "offres", indexes = {
+        // Offres en attente d'une annonce (refus des concurrentes) et d'un vendeur
+        @Index(name = "idx_offres_annonce_statut", columnList = "annonce_id, statut"),
+        @Index(name = "idx_offres_vendeur_statut", columnList = "vendeur_id, statut"),
+        @Index(name = "idx_offres_acheteur", columnList = "acheteur_id")
+})
 public class Offre {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "offres_seq")
+    @SequenceGenerator(name = "offres_seq", sequenceName = "offres_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "annonce_id", nullable = false)
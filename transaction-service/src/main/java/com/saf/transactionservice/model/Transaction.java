@@ -5,11 +5,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_acheteur", columnList = "acheteur_id"),
+        @Index(name = "idx_transactions_vendeur", columnList = "vendeur_id"),
+        @Index(name = "idx_transactions_annonce", columnList = "annonce_id")
+})
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "annonce_id", nullable = false)
@@ -45,6 +50,10 @@ public class Transaction {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
 
+    // Clé fournie par le client (en-tête Idempotency-Key) : un achat rejoué n'est créé qu'une fois
+    @Column(name = "idempotency_key", unique = true, length = 100)
+    private String idempotencyKey;
+
     // Constructeurs
     public Transaction() {
     }
@@ -145,4 +154,12 @@ public class Transaction {
     public void setCompletedAt(LocalDateTime completedAt) {
         this.completedAt = completedAt;
     }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
 }
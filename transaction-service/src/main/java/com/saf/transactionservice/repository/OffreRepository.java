@@ -1,10 +1,19 @@
 package com.saf.transactionservice.repository;
 
+import com.saf.transactionservice.dto.OffreRefuseeDTO;
 import com.saf.transactionservice.model.Offre;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OffreRepository extends JpaRepository<Offre, Long> {
@@ -13,4 +22,38 @@ public interface OffreRepository extends JpaRepository<Offre, Long> {
     List<Offre> findByAcheteurId(Long acheteurId);
 
     List<Offre> findByVendeurIdAndStatut(Long vendeurId, String statut);
+
+    // Annonce de l'offre, pour router acceptation et refus vers le worker de l'annonce
+    @Query("SELECT o.annonceId FROM Offre o WHERE o.id = :id")
+    Optional<Long> findAnnonceIdById(@Param("id") Long id);
+
+    // Offres encore en attente sur l'annonce, sauf l'offre acceptée, verrouillées
+    // jusqu'à la fin de la transaction : une offre créée ou acceptée en parallèle
+    // ne peut pas changer de statut entre cette lecture et le refus
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Offre o " +
+           "WHERE o.annonceId = :annonceId AND o.statut = 'PENDING' AND o.id <> :acceptedId")
+    List<Offre> findCompetingPendingForUpdate(@Param("annonceId") Long annonceId,
+                                              @Param("acceptedId") Long acceptedId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Offre o SET o.statut = 'REFUSED', o.respondedAt = :respondedAt WHERE o.id IN :ids")
+    int refuseOffers(@Param("ids") List<Long> ids, @Param("respondedAt") LocalDateTime respondedAt);
+
+    /**
+     * Refuse atomiquement les offres concurrentes de l'offre acceptée
+     *
+     * @return offres refusées et leurs acheteurs, à prévenir
+     */
+    @Transactional
+    default List<OffreRefuseeDTO> refuseCompetingOffers(Offre accepted) {
+        List<OffreRefuseeDTO> refusees = findCompetingPendingForUpdate(accepted.getAnnonceId(), accepted.getId())
+                .stream()
+                .map(offre -> new OffreRefuseeDTO(offre.getId(), offre.getAcheteurId()))
+                .toList();
+        if (!refusees.isEmpty()) {
+            refuseOffers(refusees.stream().map(OffreRefuseeDTO::offreId).toList(), LocalDateTime.now());
+        }
+        return refusees;
+    }
 }
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
@@ -13,4 +14,6 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction> findByVendeurId(Long vendeurId);
 
     List<Transaction> findByAnnonceId(Long annonceId);
+
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
 }
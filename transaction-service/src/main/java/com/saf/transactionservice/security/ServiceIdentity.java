@@ -0,0 +1,90 @@
+package com.saf.transactionservice.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Signatures des appels de service à service (secret partagé gateway.identity.secret) :
+ * nom du service, méthode, chemin, paramètres et horodatage, même format que ServiceIdentity
+ * de user-service. Une signature n'est acceptée que dans la minute qui suit son émission.
+ */
+@Component
+public class ServiceIdentity {
+
+    public static final String SERVICE = "X-Service-Name";
+    public static final String TIMESTAMP = "X-Service-Timestamp";
+    public static final String SIGNATURE = "X-Service-Signature";
+
+    private static final Duration MAX_SKEW = Duration.ofMinutes(1);
+
+    private final SecretKeySpec key;
+
+    public ServiceIdentity(@Value("${gateway.identity.secret}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /**
+     * Nom du service appelant, ou null si la requête n'est pas un appel de service valide
+     */
+    public String verify(HttpServletRequest request) {
+        String service = request.getHeader(SERVICE);
+        String timestamp = request.getHeader(TIMESTAMP);
+        String signature = request.getHeader(SIGNATURE);
+        if (service == null || timestamp == null || signature == null) {
+            return null;
+        }
+
+        long issuedAt;
+        byte[] actual;
+        try {
+            issuedAt = Long.parseLong(timestamp);
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (Math.abs(Instant.now().getEpochSecond() - issuedAt) > MAX_SKEW.toSeconds()) {
+            return null;
+        }
+
+        byte[] expected = mac(payload(service, request.getMethod(), request.getRequestURI(),
+                request.getQueryString(), issuedAt));
+        return MessageDigest.isEqual(expected, actual) ? service : null;
+    }
+
+    /**
+     * Signature (Base64url) d'un appel émis par ce service
+     */
+    public String sign(String service, String method, String path, String query, long timestamp) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac(payload(service, method, path, query, timestamp)));
+    }
+
+    private byte[] mac(String payload) {
+        try {
+            // Mac n'est pas thread-safe : une instance par signature
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Les paramètres (token, version d'une réservation) font partie de la signature :
+     * une requête signée ne peut pas être rejouée avec d'autres valeurs
+     */
+    private static String payload(String service, String method, String path, String query, long timestamp) {
+        String canonicalQuery = query == null ? "" : query.startsWith("?") ? query.substring(1) : query;
+        return "service\n" + service + "\n" + method + "\n" + path + "\n" + canonicalQuery + "\n" + timestamp;
+    }
+}
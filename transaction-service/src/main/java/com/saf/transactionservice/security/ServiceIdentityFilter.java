@@ -0,0 +1,32 @@
+package com.saf.transactionservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Réponse 401 aux requêtes sans signature de service valide (ServiceIdentity) ;
+ * posé uniquement sur les routes internes, voir ActuatorSecurityConfig
+ */
+public class ServiceIdentityFilter extends OncePerRequestFilter {
+
+    private final ServiceIdentity serviceIdentity;
+
+    public ServiceIdentityFilter(ServiceIdentity serviceIdentity) {
+        this.serviceIdentity = serviceIdentity;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (serviceIdentity.verify(request) == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,43 @@
+-- Schéma initial du transaction-service, identique à celui que créait ddl-auto.
+-- IF NOT EXISTS : une base déjà créée par Hibernate est reprise telle quelle.
+
+CREATE TABLE IF NOT EXISTS offres (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    annonce_id        BIGINT         NOT NULL,
+    annonce_titre     VARCHAR(255),
+    acheteur_id       BIGINT         NOT NULL,
+    acheteur_username VARCHAR(255),
+    acheteur_email    VARCHAR(255),
+    vendeur_id        BIGINT         NOT NULL,
+    vendeur_username  VARCHAR(255),
+    vendeur_email     VARCHAR(255),
+    prix_propose      NUMERIC(10, 2) NOT NULL,
+    prix_initial      NUMERIC(10, 2),
+    statut            VARCHAR(20),
+    message           VARCHAR(500),
+    created_at        TIMESTAMP(6),
+    responded_at      TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    annonce_id        BIGINT         NOT NULL,
+    annonce_titre     VARCHAR(255),
+    acheteur_id       BIGINT         NOT NULL,
+    acheteur_username VARCHAR(255),
+    vendeur_id        BIGINT         NOT NULL,
+    vendeur_username  VARCHAR(255),
+    prix              NUMERIC(10, 2) NOT NULL,
+    statut            VARCHAR(20),
+    type_achat        VARCHAR(20),
+    created_at        TIMESTAMP(6),
+    completed_at      TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_offres_annonce_statut ON offres (annonce_id, statut);
+CREATE INDEX IF NOT EXISTS idx_offres_vendeur_statut ON offres (vendeur_id, statut);
+CREATE INDEX IF NOT EXISTS idx_offres_acheteur ON offres (acheteur_id);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_acheteur ON transactions (acheteur_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_vendeur ON transactions (vendeur_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_annonce ON transactions (annonce_id);
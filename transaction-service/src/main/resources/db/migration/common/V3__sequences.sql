@@ -0,0 +1,5 @@
+-- Identifiants tirés de séquences par blocs de 50 (allocationSize des entités) :
+-- contrairement à IDENTITY, Hibernate peut alors regrouper les INSERT en lots JDBC.
+
+CREATE SEQUENCE IF NOT EXISTS offres_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
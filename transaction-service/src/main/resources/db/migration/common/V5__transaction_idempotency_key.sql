@@ -0,0 +1,4 @@
+-- Clé d'idempotence des achats directs (en-tête Idempotency-Key)
+
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(100);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_transactions_idempotency_key ON transactions (idempotency_key);
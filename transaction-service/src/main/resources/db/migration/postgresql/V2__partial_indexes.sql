@@ -0,0 +1,4 @@
+-- Index partiel (PostgreSQL uniquement) : les offres en attente sont les
+-- seules consultées lors de l'acceptation et du refus des concurrentes.
+
+CREATE INDEX IF NOT EXISTS idx_offres_annonce_pending ON offres (annonce_id) WHERE statut = 'PENDING';
@@ -0,0 +1,6 @@
+-- Recale les séquences après les lignes déjà insérées via IDENTITY. Hibernate
+-- traite chaque valeur tirée comme la borne haute d'un bloc de 50 : la première
+-- doit donc valoir MAX(id) + 50 pour que le bloc commence juste après MAX(id).
+
+SELECT setval('offres_seq', (SELECT COALESCE(MAX(id), 0) FROM offres) + 50, false);
+SELECT setval('transactions_seq', (SELECT COALESCE(MAX(id), 0) FROM transactions) + 50, false);
@@ -0,0 +1,65 @@
+package com.saf.transactionservice.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BufferedNotificationSenderTest {
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    private BufferedNotificationSender sender;
+
+    @AfterEach
+    void tearDown() {
+        sender.shutdown();
+    }
+
+    @Test
+    void testNotificationsAreCoalescedIntoOneBatch() {
+        sender = new BufferedNotificationSender(userServiceClient, 60_000, 50);
+
+        for (long i = 0; i < 10; i++) {
+            sender.send(Map.of("userId", i, "type", "OFFER_REFUSED"));
+        }
+        sender.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Map<String, Object>>> batch = ArgumentCaptor.forClass(List.class);
+        verify(userServiceClient, times(1)).createNotifications(batch.capture());
+        assertEquals(10, batch.getValue().size());
+        verify(userServiceClient, never()).createNotification(any());
+    }
+
+    @Test
+    void testMaxSizeTriggersImmediateSend() {
+        sender = new BufferedNotificationSender(userServiceClient, 60_000, 3);
+
+        for (long i = 0; i < 3; i++) {
+            sender.send(Map.of("userId", i));
+        }
+
+        verify(userServiceClient, timeout(2000).times(1)).createNotifications(anyList());
+    }
+
+    @Test
+    void testWindowFlushesPendingNotifications() {
+        sender = new BufferedNotificationSender(userServiceClient, 50, 50);
+
+        sender.send(Map.of("userId", 1L));
+
+        verify(userServiceClient, timeout(2000).times(1)).createNotifications(anyList());
+    }
+}
@@ -0,0 +1,75 @@
+package com.saf.transactionservice.client;
+
+import com.saf.transactionservice.dto.UserDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingUserServiceClientTest {
+
+    @Mock
+    private UserServiceClient delegate;
+
+    private CachingUserServiceClient client;
+
+    private UserDTO vendeur;
+
+    @BeforeEach
+    void setUp() {
+        client = new CachingUserServiceClient(delegate, new SimpleMeterRegistry(), Duration.ofMinutes(10), 100);
+
+        vendeur = new UserDTO();
+        vendeur.setId(200L);
+        vendeur.setUsername("vendeur");
+        vendeur.setEmail("vendeur@example.com");
+    }
+
+    @Test
+    void testGetUser_CachedAfterFirstCall() {
+        when(delegate.getUser(200L)).thenReturn(vendeur);
+
+        assertSame(vendeur, client.getUser(200L));
+        assertSame(vendeur, client.getUser(200L));
+
+        verify(delegate, times(1)).getUser(200L);
+    }
+
+    @Test
+    void testGetUser_FallbackNotCached() {
+        UserDTO fallback = new UserServiceClientFallback().getUser(200L);
+        when(delegate.getUser(200L)).thenReturn(fallback, vendeur);
+
+        assertSame(fallback, client.getUser(200L));
+        assertSame(vendeur, client.getUser(200L));
+
+        verify(delegate, times(2)).getUser(200L);
+    }
+
+    @Test
+    void testGetUser_UserWithFallbackLikeEmailIsCached() {
+        vendeur.setEmail("unavailable@example.com");
+        when(delegate.getUser(200L)).thenReturn(vendeur);
+
+        client.getUser(200L);
+        client.getUser(200L);
+
+        verify(delegate, times(1)).getUser(200L);
+    }
+
+    @Test
+    void testGetAnnonce_NotCached() {
+        client.getAnnonce(1L);
+        client.getAnnonce(1L);
+
+        verify(delegate, times(2)).getAnnonce(1L);
+    }
+}
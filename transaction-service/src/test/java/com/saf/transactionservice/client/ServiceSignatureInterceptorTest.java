@@ -0,0 +1,44 @@
+package com.saf.transactionservice.client;
+
+import com.saf.transactionservice.security.ServiceIdentity;
+import feign.Request;
+import feign.RequestTemplate;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceSignatureInterceptorTest {
+
+    private static final String SECRET = "testGatewayIdentitySecret";
+
+    private final ServiceSignatureInterceptor interceptor =
+            new ServiceSignatureInterceptor(new ServiceIdentity(SECRET), "transaction-service");
+
+    @Test
+    void testApply_SignsServiceMethodPathQueryAndTimestamp() throws Exception {
+        RequestTemplate template = new RequestTemplate();
+        template.method(Request.HttpMethod.PUT);
+        template.uri("/api/annonces/5/reserve?version=3&token=abc");
+
+        interceptor.apply(template);
+
+        assertEquals("transaction-service", header(template, ServiceIdentity.SERVICE));
+        String timestamp = header(template, ServiceIdentity.TIMESTAMP);
+        // Même calcul que ServiceIdentity côté user-service : paramètres sans le '?'
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String expected = Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(
+                ("service\ntransaction-service\nPUT\n/api/annonces/5/reserve\nversion=3&token=abc\n" + timestamp)
+                        .getBytes(StandardCharsets.UTF_8)));
+        assertEquals(expected, header(template, ServiceIdentity.SIGNATURE));
+    }
+
+    private static String header(RequestTemplate template, String name) {
+        return template.headers().get(name).iterator().next();
+    }
+}
@@ -11,6 +11,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -69,22 +72,40 @@ class OffreControllerIntegrationTest {
     @Test
     void testGetOffresPendingForVendeur() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/offres/vendeur/200/pending"))
+        performAsync(get("/api/offres/vendeur/200/pending"))
                 .andExpect(status().isOk());
     }
 
     @Test
     void testGetOffresForAcheteur() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/offres/acheteur/100"))
+        performAsync(get("/api/offres/acheteur/100"))
                 .andExpect(status().isOk());
     }
 
-    // Test commenté: dépend de l'Actor Framework
-    // @Test
-    // void testAccepterOffre_NotFound() throws Exception { ... }
+    @Test
+    void testAccepterOffre_NotFound() throws Exception {
+        // L'annonce de l'offre est résolue avant l'envoi à l'acteur
+        performAsync(post("/api/offres/999999/accepter"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Offre introuvable"));
+    }
 
-    // Test commenté: dépend de l'Actor Framework
-    // @Test
-    // void testRefuserOffre_NotFound() throws Exception { ... }
+    @Test
+    void testRefuserOffre_NotFound() throws Exception {
+        performAsync(post("/api/offres/999999/refuser"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Offre introuvable"));
+    }
+
+    /**
+     * Les endpoints renvoient un CompletableFuture : on attend le démarrage
+     * asynchrone puis on rejoue la réponse via asyncDispatch
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
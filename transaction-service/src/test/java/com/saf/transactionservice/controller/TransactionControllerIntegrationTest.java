@@ -11,6 +11,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -64,7 +67,7 @@ class TransactionControllerIntegrationTest {
     @Test
     void testGetTransactionsByUser_AsAcheteur() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/transactions/user/100")
+        performAsync(get("/api/transactions/user/100")
                 .param("asVendeur", "false"))
                 .andExpect(status().isOk());
     }
@@ -72,7 +75,7 @@ class TransactionControllerIntegrationTest {
     @Test
     void testGetTransactionsByUser_AsVendeur() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/transactions/user/200")
+        performAsync(get("/api/transactions/user/200")
                 .param("asVendeur", "true"))
                 .andExpect(status().isOk());
     }
@@ -80,21 +83,21 @@ class TransactionControllerIntegrationTest {
     @Test
     void testGetTransactionsByAcheteur() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/transactions/acheteur/100"))
+        performAsync(get("/api/transactions/acheteur/100"))
                 .andExpect(status().isOk());
     }
 
     @Test
     void testGetTransactionsByVendeur() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/transactions/vendeur/200"))
+        performAsync(get("/api/transactions/vendeur/200"))
                 .andExpect(status().isOk());
     }
 
     @Test
     void testCountTransactions() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/transactions/count"))
+        performAsync(get("/api/transactions/count"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isNumber());
     }
@@ -102,7 +105,7 @@ class TransactionControllerIntegrationTest {
     @Test
     void testGetAllTransactions() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/transactions/all"))
+        performAsync(get("/api/transactions/all"))
                 .andExpect(status().isOk());
     }
 
@@ -114,9 +117,36 @@ class TransactionControllerIntegrationTest {
         // Missing acheteurId
 
         // Act & Assert
-        mockMvc.perform(post("/api/transactions/acheter")
+        performAsync(post("/api/transactions/acheter")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void testAcheterDirect_InvalidIdempotencyKey() throws Exception {
+        // Arrange
+        Map<String, Long> request = new HashMap<>();
+        request.put("annonceId", 2L);
+        request.put("acheteurId", 100L);
+
+        // Act & Assert
+        performAsync(post("/api/transactions/acheter")
+                .header("Idempotency-Key", "x".repeat(101))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Idempotency-Key invalide"));
+    }
+
+    /**
+     * Les endpoints renvoient un CompletableFuture : on attend le démarrage
+     * asynchrone puis on rejoue la réponse via asyncDispatch
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -0,0 +1,39 @@
+package com.saf.transactionservice.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérifie avec EXPLAIN que chaque chemin de requête des repositories passe par
+ * un index plutôt que par un parcours complet de la table. Le schéma est celui
+ * des migrations Flyway, validé contre les entités au démarrage.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+@ActiveProfiles("test")
+class IndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT * FROM offres WHERE annonce_id = 1 AND statut = 'PENDING'",
+            "SELECT * FROM offres WHERE vendeur_id = 1 AND statut = 'PENDING'",
+            "SELECT * FROM offres WHERE acheteur_id = 1",
+            "SELECT * FROM transactions WHERE acheteur_id = 1",
+            "SELECT * FROM transactions WHERE vendeur_id = 1",
+            "SELECT * FROM transactions WHERE annonce_id = 1"
+    })
+    void testQueryUsesIndex(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        // H2 signale un parcours complet par "tableScan" dans le plan
+        assertFalse(plan.contains("tableScan"), () -> "Parcours complet :\n" + plan);
+    }
+}
@@ -1,5 +1,6 @@
 package com.saf.transactionservice.repository;
 
+import com.saf.transactionservice.dto.OffreRefuseeDTO;
 import com.saf.transactionservice.model.Offre;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -104,4 +105,39 @@ class OffreRepositoryIntegrationTest {
         assertEquals("New Album", saved.getAnnonceTitre());
         assertEquals("PENDING", saved.getStatut());
     }
+
+    @Test
+    void testRefuseCompetingOffers() {
+        // Arrange - deux offres concurrentes sur l'annonce 1, une sur une autre annonce
+        Offre concurrente1 = entityManager.persist(pending(1L, 110L));
+        Offre concurrente2 = entityManager.persist(pending(1L, 111L));
+        Offre autreAnnonce = entityManager.persist(pending(2L, 112L));
+        entityManager.flush();
+
+        // Act
+        List<OffreRefuseeDTO> refusees = offreRepository.refuseCompetingOffers(offre1);
+
+        // Assert
+        assertEquals(List.of(110L, 111L), refusees.stream().map(OffreRefuseeDTO::acheteurId).sorted().toList());
+        assertEquals(List.of(concurrente1.getId(), concurrente2.getId()),
+                refusees.stream().map(OffreRefuseeDTO::offreId).sorted().toList());
+        assertEquals("REFUSED", offreRepository.findById(concurrente1.getId()).orElseThrow().getStatut());
+        assertNotNull(offreRepository.findById(concurrente2.getId()).orElseThrow().getRespondedAt());
+        assertEquals("PENDING", offreRepository.findById(offre1.getId()).orElseThrow().getStatut());
+        assertEquals("PENDING", offreRepository.findById(autreAnnonce.getId()).orElseThrow().getStatut());
+
+        // Plus rien à refuser
+        assertTrue(offreRepository.refuseCompetingOffers(offre1).isEmpty());
+    }
+
+    private static Offre pending(Long annonceId, Long acheteurId) {
+        Offre offre = new Offre();
+        offre.setAnnonceId(annonceId);
+        offre.setAnnonceTitre("Album Test " + annonceId);
+        offre.setAcheteurId(acheteurId);
+        offre.setVendeurId(200L);
+        offre.setPrixPropose(new BigDecimal("20.00"));
+        offre.setStatut("PENDING");
+        return offre;
+    }
 }
@@ -5,10 +5,13 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByAcheteurId(Long acheteurId);
     List<Transaction> findByVendeurId(Long vendeurId);
     List<Transaction> findByAnnonceId(Long annonceId);
+
+    Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
 }
@@ -100,4 +100,16 @@ class TransactionRepositoryIntegrationTest {
         assertEquals("New Album", saved.getAnnonceTitre());
         assertEquals("PENDING", saved.getStatut());
     }
+
+    @Test
+    void testFindByIdempotencyKey() {
+        // Arrange
+        transaction1.setIdempotencyKey("achat-1");
+        entityManager.flush();
+
+        // Act & Assert
+        assertEquals(transaction1.getId(),
+                transactionRepository.findByIdempotencyKey("achat-1").orElseThrow().getId());
+        assertTrue(transactionRepository.findByIdempotencyKey("achat-2").isEmpty());
+    }
 }
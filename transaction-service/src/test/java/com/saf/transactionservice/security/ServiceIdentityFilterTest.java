@@ -0,0 +1,54 @@
+package com.saf.transactionservice.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceIdentityFilterTest {
+
+    private static final String PATH = "/actuator/metrics/actor.ask";
+
+    private final ServiceIdentity serviceIdentity = new ServiceIdentity("testGatewayIdentitySecret");
+    private final ServiceIdentityFilter filter = new ServiceIdentityFilter(serviceIdentity);
+
+    @Test
+    void testSignedCallReachesMetrics() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        MockHttpServletRequest request = request(now, serviceIdentity.sign("prometheus", "GET", PATH, null, now));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+    }
+
+    @Test
+    void testUnsignedOrForeignCallIsRejected() throws Exception {
+        long now = Instant.now().getEpochSecond();
+        String foreign = new ServiceIdentity("autreSecret").sign("prometheus", "GET", PATH, null, now);
+
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] {
+                new MockHttpServletRequest("GET", PATH), request(now, foreign) }) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(request, response, chain);
+
+            assertEquals(401, response.getStatus());
+            assertNull(chain.getRequest());
+        }
+    }
+
+    private static MockHttpServletRequest request(long timestamp, String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addHeader(ServiceIdentity.SERVICE, "prometheus");
+        request.addHeader(ServiceIdentity.TIMESTAMP, String.valueOf(timestamp));
+        request.addHeader(ServiceIdentity.SIGNATURE, signature);
+        return request;
+    }
+}
@@ -3,26 +3,44 @@ package com.saf.userservice.actor;
 import com.saf.core.Actor;
 import com.saf.core.ActorContext;
 import com.saf.core.Message;
+import com.saf.userservice.dto.PageCursor;
 import com.saf.userservice.actor.messages.AnnonceMessages.*;
 import com.saf.userservice.model.Annonce;
 import com.saf.userservice.model.User;
 import com.saf.userservice.repository.AnnonceRepository;
 import com.saf.userservice.repository.UserRepository;
+import com.saf.userservice.search.AnnonceSearchIndex;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Actor gérant les opérations sur les annonces avec résilience
  */
 public class AnnonceActor implements Actor {
 
+    private static final int EXPIRED_BATCH = 100;
+
     private final AnnonceRepository annonceRepository;
     private final UserRepository userRepository;
+    private final AnnonceSearchIndex searchIndex;
+    private final Duration reservationTtl;
 
-    public AnnonceActor(AnnonceRepository annonceRepository, UserRepository userRepository) {
+    public AnnonceActor(AnnonceRepository annonceRepository, UserRepository userRepository,
+            AnnonceSearchIndex searchIndex, Duration reservationTtl) {
         this.annonceRepository = annonceRepository;
         this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.reservationTtl = reservationTtl;
     }
 
     @Override
@@ -31,28 +49,38 @@ public class AnnonceActor implements Actor {
 
         try {
             if (payload instanceof CreateAnnonce msg) {
-                handleCreateAnnonce(msg, message);
+                handleCreateAnnonce(msg, message, context);
             } else if (payload instanceof GetAnnonce msg) {
                 handleGetAnnonce(msg, message);
             } else if (payload instanceof GetAllAnnoncesDisponibles msg) {
                 handleGetAllAnnoncesDisponibles(msg, message);
+            } else if (payload instanceof GetAnnoncesPage msg) {
+                handleGetAnnoncesPage(msg, message);
             } else if (payload instanceof SearchAnnonces msg) {
                 handleSearchAnnonces(msg, message);
             } else if (payload instanceof GetAnnoncesByGenre msg) {
                 handleGetAnnoncesByGenre(msg, message);
             } else if (payload instanceof UpdateAnnonce msg) {
-                handleUpdateAnnonce(msg, message);
+                handleUpdateAnnonce(msg, message, context);
             } else if (payload instanceof DeleteAnnonce msg) {
-                handleDeleteAnnonce(msg, message);
+                handleDeleteAnnonce(msg, message, context);
             } else if (payload instanceof MarkAnnonceAsUnavailable msg) {
-                handleMarkAsUnavailable(msg, message);
+                handleMarkAsUnavailable(msg, message, context);
+            } else if (payload instanceof ReserveAnnonce msg) {
+                handleReserveAnnonce(msg, message, context);
+            } else if (payload instanceof ConfirmAnnonce msg) {
+                handleConfirmAnnonce(msg, message);
+            } else if (payload instanceof ReleaseAnnonce msg) {
+                handleReleaseAnnonce(msg, message, context);
+            } else if (payload instanceof ReleaseExpiredReservations) {
+                handleReleaseExpiredReservations(message, context);
             }
         } catch (Exception e) {
             message.reply(new AnnonceOperationError("Erreur: " + e.getMessage()));
         }
     }
 
-    private void handleCreateAnnonce(CreateAnnonce msg, Message originalMessage) {
+    private void handleCreateAnnonce(CreateAnnonce msg, Message originalMessage, ActorContext context) {
         Annonce annonce = msg.annonce();
 
         if (annonce.getVendeurId() == null) {
@@ -70,6 +98,8 @@ public class AnnonceActor implements Actor {
         annonce.setVendeurUsername(vendeur.getUsername());
 
         Annonce saved = annonceRepository.save(annonce);
+        searchIndex.index(saved);
+        publishChange(context, saved.getId());
         originalMessage.reply(new AnnonceCreated(saved.getId()));
     }
 
@@ -85,12 +115,45 @@ public class AnnonceActor implements Actor {
     }
 
     private void handleGetAllAnnoncesDisponibles(GetAllAnnoncesDisponibles msg, Message originalMessage) {
-        List<Annonce> annonces = annonceRepository.findByDisponibleTrue();
+        Pageable limit = PageRequest.of(0, msg.limit(), Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        List<Annonce> annonces = annonceRepository.findByDisponibleTrue(limit);
         originalMessage.reply(new AnnoncesList(annonces));
     }
 
+    private void handleGetAnnoncesPage(GetAnnoncesPage msg, Message originalMessage) {
+        AnnonceFilter filter = msg.filter() != null ? msg.filter() : new AnnonceFilter(null, null, null, null);
+        PageCursor after = msg.after();
+        // Un élément de plus que demandé pour savoir s'il reste une page
+        Pageable limit = PageRequest.of(0, msg.size() + 1);
+
+        List<Annonce> annonces = msg.oldestFirst()
+                ? annonceRepository.findPageOldestFirst(filter.genre(), filter.etat(),
+                        filter.prixMin(), filter.prixMax(),
+                        after != null ? after.at() : null, after != null ? after.id() : null, limit)
+                : annonceRepository.findPageNewestFirst(filter.genre(), filter.etat(),
+                        filter.prixMin(), filter.prixMax(),
+                        after != null ? after.at() : null, after != null ? after.id() : null, limit);
+
+        PageCursor next = null;
+        if (annonces.size() > msg.size()) {
+            annonces = annonces.subList(0, msg.size());
+            Annonce last = annonces.get(annonces.size() - 1);
+            next = new PageCursor(last.getCreatedAt(), last.getId());
+        }
+        originalMessage.reply(new AnnoncesPage(annonces, next));
+    }
+
     private void handleSearchAnnonces(SearchAnnonces msg, Message originalMessage) {
-        List<Annonce> annonces = annonceRepository.findByTitreContainingIgnoreCase(msg.query());
+        // L'index donne les ids classés par pertinence, la base fournit les annonces.
+        // L'index ne voit que les écritures de cette instance : la disponibilité est revérifiée en base
+        List<Long> ids = searchIndex.search(msg.query());
+        Map<Long, Annonce> byId = annonceRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Annonce::getId, Function.identity()));
+        List<Annonce> annonces = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .filter(Annonce::isDisponible)
+                .toList();
         originalMessage.reply(new AnnoncesList(annonces));
     }
 
@@ -99,7 +162,7 @@ public class AnnonceActor implements Actor {
         originalMessage.reply(new AnnoncesList(annonces));
     }
 
-    private void handleUpdateAnnonce(UpdateAnnonce msg, Message originalMessage) {
+    private void handleUpdateAnnonce(UpdateAnnonce msg, Message originalMessage, ActorContext context) {
         Optional<Annonce> existingOpt = annonceRepository.findById(msg.annonceId());
 
         if (existingOpt.isEmpty()) {
@@ -129,15 +192,19 @@ public class AnnonceActor implements Actor {
         existing.setDisponible(update.isDisponible());
 
         annonceRepository.save(existing);
+        searchIndex.index(existing);
+        publishChange(context, existing.getId());
         originalMessage.reply(new AnnonceOperationSuccess("Annonce mise à jour"));
     }
 
-    private void handleDeleteAnnonce(DeleteAnnonce msg, Message originalMessage) {
+    private void handleDeleteAnnonce(DeleteAnnonce msg, Message originalMessage, ActorContext context) {
         annonceRepository.deleteById(msg.annonceId());
+        searchIndex.remove(msg.annonceId());
+        publishChange(context, msg.annonceId());
         originalMessage.reply(new AnnonceOperationSuccess("Annonce supprimée"));
     }
 
-    private void handleMarkAsUnavailable(MarkAnnonceAsUnavailable msg, Message originalMessage) {
+    private void handleMarkAsUnavailable(MarkAnnonceAsUnavailable msg, Message originalMessage, ActorContext context) {
         Optional<Annonce> annonceOpt = annonceRepository.findById(msg.annonceId());
 
         if (annonceOpt.isEmpty()) {
@@ -148,7 +215,85 @@ public class AnnonceActor implements Actor {
         Annonce annonce = annonceOpt.get();
         annonce.setDisponible(false);
         annonceRepository.save(annonce);
+        searchIndex.index(annonce);
+        publishChange(context, annonce.getId());
 
         originalMessage.reply(new AnnonceOperationSuccess("Annonce marquée comme indisponible"));
     }
+
+    /**
+     * Un seul UPDATE conditionnel : entre deux acheteurs (ou deux instances du
+     * transaction-service), seul le premier obtient la réservation. Elle expire
+     * après reservationTtl si elle n'est ni confirmée ni annulée.
+     */
+    private void handleReserveAnnonce(ReserveAnnonce msg, Message originalMessage, ActorContext context) {
+        LocalDateTime reservedUntil = LocalDateTime.now().plus(reservationTtl);
+        if (annonceRepository.reserve(msg.annonceId(), msg.expectedVersion(), msg.token(), reservedUntil) == 0) {
+            originalMessage.reply(annonceRepository.existsById(msg.annonceId())
+                    ? new AnnonceOperationError("Annonce non disponible")
+                    : new AnnonceNotFound(msg.annonceId()));
+            return;
+        }
+        publishChange(context, msg.annonceId());
+
+        annonceRepository.findById(msg.annonceId()).ifPresentOrElse(
+                annonce -> {
+                    searchIndex.index(annonce);
+                    originalMessage.reply(new AnnonceResult(annonce));
+                },
+                () -> originalMessage.reply(new AnnonceNotFound(msg.annonceId())));
+    }
+
+    private void handleConfirmAnnonce(ConfirmAnnonce msg, Message originalMessage) {
+        if (annonceRepository.confirm(msg.annonceId(), msg.token()) == 0) {
+            originalMessage.reply(new AnnonceOperationError("Réservation introuvable ou expirée"));
+            return;
+        }
+        originalMessage.reply(new AnnonceOperationSuccess("Réservation confirmée"));
+    }
+
+    private void handleReleaseAnnonce(ReleaseAnnonce msg, Message originalMessage, ActorContext context) {
+        if (annonceRepository.release(msg.annonceId(), msg.token()) > 0) {
+            reindex(msg.annonceId());
+            publishChange(context, msg.annonceId());
+        }
+        originalMessage.reply(new AnnonceOperationSuccess("Réservation annulée"));
+    }
+
+    /**
+     * Remet en vente les annonces dont la réservation a expiré (détenteur tombé
+     * ou injoignable), par lots
+     */
+    private void handleReleaseExpiredReservations(Message originalMessage, ActorContext context) {
+        LocalDateTime now = LocalDateTime.now();
+        int released = 0;
+        List<Long> expired;
+        do {
+            expired = annonceRepository.findExpiredReservationIds(now, PageRequest.of(0, EXPIRED_BATCH));
+            for (Long annonceId : expired) {
+                if (annonceRepository.releaseExpired(annonceId, now) > 0) {
+                    released++;
+                    reindex(annonceId);
+                    publishChange(context, annonceId);
+                }
+            }
+        } while (expired.size() == EXPIRED_BATCH);
+        originalMessage.reply(new AnnonceOperationSuccess(released + " réservation(s) expirée(s) libérée(s)"));
+    }
+
+    /**
+     * Remet l'annonce à jour dans l'index après un UPDATE direct en base
+     */
+    private void reindex(Long annonceId) {
+        annonceRepository.findById(annonceId).ifPresent(searchIndex::index);
+    }
+
+    /**
+     * Signale la modification sur l'EventBus (EdgeCacheActor prévient api-gateway)
+     */
+    private static void publishChange(ActorContext context, Long annonceId) {
+        if (context != null && context.getEventBus() != null) {
+            context.getEventBus().publish(new AnnonceChanged(annonceId));
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.saf.userservice.actor;
+
+import com.saf.core.Actor;
+import com.saf.core.ActorContext;
+import com.saf.core.Message;
+import com.saf.userservice.actor.messages.AnnonceMessages.AnnonceChanged;
+import com.saf.userservice.security.GatewayIdentity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * Actor qui prévient chaque instance d'api-gateway (découverte via Eureka)
+ * qu'une annonce a changé, pour qu'elle retire ses réponses de catalogue en cache.
+ * Alimenté par les AnnonceChanged de l'EventBus. Un échec est seulement
+ * journalisé : le TTL du cache de la passerelle borne la durée d'une réponse périmée.
+ */
+public class EdgeCacheActor implements Actor {
+
+    private static final Logger logger = LoggerFactory.getLogger(EdgeCacheActor.class);
+
+    static final String INVALIDATE_PATH = "/internal/edge-cache/invalidate";
+    static final String TIMESTAMP = "X-Edge-Cache-Timestamp";
+    static final String SIGNATURE = "X-Edge-Cache-Signature";
+
+    private final DiscoveryClient discoveryClient;
+    private final RestTemplate restTemplate;
+    private final GatewayIdentity gatewayIdentity;
+    private final String gatewayServiceId;
+
+    public EdgeCacheActor(DiscoveryClient discoveryClient, RestTemplate restTemplate,
+            GatewayIdentity gatewayIdentity, String gatewayServiceId) {
+        this.discoveryClient = discoveryClient;
+        this.restTemplate = restTemplate;
+        this.gatewayIdentity = gatewayIdentity;
+        this.gatewayServiceId = gatewayServiceId;
+    }
+
+    @Override
+    public void onReceive(Message message, ActorContext context) {
+        if (message.getPayload() instanceof AnnonceChanged event) {
+            invalidate(event.annonceId());
+        }
+    }
+
+    private void invalidate(Long annonceId) {
+        long timestamp = Instant.now().getEpochSecond();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(TIMESTAMP, String.valueOf(timestamp));
+        headers.set(SIGNATURE, gatewayIdentity.signForGateway("edge-cache\n" + annonceId + "\n" + timestamp));
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        for (ServiceInstance instance : discoveryClient.getInstances(gatewayServiceId)) {
+            URI uri = UriComponentsBuilder.fromUri(instance.getUri())
+                    .path(INVALIDATE_PATH)
+                    .queryParam("annonceId", annonceId)
+                    .build()
+                    .toUri();
+            try {
+                restTemplate.postForEntity(uri, request, Void.class);
+            } catch (RestClientException e) {
+                logger.warn("Invalidation du cache de {} impossible (annonce {}): {}",
+                        instance.getUri(), annonceId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.saf.userservice.actor;
+
+import com.saf.core.Actor;
+import com.saf.core.ActorContext;
+import com.saf.core.Message;
+import com.saf.userservice.push.SseEmitterRegistry;
+
+/**
+ * Actor qui pousse les événements temps réel vers les navigateurs connectés (SSE).
+ * Alimenté par l'EventBus du système d'acteurs : l'écriture sur les flux
+ * se fait hors des threads de requête et des transactions.
+ */
+public class PushActor implements Actor {
+
+    private final SseEmitterRegistry emitterRegistry;
+
+    public PushActor(SseEmitterRegistry emitterRegistry) {
+        this.emitterRegistry = emitterRegistry;
+    }
+
+    /**
+     * Événement destiné aux flux ouverts d'un utilisateur
+     */
+    public record PushEvent(Long userId, String name, Object data) {
+    }
+
+    @Override
+    public void onReceive(Message message, ActorContext context) {
+        if (message.getPayload() instanceof PushEvent event) {
+            emitterRegistry.deliver(event.userId(), event.name(), event.data());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.saf.userservice.actor;
 
+import com.saf.actorpool.MailboxOverflowException;
 import com.saf.core.Actor;
 import com.saf.core.ActorContext;
 import com.saf.core.ActorRef;
@@ -8,23 +9,35 @@ import com.saf.userservice.actor.messages.UserMessages;
 import com.saf.userservice.model.User;
 import com.saf.userservice.repository.UserRepository;
 import com.saf.userservice.security.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.saf.userservice.security.PasswordHashingPool;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 import java.time.LocalDateTime;
 
+/**
+ * Comptes utilisateurs. Le hachage BCrypt (login, inscription) est délégué au
+ * PasswordHashingPool : le worker traite d'autres messages (vérification d'email,
+ * GetUserById...) pendant qu'un mot de passe est haché, et la réponse est envoyée
+ * à la fin du hachage.
+ * La suite du login et de l'inscription (completeLogin, completeRegister) s'exécute
+ * donc sur un thread virtuel password-hash-callback- du PasswordHashingPool (pas sur
+ * ses threads de hachage), en parallèle des messages suivants du worker :
+ * elle ne doit toucher à aucun état de l'acteur.
+ */
 public class UserActor implements Actor {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingPool passwordHashingPool;
     private final JwtUtil jwtUtil;
     private final ActorRef emailActor;
 
-    public UserActor(UserRepository userRepository, PasswordEncoder passwordEncoder,
+    public UserActor(UserRepository userRepository, PasswordHashingPool passwordHashingPool,
             JwtUtil jwtUtil, ActorRef emailActor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingPool = passwordHashingPool;
         this.jwtUtil = jwtUtil;
         this.emailActor = emailActor;
     }
@@ -53,28 +66,47 @@ public class UserActor implements Actor {
                 return;
             }
 
-            User user = new User();
-            user.setUsername(msg.username());
-            user.setEmail(msg.email());
-            user.setPassword(passwordEncoder.encode(msg.password()));
-            user.setEmailVerified(false);
-            user.setVerificationToken(UUID.randomUUID().toString());
-            user.setTokenExpiryDate(LocalDateTime.now().plusHours(24));
-            user.setRole("USER");
+            passwordHashingPool.encode(msg.password())
+                    .thenAccept(hash -> completeRegister(msg, hash, originalMessage))
+                    .exceptionally(e -> replyFailure(originalMessage, e));
+        } catch (Exception e) {
+            originalMessage.reply(new UserMessages.UserOperationError("Erreur: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Fin de l'inscription, une fois le mot de passe haché. Si deux inscriptions
+     * se croisent, la contrainte unique de la table refuse la seconde : elle reçoit
+     * la même erreur que si la vérification préalable l'avait arrêtée.
+     */
+    private void completeRegister(UserMessages.RegisterUser msg, String passwordHash, Message originalMessage) {
+        User user = new User();
+        user.setUsername(msg.username());
+        user.setEmail(msg.email());
+        user.setPassword(passwordHash);
+        user.setEmailVerified(false);
+        user.setVerificationToken(UUID.randomUUID().toString());
+        user.setTokenExpiryDate(LocalDateTime.now().plusHours(24));
+        user.setRole("USER");
 
+        try {
             user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            originalMessage.reply(new UserMessages.UserOperationError(
+                    !userRepository.existsByEmail(msg.email()) && userRepository.existsByUsername(msg.username())
+                            ? "Nom d'utilisateur déjà utilisé"
+                            : "Email déjà utilisé"));
+            return;
+        }
 
-            // Envoyer email de vérification
-            String verificationLink = "http://localhost:8081/api/auth/verify?token=" + user.getVerificationToken();
-            emailActor.send(
-                    new com.saf.userservice.actor.EmailActor.SendVerificationEmail(user.getEmail(), user.getUsername(),
-                            user.getVerificationToken()),
-                    originalMessage.getSender());
+        // Envoyer email de vérification
+        String verificationLink = "http://localhost:8081/api/auth/verify?token=" + user.getVerificationToken();
+        emailActor.send(
+                new com.saf.userservice.actor.EmailActor.SendVerificationEmail(user.getEmail(), user.getUsername(),
+                        user.getVerificationToken()),
+                originalMessage.getSender());
 
-            originalMessage.reply(new UserMessages.UserRegistered(user.getId(), user.getUsername(), true));
-        } catch (Exception e) {
-            originalMessage.reply(new UserMessages.UserOperationError("Erreur: " + e.getMessage()));
-        }
+        originalMessage.reply(new UserMessages.UserRegistered(user.getId(), user.getUsername(), true));
     }
 
     private void handleLogin(UserMessages.Login msg, Message originalMessage) {
@@ -89,31 +121,51 @@ public class UserActor implements Actor {
 
             User user = userOpt.get();
 
-            if (!passwordEncoder.matches(msg.password(), user.getPassword())) {
-                originalMessage
-                        .reply(new UserMessages.UserOperationError("Nom d'utilisateur ou mot de passe incorrect"));
-                return;
-            }
+            passwordHashingPool.matches(msg.password(), user.getPassword())
+                    .thenAccept(matches -> completeLogin(user, matches, originalMessage))
+                    .exceptionally(e -> replyFailure(originalMessage, e));
+        } catch (Exception e) {
+            originalMessage.reply(new UserMessages.UserOperationError("Erreur: " + e.getMessage()));
+        }
+    }
 
-            if (!user.isEmailVerified()) {
-                originalMessage.reply(new UserMessages.UserOperationError("Veuillez vérifier votre email"));
-                return;
-            }
+    private void completeLogin(User user, boolean passwordMatches, Message originalMessage) {
+        if (!passwordMatches) {
+            originalMessage
+                    .reply(new UserMessages.UserOperationError("Nom d'utilisateur ou mot de passe incorrect"));
+            return;
+        }
 
-            // Refuser la connexion si l'utilisateur est banni
-            if (user.isBanned()) {
-                String reason = user.getBannedReason();
-                String msgText = "Compte banni" + (reason != null && !reason.isBlank() ? (": " + reason) : "");
-                originalMessage.reply(new UserMessages.UserOperationError(msgText));
-                return;
-            }
+        if (!user.isEmailVerified()) {
+            originalMessage.reply(new UserMessages.UserOperationError("Veuillez vérifier votre email"));
+            return;
+        }
 
-            String token = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
-            originalMessage
-                    .reply(new UserMessages.LoginSuccess(token, user.getId(), user.getUsername(), user.getRole()));
-        } catch (Exception e) {
-            originalMessage.reply(new UserMessages.UserOperationError("Erreur: " + e.getMessage()));
+        // Refuser la connexion si l'utilisateur est banni
+        if (user.isBanned()) {
+            String reason = user.getBannedReason();
+            String msgText = "Compte banni" + (reason != null && !reason.isBlank() ? (": " + reason) : "");
+            originalMessage.reply(new UserMessages.UserOperationError(msgText));
+            return;
+        }
+
+        String token = jwtUtil.generateToken(user.getUsername(), user.getId(), user.getRole());
+        originalMessage
+                .reply(new UserMessages.LoginSuccess(token, user.getId(), user.getUsername(), user.getRole()));
+    }
+
+    /**
+     * Pool de hachage saturé : l'ask échoue en MailboxOverflowException (HTTP 503) ;
+     * toute autre erreur est renvoyée comme une erreur métier
+     */
+    private static Void replyFailure(Message originalMessage, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (MailboxOverflowException.isCause(cause)) {
+            originalMessage.replyWithError(cause);
+        } else {
+            originalMessage.reply(new UserMessages.UserOperationError("Erreur: " + cause.getMessage()));
         }
+        return null;
     }
 
     private void handleVerifyEmail(UserMessages.VerifyEmail msg, Message originalMessage) {
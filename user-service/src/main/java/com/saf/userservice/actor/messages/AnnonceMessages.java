@@ -1,6 +1,9 @@
 package com.saf.userservice.actor.messages;
 
+import com.saf.userservice.dto.PageCursor;
 import com.saf.userservice.model.Annonce;
+
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -15,7 +18,22 @@ public class AnnonceMessages {
     public record GetAnnonce(Long annonceId) {
     }
 
-    public record GetAllAnnoncesDisponibles() {
+    /**
+     * Liste non paginée, plafonnée à limit annonces (les plus récentes)
+     */
+    public record GetAllAnnoncesDisponibles(int limit) {
+    }
+
+    /**
+     * Critères optionnels de la pagination ; null = pas de filtre
+     */
+    public record AnnonceFilter(String genre, String etat, BigDecimal prixMin, BigDecimal prixMax) {
+    }
+
+    /**
+     * Page d'annonces disponibles après le curseur (null = première page)
+     */
+    public record GetAnnoncesPage(AnnonceFilter filter, PageCursor after, boolean oldestFirst, int size) {
     }
 
     public record SearchAnnonces(String query) {
@@ -33,6 +51,26 @@ public class AnnonceMessages {
     public record MarkAnnonceAsUnavailable(Long annonceId) {
     }
 
+    /**
+     * Réserve l'annonce pour un achat ; expectedVersion (facultative) est la
+     * version lue par l'acheteur, la réservation échoue si elle a changé.
+     * token, choisi par l'appelant, est exigé pour confirmer ou annuler.
+     */
+    public record ReserveAnnonce(Long annonceId, Long expectedVersion, String token) {
+    }
+
+    public record ConfirmAnnonce(Long annonceId, String token) {
+    }
+
+    public record ReleaseAnnonce(Long annonceId, String token) {
+    }
+
+    /**
+     * Libère les réservations échues (ReservationReaper)
+     */
+    public record ReleaseExpiredReservations() {
+    }
+
     // Réponses
     public record AnnonceCreated(Long annonceId) {
     }
@@ -43,9 +81,55 @@ public class AnnonceMessages {
     public record AnnoncesList(List<Annonce> annonces) {
     }
 
+    /**
+     * next vaut null sur la dernière page
+     */
+    public record AnnoncesPage(List<Annonce> annonces, PageCursor next) {
+    }
+
     public record AnnonceOperationSuccess(String message) {
     }
 
     public record AnnonceOperationError(String error) {
     }
+
+    /**
+     * L'annonce n'existe pas (HTTP 404), à distinguer d'un refus métier
+     */
+    public record AnnonceNotFound(Long annonceId) {
+    }
+
+    // Événements
+    /**
+     * Publié sur l'EventBus après toute écriture sur une annonce (création,
+     * modification, suppression, réservation...)
+     */
+    public record AnnonceChanged(Long annonceId) {
+    }
+
+    /**
+     * Clé de routage pour le pool d'acteurs : toutes les commandes visant une
+     * même annonce passent par le même worker. Les lectures de catalogue n'ont
+     * pas de clé et sont réparties librement.
+     */
+    public static Object routingKey(Object payload) {
+        if (payload instanceof GetAnnonce msg) {
+            return msg.annonceId();
+        } else if (payload instanceof UpdateAnnonce msg) {
+            return msg.annonceId();
+        } else if (payload instanceof DeleteAnnonce msg) {
+            return msg.annonceId();
+        } else if (payload instanceof MarkAnnonceAsUnavailable msg) {
+            return msg.annonceId();
+        } else if (payload instanceof ReserveAnnonce msg) {
+            return msg.annonceId();
+        } else if (payload instanceof ConfirmAnnonce msg) {
+            return msg.annonceId();
+        } else if (payload instanceof ReleaseAnnonce msg) {
+            return msg.annonceId();
+        } else if (payload instanceof CreateAnnonce msg && msg.annonce() != null) {
+            return msg.annonce().getVendeurId();
+        }
+        return null;
+    }
 }
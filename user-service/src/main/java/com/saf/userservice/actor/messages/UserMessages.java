@@ -46,4 +46,23 @@ public class UserMessages {
 
     public record SendNotificationEmail(String to, String subject, String body) {
     }
+
+    /**
+     * Clé de routage pour le pool d'acteurs : les opérations sur un même
+     * compte (même email, même username, même id) restent ordonnées.
+     */
+    public static Object routingKey(Object payload) {
+        if (payload instanceof RegisterUser msg) {
+            return msg.email();
+        } else if (payload instanceof Login msg) {
+            return msg.username();
+        } else if (payload instanceof VerifyEmail msg) {
+            return msg.token();
+        } else if (payload instanceof ResendVerification msg) {
+            return msg.email();
+        } else if (payload instanceof GetUserById msg) {
+            return msg.userId();
+        }
+        return null;
+    }
 }
@@ -1,22 +1,48 @@
 package com.saf.userservice.config;
 
+import com.saf.actorpool.ActorPool;
+import com.saf.actorpool.Dispatcher;
+import com.saf.actorpool.MailboxOverflow;
+import com.saf.actorpool.PoolActorSystem;
+import com.saf.core.ActorProps;
 import com.saf.core.ActorSystem;
 import com.saf.core.ActorRef;
 import com.saf.userservice.actor.AnnonceActor;
+import com.saf.userservice.actor.EdgeCacheActor;
 import com.saf.userservice.actor.EmailActor;
+import com.saf.userservice.actor.PushActor;
+import com.saf.userservice.actor.PushActor.PushEvent;
 import com.saf.userservice.actor.UserActor;
+import com.saf.userservice.actor.messages.AnnonceMessages;
+import com.saf.userservice.actor.messages.AnnonceMessages.AnnonceChanged;
+import com.saf.userservice.actor.messages.UserMessages;
+import com.saf.userservice.push.SseEmitterRegistry;
 import com.saf.userservice.repository.AnnonceRepository;
 import com.saf.userservice.repository.UserRepository;
+import com.saf.userservice.search.AnnonceSearchIndex;
+import com.saf.userservice.security.GatewayIdentity;
 import com.saf.userservice.security.JwtUtil;
+import com.saf.userservice.security.PasswordHashingPool;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
 
 /**
  * Configuration du système d'acteurs
  * Initialise tous les acteurs avec supervision et résilience
+ * Les acteurs métier sont déployés en pools dimensionnés par configuration
+ * (actor.system.pools.*) et routés par clé d'entité, sur le dispatcher
+ * choisi par rôle (default ou virtual)
+ * Chaque worker a une boîte aux lettres bornée (mailbox-capacity) ; au-delà,
+ * la politique overflow (reject, drop-oldest, block) s'applique
+ * Les pools publient leurs métriques (actor.*) dans le MeterRegistry d'Actuator
  */
 @Configuration
 public class ActorSystemConfig {
@@ -24,9 +50,45 @@ public class ActorSystemConfig {
     @Value("${spring.mail.username:noreply@marketplace.com}")
     private String fromEmail;
 
+    @Value("${actor.system.pools.user.size:4}")
+    private int userPoolSize;
+
+    @Value("${actor.system.pools.user.dispatcher:virtual}")
+    private String userDispatcher;
+
+    @Value("${actor.system.pools.annonce.size:4}")
+    private int annoncePoolSize;
+
+    @Value("${actor.system.pools.annonce.dispatcher:virtual}")
+    private String annonceDispatcher;
+
+    @Value("${actor.system.pools.user.mailbox-capacity:1000}")
+    private int userMailboxCapacity;
+
+    @Value("${actor.system.pools.user.overflow:reject}")
+    private String userOverflow;
+
+    @Value("${actor.system.pools.annonce.mailbox-capacity:1000}")
+    private int annonceMailboxCapacity;
+
+    @Value("${actor.system.pools.annonce.overflow:reject}")
+    private String annonceOverflow;
+
+    @Value("${actor.system.mailbox.block-timeout-ms:200}")
+    private long blockTimeoutMs;
+
+    @Value("${annonces.reservation.ttl:2m}")
+    private Duration reservationTtl;
+
+    @Value("${edge-cache.gateway-service-id:api-gateway}")
+    private String gatewayServiceId;
+
+    @Value("${edge-cache.timeout-ms:1000}")
+    private long edgeCacheTimeoutMs;
+
     @Bean
-    public ActorSystem actorSystem() {
-        return new ActorSystem();
+    public PoolActorSystem actorSystem() {
+        return new PoolActorSystem();
     }
 
     @Bean
@@ -35,21 +97,62 @@ public class ActorSystemConfig {
                 () -> new EmailActor(mailSender, fromEmail));
     }
 
+    /**
+     * Relais SSE : abonné aux PushEvent de l'EventBus
+     */
+    @Bean
+    public ActorRef pushActor(ActorSystem actorSystem, SseEmitterRegistry sseEmitterRegistry) {
+        ActorRef pushActor = actorSystem.createActor("pushActor",
+                () -> new PushActor(sseEmitterRegistry));
+        actorSystem.getEventBus().subscribe(PushEvent.class, pushActor, event -> pushActor.send(event, null));
+        return pushActor;
+    }
+
+    /**
+     * Invalidation du cache de catalogue d'api-gateway : abonné aux AnnonceChanged
+     * de l'EventBus. Appels HTTP bornés par edge-cache.timeout-ms.
+     */
     @Bean
-    public ActorRef userActor(ActorSystem actorSystem,
+    public ActorRef edgeCacheActor(ActorSystem actorSystem,
+            DiscoveryClient discoveryClient,
+            RestTemplateBuilder restTemplateBuilder,
+            GatewayIdentity gatewayIdentity) {
+        Duration timeout = Duration.ofMillis(edgeCacheTimeoutMs);
+        RestTemplate restTemplate = restTemplateBuilder.setConnectTimeout(timeout).setReadTimeout(timeout).build();
+        ActorRef edgeCacheActor = actorSystem.createActor("edgeCacheActor",
+                () -> new EdgeCacheActor(discoveryClient, restTemplate, gatewayIdentity, gatewayServiceId));
+        actorSystem.getEventBus().subscribe(AnnonceChanged.class, edgeCacheActor,
+                event -> edgeCacheActor.send(event, null));
+        return edgeCacheActor;
+    }
+
+    @Bean
+    public ActorRef userActor(PoolActorSystem actorSystem,
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingPool passwordHashingPool,
             JwtUtil jwtUtil,
-            ActorRef emailActor) {
-        return actorSystem.createActor("userActor",
-                () -> new UserActor(userRepository, passwordEncoder, jwtUtil, emailActor));
+            ActorRef emailActor,
+            MeterRegistry meterRegistry) {
+        return ActorPool.create(actorSystem, "userActor", userPoolSize, Dispatcher.of(userDispatcher),
+                ActorProps.create(() -> new UserActor(userRepository, passwordHashingPool, jwtUtil, emailActor))
+                        .withMailboxCapacity(userMailboxCapacity),
+                MailboxOverflow.of(userOverflow, blockTimeoutMs),
+                UserMessages::routingKey,
+                meterRegistry);
     }
 
     @Bean
-    public ActorRef annonceActor(ActorSystem actorSystem,
+    public ActorRef annonceActor(PoolActorSystem actorSystem,
             AnnonceRepository annonceRepository,
-            UserRepository userRepository) {
-        return actorSystem.createActor("annonceActor",
-                () -> new AnnonceActor(annonceRepository, userRepository));
+            UserRepository userRepository,
+            AnnonceSearchIndex annonceSearchIndex,
+            MeterRegistry meterRegistry) {
+        return ActorPool.create(actorSystem, "annonceActor", annoncePoolSize, Dispatcher.of(annonceDispatcher),
+                ActorProps.create(() -> new AnnonceActor(annonceRepository, userRepository, annonceSearchIndex,
+                        reservationTtl))
+                        .withMailboxCapacity(annonceMailboxCapacity),
+                MailboxOverflow.of(annonceOverflow, blockTimeoutMs),
+                AnnonceMessages::routingKey,
+                meterRegistry);
     }
 }
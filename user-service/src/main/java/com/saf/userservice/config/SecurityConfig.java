@@ -1,13 +1,19 @@
 package com.saf.userservice.config;
 
+import com.saf.userservice.security.JwtUtil;
+import com.saf.userservice.security.ServiceIdentity;
+import com.saf.userservice.security.ServiceIdentityFilter;
+import com.saf.userservice.security.UserIdentityFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -30,15 +36,28 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ServiceIdentity serviceIdentity, JwtUtil jwtUtil)
+            throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new ServiceIdentityFilter(serviceIdentity), UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new UserIdentityFilter(jwtUtil), ServiceIdentityFilter.class)
                 .authorizeHttpRequests(auth -> auth
+                        // Réservations d'annonces : appels signés du transaction-service uniquement
+                        .requestMatchers(HttpMethod.PUT, "/api/annonces/*/reserve", "/api/annonces/*/confirm",
+                                "/api/annonces/*/release")
+                        .hasRole("SERVICE")
+                        // Notifications par lots : envoyées par le transaction-service uniquement
+                        .requestMatchers(HttpMethod.POST, "/api/notifications/batch")
+                        .hasRole("SERVICE")
+                        // Métriques des acteurs : administrateur ou appel de service signé (collecteur)
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**")
+                        .hasAnyRole("ADMIN", "SERVICE")
                         .requestMatchers("/api/auth/**", "/api/annonces/**", "/api/users/**", "/api/uploads/**",
-                                "/api/reviews/**", "/api/notifications/**", "/api/messages/**", "/api/admin/**",
-                                "/uploads/**",
+                                "/api/reviews/**", "/api/notifications/**", "/api/messages/**", "/api/admin/**", "/api/push/**",
+                                "/uploads/**", "/actuator/health",
                                 "/*.html", "/*.css", "/*.js", "/")
                         .permitAll()
                         .anyRequest().authenticated());
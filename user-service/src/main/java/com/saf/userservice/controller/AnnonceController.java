@@ -1,16 +1,21 @@
 package com.saf.userservice.controller;
 
+import com.saf.actorpool.web.ActorReplies;
 import com.saf.core.ActorRef;
 import com.saf.userservice.actor.messages.AnnonceMessages.*;
+import com.saf.userservice.dto.PageCursor;
 import com.saf.userservice.model.Annonce;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/annonces")
@@ -20,132 +25,207 @@ public class AnnonceController {
     @Autowired
     private ActorRef annonceActor;
 
-    @GetMapping
-    public ResponseEntity<?> getAllAnnonces() {
-        try {
-            Object response = annonceActor.ask(
-                    new GetAllAnnoncesDisponibles(),
-                    Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+    @Value("${annonces.list.max-size:500}")
+    private int listMaxSize;
 
-            if (response instanceof AnnoncesList result) {
-                return ResponseEntity.ok(result.annonces());
-            }
+    @Value("${annonces.page.default-size:20}")
+    private int pageDefaultSize;
 
-            return ResponseEntity.ok(List.of());
+    @Value("${annonces.page.max-size:100}")
+    private int pageMaxSize;
 
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+    /**
+     * Catalogue non paginé (anciens clients), plafonné à annonces.list.max-size.
+     * Préférer /page.
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<?>> getAllAnnonces() {
+        return annonceActor.ask(new GetAllAnnoncesDisponibles(listMaxSize), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnoncesList result) {
+                        return ResponseEntity.ok(result.annonces());
+                    }
+
+                    return ResponseEntity.ok(List.of());
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<?> getAnnonceById(@PathVariable Long id) {
+    /**
+     * Catalogue paginé par curseur : renvoyer nextCursor tel quel pour la page suivante.
+     * sort : recent (défaut) ou ancien.
+     */
+    @GetMapping("/page")
+    public CompletableFuture<ResponseEntity<?>> getAnnoncesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "recent") String sort,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String etat,
+            @RequestParam(required = false) BigDecimal prixMin,
+            @RequestParam(required = false) BigDecimal prixMax) {
+        PageCursor after;
         try {
-            Object response = annonceActor.ask(new GetAnnonce(id), Duration.ofSeconds(5))
-                    .get(5, TimeUnit.SECONDS);
-
-            if (response instanceof AnnonceResult result) {
-                return ResponseEntity.ok(result.annonce());
-            } else if (response instanceof AnnonceOperationError error) {
-                return ResponseEntity.notFound().build();
-            }
-
-            return ResponseEntity.notFound().build();
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
+            after = cursor != null && !cursor.isBlank() ? PageCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
         }
+        int pageSize = Math.max(1, Math.min(size != null ? size : pageDefaultSize, pageMaxSize));
+        GetAnnoncesPage query = new GetAnnoncesPage(new AnnonceFilter(genre, etat, prixMin, prixMax),
+                after, "ancien".equalsIgnoreCase(sort), pageSize);
+
+        return annonceActor.ask(query, Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnoncesPage page) {
+                        Map<String, Object> body = new HashMap<>();
+                        body.put("annonces", page.annonces());
+                        body.put("nextCursor", page.next() != null ? page.next().encode() : null);
+                        return ResponseEntity.ok(body);
+                    } else if (response instanceof AnnonceOperationError error) {
+                        return ResponseEntity.status(500).body(Map.of("error", error.error()));
+                    }
+
+                    return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
     }
 
-    @GetMapping("/search")
-    public ResponseEntity<?> searchAnnonces(@RequestParam String q) {
-        try {
-            Object response = annonceActor.ask(new SearchAnnonces(q), Duration.ofSeconds(5))
-                    .get(5, TimeUnit.SECONDS);
-
-            if (response instanceof AnnoncesList result) {
-                return ResponseEntity.ok(result.annonces());
-            }
-
-            return ResponseEntity.ok(List.of());
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<?>> getAnnonceById(@PathVariable Long id) {
+        return annonceActor.ask(new GetAnnonce(id), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnonceResult result) {
+                        return ResponseEntity.ok(result.annonce());
+                    }
+
+                    return ResponseEntity.notFound().build();
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<?>> searchAnnonces(@RequestParam String q) {
+        return annonceActor.ask(new SearchAnnonces(q), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnoncesList result) {
+                        return ResponseEntity.ok(result.annonces());
+                    }
+
+                    return ResponseEntity.ok(List.of());
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
     }
 
     @GetMapping("/genre/{genre}")
-    public ResponseEntity<?> getAnnoncesByGenre(@PathVariable String genre) {
-        try {
-            Object response = annonceActor.ask(new GetAnnoncesByGenre(genre), Duration.ofSeconds(5))
-                    .get(5, TimeUnit.SECONDS);
-
-            if (response instanceof AnnoncesList result) {
-                return ResponseEntity.ok(result.annonces());
-            }
-
-            return ResponseEntity.ok(List.of());
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+    public CompletableFuture<ResponseEntity<?>> getAnnoncesByGenre(@PathVariable String genre) {
+        return annonceActor.ask(new GetAnnoncesByGenre(genre), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnoncesList result) {
+                        return ResponseEntity.ok(result.annonces());
+                    }
+
+                    return ResponseEntity.ok(List.of());
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
     }
 
     @PostMapping
-    public ResponseEntity<?> createAnnonce(@RequestBody Annonce annonce) {
-        try {
-            Object response = annonceActor.ask(new CreateAnnonce(annonce), Duration.ofSeconds(5))
-                    .get(5, TimeUnit.SECONDS);
-
-            if (response instanceof AnnonceCreated result) {
-                return ResponseEntity.ok(Map.of(
-                        "message", "Annonce créée avec succès",
-                        "annonceId", result.annonceId()));
-            } else if (response instanceof AnnonceOperationError error) {
-                return ResponseEntity.badRequest().body(Map.of("error", error.error()));
-            }
-
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur: " + e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<?>> createAnnonce(@RequestBody Annonce annonce) {
+        return annonceActor.ask(new CreateAnnonce(annonce), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnonceCreated result) {
+                        return ResponseEntity.ok(Map.of(
+                                "message", "Annonce créée avec succès",
+                                "annonceId", result.annonceId()));
+                    } else if (response instanceof AnnonceOperationError error) {
+                        return ResponseEntity.badRequest().body(Map.of("error", error.error()));
+                    }
+
+                    return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur: " + e.getMessage()));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateAnnonce(@PathVariable Long id, @RequestBody Annonce annonce) {
-        try {
-            Object response = annonceActor.ask(
-                    new UpdateAnnonce(id, annonce),
-                    Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS);
+    public CompletableFuture<ResponseEntity<?>> updateAnnonce(@PathVariable Long id, @RequestBody Annonce annonce) {
+        return annonceActor.ask(new UpdateAnnonce(id, annonce), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnonceOperationSuccess result) {
+                        return ResponseEntity.ok(Map.of("message", result.message()));
+                    } else if (response instanceof AnnonceOperationError error) {
+                        return ResponseEntity.badRequest().body(Map.of("error", error.error()));
+                    }
+
+                    return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
+    }
 
-            if (response instanceof AnnonceOperationSuccess result) {
-                return ResponseEntity.ok(Map.of("message", result.message()));
-            } else if (response instanceof AnnonceOperationError error) {
-                return ResponseEntity.badRequest().body(Map.of("error", error.error()));
-            }
+    /**
+     * Réservation d'une annonce par le transaction-service avant un achat, sous le
+     * jeton qu'il fournit (appel de service signé, voir ServiceIdentity).
+     * 404 si elle n'existe pas, 409 si elle est déjà réservée ou vendue, ou si sa version a changé.
+     */
+    @PutMapping("/{id}/reserve")
+    public CompletableFuture<ResponseEntity<?>> reserveAnnonce(@PathVariable Long id,
+            @RequestParam(required = false) Long version,
+            @RequestParam String token) {
+        return annonceActor.ask(new ReserveAnnonce(id, version, token), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnonceResult result) {
+                        return ResponseEntity.ok(result.annonce());
+                    } else if (response instanceof AnnonceNotFound) {
+                        return ResponseEntity.status(404).body(Map.of("error", "Annonce introuvable"));
+                    } else if (response instanceof AnnonceOperationError error) {
+                        return ResponseEntity.status(409).body(Map.of("error", error.error()));
+                    }
+
+                    return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
+    }
 
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
+    /**
+     * Vente conclue : la réservation n'expire plus. 409 si elle a déjà expiré.
+     */
+    @PutMapping("/{id}/confirm")
+    public CompletableFuture<ResponseEntity<?>> confirmAnnonce(@PathVariable Long id, @RequestParam String token) {
+        return annonceActor.ask(new ConfirmAnnonce(id, token), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnonceOperationSuccess result) {
+                        return ResponseEntity.ok(Map.of("message", result.message()));
+                    } else if (response instanceof AnnonceOperationError error) {
+                        return ResponseEntity.status(409).body(Map.of("error", error.error()));
+                    }
+
+                    return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
+    }
 
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+    @PutMapping("/{id}/release")
+    public CompletableFuture<ResponseEntity<?>> releaseAnnonce(@PathVariable Long id, @RequestParam String token) {
+        return annonceActor.ask(new ReleaseAnnonce(id, token), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnonceOperationSuccess result) {
+                        return ResponseEntity.ok(Map.of("message", result.message()));
+                    }
+
+                    return ResponseEntity.status(500).body(Map.of("error", "Erreur inconnue"));
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteAnnonce(@PathVariable Long id) {
-        try {
-            Object response = annonceActor.ask(new DeleteAnnonce(id), Duration.ofSeconds(5))
-                    .get(5, TimeUnit.SECONDS);
-
-            if (response instanceof AnnonceOperationSuccess result) {
-                return ResponseEntity.ok(Map.of("message", result.message()));
-            }
-
-            return ResponseEntity.ok(Map.of("message", "Annonce supprimée"));
-
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of("error", "Erreur serveur"));
-        }
+    public CompletableFuture<ResponseEntity<?>> deleteAnnonce(@PathVariable Long id) {
+        return annonceActor.ask(new DeleteAnnonce(id), Duration.ofSeconds(5))
+                .<ResponseEntity<?>>thenApply(response -> {
+                    if (response instanceof AnnonceOperationSuccess result) {
+                        return ResponseEntity.ok(Map.of("message", result.message()));
+                    }
+
+                    return ResponseEntity.ok(Map.of("message", "Annonce supprimée"));
+                })
+                .exceptionally(e -> ActorReplies.failure(e, "Erreur serveur"));
     }
 }
@@ -2,10 +2,14 @@ package com.saf.userservice.controller;
 
 import com.saf.userservice.dto.ConversationDTO;
 import com.saf.userservice.dto.MessageDTO;
+import com.saf.userservice.dto.MessagePageDTO;
+import com.saf.userservice.dto.PageCursor;
 import com.saf.userservice.dto.SendMessageRequest;
+import com.saf.userservice.security.JwtClaims;
 import com.saf.userservice.security.JwtUtil;
 import com.saf.userservice.service.MessageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -30,16 +34,21 @@ public class MessageController {
     @Autowired
     private JwtUtil jwtUtil;
     
+    @Value("${messages.page.default-size:30}")
+    private int pageDefaultSize;
+    
+    @Value("${messages.page.max-size:100}")
+    private int pageMaxSize;
+    
     private static final String UPLOAD_DIR = "uploads/messages/";
     
     /**
-     * Extraire l'userId du token JWT
+     * Extraire l'userId du token JWT (vérifié une seule fois par requête)
      */
     private Long getUserIdFromToken(jakarta.servlet.http.HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
-            return jwtUtil.extractUserId(token);
+        JwtClaims claims = jwtUtil.parse(request);
+        if (claims != null) {
+            return claims.userId();
         }
         throw new RuntimeException("Token non trouvé");
     }
@@ -142,17 +151,45 @@ public class MessageController {
     }
     
     /**
-     * Obtenir les messages d'une conversation
+     * Obtenir les derniers messages d'une conversation (au plus messages.page.max-size)
      * GET /api/messages/conversation/{conversationId}
+     * Remplacé par /conversation/{conversationId}/page, qui permet de remonter l'historique
      */
+    @Deprecated
     @GetMapping("/conversation/{conversationId}")
     public ResponseEntity<?> getConversationMessages(
             @PathVariable Long conversationId,
             jakarta.servlet.http.HttpServletRequest httpRequest) {
         try {
             Long userId = getUserIdFromToken(httpRequest);
-            List<MessageDTO> messages = messageService.getConversationMessages(conversationId, userId);
-            return ResponseEntity.ok(messages);
+            MessagePageDTO page = messageService.getConversationMessagesPage(conversationId, userId, null, pageMaxSize);
+            return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header("Link", "</api/messages/conversation/" + conversationId + "/page>; rel=\"successor-version\"")
+                .body(page.messages());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Obtenir l'historique d'une conversation page par page, des plus récents aux plus anciens.
+     * Passer nextCursor en paramètre before pour charger les messages précédents.
+     * GET /api/messages/conversation/{conversationId}/page?before=...&size=...
+     */
+    @GetMapping("/conversation/{conversationId}/page")
+    public ResponseEntity<?> getConversationMessagesPage(
+            @PathVariable Long conversationId,
+            @RequestParam(required = false) String before,
+            @RequestParam(required = false) Integer size,
+            jakarta.servlet.http.HttpServletRequest httpRequest) {
+        try {
+            Long userId = getUserIdFromToken(httpRequest);
+            PageCursor cursor = before != null && !before.isBlank() ? PageCursor.decode(before) : null;
+            int pageSize = Math.max(1, Math.min(size != null ? size : pageDefaultSize, pageMaxSize));
+            MessagePageDTO page = messageService.getConversationMessagesPage(conversationId, userId, cursor, pageSize);
+            return ResponseEntity.ok(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
@@ -169,8 +206,10 @@ public class MessageController {
             jakarta.servlet.http.HttpServletRequest httpRequest) {
         try {
             Long userId = getUserIdFromToken(httpRequest);
-            messageService.markConversationAsRead(conversationId, userId);
-            return ResponseEntity.ok(Map.of("message", "Conversation marquée comme lue"));
+            int count = messageService.markConversationAsRead(conversationId, userId);
+            return ResponseEntity.ok(Map.of(
+                "message", "Conversation marquée comme lue",
+                "count", count));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
@@ -2,7 +2,9 @@ package com.saf.userservice.controller;
 
 import com.saf.userservice.model.Notification;
 import com.saf.userservice.repository.NotificationRepository;
+import com.saf.userservice.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,11 +19,17 @@ public class NotificationController {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationService notificationService;
+
+    @Value("${notifications.batch.max-size:50}")
+    private int batchMaxSize;
+
     // Créer une notification
     @PostMapping
     public ResponseEntity<?> createNotification(@RequestBody Notification notification) {
         try {
-            Notification saved = notificationRepository.save(notification);
+            Notification saved = notificationService.createNotification(notification);
             return ResponseEntity.ok(Map.of(
                     "message", "Notification créée",
                     "notification", saved));
@@ -31,6 +39,24 @@ public class NotificationController {
         }
     }
 
+    // Créer un lot de notifications (une requête, une transaction)
+    @PostMapping("/batch")
+    public ResponseEntity<?> createNotifications(@RequestBody List<Notification> notifications) {
+        if (notifications.size() > batchMaxSize) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Lot limité à " + batchMaxSize + " notifications"));
+        }
+        try {
+            List<Notification> saved = notificationService.createNotifications(notifications);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Notifications créées",
+                    "count", saved.size()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(Map.of("error", "Erreur lors de la création des notifications"));
+        }
+    }
+
     // Récupérer toutes les notifications d'un utilisateur
     @GetMapping("/user/{userId}")
     public ResponseEntity<?> getUserNotifications(@PathVariable Long userId) {
@@ -60,7 +86,7 @@ public class NotificationController {
     @GetMapping("/user/{userId}/unread/count")
     public ResponseEntity<?> getUnreadCount(@PathVariable Long userId) {
         try {
-            Long count = notificationRepository.countByUserIdAndIsReadFalse(userId);
+            long count = notificationService.getUnreadCount(userId);
             return ResponseEntity.ok(Map.of("count", count));
         } catch (Exception e) {
             return ResponseEntity.status(500)
@@ -72,13 +98,10 @@ public class NotificationController {
     @PutMapping("/{id}/read")
     public ResponseEntity<?> markAsRead(@PathVariable Long id) {
         try {
-            return notificationRepository.findById(id)
-                    .map(notification -> {
-                        notification.setRead(true);
-                        notificationRepository.save(notification);
-                        return ResponseEntity.ok(Map.of("message", "Notification marquée comme lue"));
-                    })
-                    .orElse(ResponseEntity.notFound().build());
+            if (!notificationService.markAsRead(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(Map.of("message", "Notification marquée comme lue"));
         } catch (Exception e) {
             return ResponseEntity.status(500)
                     .body(Map.of("error", "Erreur lors de la mise à jour"));
@@ -89,14 +112,11 @@ public class NotificationController {
     @PutMapping("/user/{userId}/read-all")
     public ResponseEntity<?> markAllAsRead(@PathVariable Long userId) {
         try {
-            List<Notification> unreadNotifications = notificationRepository
-                    .findByUserIdAndIsReadFalseOrderByCreatedAtDesc(userId);
-            unreadNotifications.forEach(n -> n.setRead(true));
-            notificationRepository.saveAll(unreadNotifications);
+            int count = notificationService.markAllAsRead(userId);
 
             return ResponseEntity.ok(Map.of(
                     "message", "Toutes les notifications ont été marquées comme lues",
-                    "count", unreadNotifications.size()));
+                    "count", count));
         } catch (Exception e) {
             return ResponseEntity.status(500)
                     .body(Map.of("error", "Erreur lors de la mise à jour"));
@@ -107,7 +127,7 @@ public class NotificationController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteNotification(@PathVariable Long id) {
         try {
-            notificationRepository.deleteById(id);
+            notificationService.deleteNotification(id);
             return ResponseEntity.ok(Map.of("message", "Notification supprimée"));
         } catch (Exception e) {
             return ResponseEntity.status(500)
@@ -0,0 +1,73 @@
+package com.saf.userservice.controller;
+
+import com.saf.userservice.push.SseEmitterRegistry;
+import com.saf.userservice.security.JwtClaims;
+import com.saf.userservice.security.JwtUtil;
+import com.saf.userservice.security.StreamTickets;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Flux temps réel (Server-Sent Events) remplaçant le polling des compteurs.
+ * Événements : message (MessageDTO), notification, unread ({type, delta}).
+ */
+@RestController
+@RequestMapping("/api/push")
+@CrossOrigin(origins = "*")
+public class PushController {
+
+    @Autowired
+    private SseEmitterRegistry sseEmitterRegistry;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private StreamTickets streamTickets;
+
+    /**
+     * Obtenir un ticket à usage unique pour ouvrir le flux
+     * (EventSource ne peut pas envoyer l'en-tête Authorization).
+     * POST /api/push/ticket
+     */
+    @PostMapping("/ticket")
+    public ResponseEntity<?> ticket(HttpServletRequest request) {
+        try {
+            JwtClaims claims = jwtUtil.parse(request);
+            if (claims == null || claims.isExpired()) {
+                return unauthorized();
+            }
+            return ResponseEntity.ok(Map.of(
+                    "ticket", streamTickets.issue(claims.userId()),
+                    "expiresIn", streamTickets.getTtl().toSeconds()));
+        } catch (Exception e) {
+            return unauthorized();
+        }
+    }
+
+    /**
+     * Ouvrir le flux de l'utilisateur du ticket.
+     * GET /api/push/stream?ticket=...
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> stream(@RequestParam(required = false) String ticket) {
+        Long userId = streamTickets.redeem(ticket);
+        if (userId == null) {
+            return ResponseEntity.status(401)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("error", "Ticket invalide"));
+        }
+        return ResponseEntity.ok(sseEmitterRegistry.register(userId));
+    }
+
+    private static ResponseEntity<?> unauthorized() {
+        return ResponseEntity.status(401)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", "Token invalide"));
+    }
+}
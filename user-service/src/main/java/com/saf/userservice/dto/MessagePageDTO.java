@@ -0,0 +1,10 @@
+package com.saf.userservice.dto;
+
+import java.util.List;
+
+/**
+ * Page de l'historique d'une conversation (ordre chronologique).
+ * nextCursor désigne les messages plus anciens ; null quand le début est atteint.
+ */
+public record MessagePageDTO(List<MessageDTO> messages, String nextCursor) {
+}
@@ -4,11 +4,17 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "admin_actions")
+@Table(name = "admin_actions", indexes = {
+        @Index(name = "idx_admin_actions_created", columnList = "created_at"),
+        @Index(name = "idx_admin_actions_admin_created", columnList = "admin_username, created_at"),
+        @Index(name = "idx_admin_actions_type_created", columnList = "action_type, created_at"),
+        @Index(name = "idx_admin_actions_target_created", columnList = "target_type, target_id, created_at")
+})
 public class AdminAction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admin_actions_seq")
+    @SequenceGenerator(name = "admin_actions_seq", sequenceName = "admin_actions_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "admin_username", nullable = false, length = 50)
@@ -1,15 +1,24 @@
 package com.saf.userservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "annonces")
+@Table(name = "annonces", indexes = {
+        // Catalogue : annonces disponibles, les plus récentes d'abord (pagination par clé)
+        @Index(name = "idx_annonces_disponible_created", columnList = "disponible, created_at, id"),
+        @Index(name = "idx_annonces_genre_created", columnList = "genre, created_at, id"),
+        @Index(name = "idx_annonces_vendeur", columnList = "vendeur_id"),
+        // Libération des réservations expirées
+        @Index(name = "idx_annonces_reserved_until", columnList = "reserved_until")
+})
 public class Annonce {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "annonces_seq")
+    @SequenceGenerator(name = "annonces_seq", sequenceName = "annonces_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -48,6 +57,20 @@ public class Annonce {
     @Column(nullable = false)
     private boolean disponible = true;
 
+    // Verrou optimiste : incrémentée à chaque modification, y compris la réservation
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Réservation en cours : jeton du détenteur, et échéance tant qu'elle n'est pas confirmée
+    @JsonIgnore
+    @Column(name = "reservation_token", length = 64)
+    private String reservationToken;
+
+    @JsonIgnore
+    @Column(name = "reserved_until")
+    private LocalDateTime reservedUntil;
+
     // Constructeurs
     public Annonce() {
     }
@@ -156,4 +179,28 @@ public class Annonce {
     public void setDisponible(boolean disponible) {
         this.disponible = disponible;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getReservationToken() {
+        return reservationToken;
+    }
+
+    public void setReservationToken(String reservationToken) {
+        this.reservationToken = reservationToken;
+    }
+
+    public LocalDateTime getReservedUntil() {
+        return reservedUntil;
+    }
+
+    public void setReservedUntil(LocalDateTime reservedUntil) {
+        this.reservedUntil = reservedUntil;
+    }
 }
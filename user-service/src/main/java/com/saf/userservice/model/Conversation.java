@@ -6,11 +6,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "conversations")
+@Table(name = "conversations", indexes = {
+        // Une conversation est cherchée depuis l'un ou l'autre participant
+        @Index(name = "idx_conversations_user1", columnList = "user1_id, user2_id"),
+        @Index(name = "idx_conversations_user2", columnList = "user2_id, user1_id")
+})
 public class Conversation {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conversations_seq")
+    @SequenceGenerator(name = "conversations_seq", sequenceName = "conversations_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -4,11 +4,18 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        // Historique d'une conversation par clé (sentAt, id)
+        @Index(name = "idx_messages_conversation_sent", columnList = "conversation_id, sent_at, id"),
+        // Compteurs et listes de non lus par destinataire
+        @Index(name = "idx_messages_receiver_read", columnList = "receiver_id, is_read, sent_at"),
+        @Index(name = "idx_messages_sender_receiver", columnList = "sender_id, receiver_id")
+})
 public class Message {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "messages_seq")
+    @SequenceGenerator(name = "messages_seq", sequenceName = "messages_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
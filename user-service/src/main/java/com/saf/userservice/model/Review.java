@@ -4,11 +4,16 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_reviewed_created", columnList = "reviewed_user_id, created_at"),
+        @Index(name = "idx_reviews_reviewer_created", columnList = "reviewer_id, created_at"),
+        @Index(name = "idx_reviews_transaction_reviewer", columnList = "transaction_id, reviewer_id")
+})
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_seq")
+    @SequenceGenerator(name = "reviews_seq", sequenceName = "reviews_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "reviewer_id", nullable = false)
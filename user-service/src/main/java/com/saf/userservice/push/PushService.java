@@ -0,0 +1,84 @@
+package com.saf.userservice.push;
+
+import com.saf.core.ActorSystem;
+import com.saf.core.EventBus;
+import com.saf.userservice.actor.PushActor.PushEvent;
+import com.saf.userservice.dto.MessageDTO;
+import com.saf.userservice.model.Notification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Publie les événements temps réel (nouveaux messages, notifications, variations
+ * des compteurs de non-lus) sur l'EventBus, où PushActor les relaie en SSE.
+ * Les variations sont aussi transmises aux compteurs en mémoire (UnreadCounters),
+ * qui les appliquent eux-mêmes au commit.
+ * Dans une transaction, tout attend le commit : un client ne reçoit jamais
+ * un message annulé et les compteurs ne comptent que ce qui est en base.
+ */
+@Service
+public class PushService {
+
+    public static final String MESSAGE = "message";
+    public static final String NOTIFICATION = "notification";
+    public static final String UNREAD = "unread";
+
+    private final EventBus eventBus;
+    private final UnreadCounters unreadCounters;
+
+    public PushService(ActorSystem actorSystem, UnreadCounters unreadCounters) {
+        this.eventBus = actorSystem.getEventBus();
+        this.unreadCounters = unreadCounters;
+    }
+
+    public void newMessage(MessageDTO message) {
+        publish(new PushEvent(message.getReceiverId(), MESSAGE, message));
+        unreadMessages(message.getReceiverId(), 1);
+    }
+
+    public void newNotification(Notification notification) {
+        publish(new PushEvent(notification.getUserId(), NOTIFICATION, notification));
+        if (!notification.isRead()) {
+            unreadNotifications(notification.getUserId(), 1);
+        }
+    }
+
+    /**
+     * Variation du nombre de messages non lus (négative à la lecture)
+     */
+    public void unreadMessages(Long userId, long delta) {
+        if (userId != null && delta != 0) {
+            unreadCounters.adjustMessages(userId, delta);
+            publish(new PushEvent(userId, UNREAD, Map.of("type", "messages", "delta", delta)));
+        }
+    }
+
+    public void unreadNotifications(Long userId, long delta) {
+        if (userId != null && delta != 0) {
+            unreadCounters.adjustNotifications(userId, delta);
+            publish(new PushEvent(userId, UNREAD, Map.of("type", "notifications", "delta", delta)));
+        }
+    }
+
+    private void publish(PushEvent event) {
+        if (eventBus != null && event.userId() != null) {
+            afterCommit(() -> eventBus.publish(event));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.saf.userservice.push;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Flux SSE ouverts, par utilisateur (un par onglet).
+ * Chaque flux a sa file d'envoi bornée ({@code queue-capacity}), vidée sur un
+ * thread virtuel : un client lent ne retarde ni les autres ni l'appelant.
+ * Un flux dont la file déborde, ou dont un envoi dure plus de {@code send-timeout-ms},
+ * est fermé ; le navigateur rouvre une connexion.
+ * Un commentaire est envoyé toutes les {@code heartbeat-ms} pour garder
+ * les connexions ouvertes à travers la gateway et détecter les clients partis.
+ */
+@Component
+public class SseEmitterRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseEmitterRegistry.class);
+
+    /**
+     * Flux ouvert et sa file d'envoi ; un seul thread la vide à la fois
+     */
+    private static final class Connection {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // Début de l'envoi en cours (System.nanoTime), 0 si aucun
+        private volatile long sendingSince;
+
+        private Connection(Long userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final long sendTimeoutNanos;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeat;
+
+    public SseEmitterRegistry(@Value("${push.sse.timeout-ms:1800000}") long timeoutMs,
+            @Value("${push.sse.heartbeat-ms:25000}") long heartbeatMs,
+            @Value("${push.sse.queue-capacity:64}") int queueCapacity,
+            @Value("${push.sse.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.sender = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-send-", 0).factory());
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ouvre un flux pour l'utilisateur ; le client se reconnecte seul à l'expiration
+     */
+    public SseEmitter register(Long userId) {
+        return register(userId, new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter register(Long userId, SseEmitter emitter) {
+        Connection connection = new Connection(userId, emitter, queueCapacity);
+        connections.compute(userId, (id, set) -> {
+            Set<Connection> target = set != null ? set : new CopyOnWriteArraySet<>();
+            target.add(connection);
+            return target;
+        });
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        enqueue(connection, SseEmitter.event().name("connected").data(userId));
+        return emitter;
+    }
+
+    /**
+     * Met l'événement dans la file de chaque flux de l'utilisateur, sans attendre
+     * l'envoi (aucun effet s'il n'est pas connecté)
+     */
+    public void deliver(Long userId, String name, Object data) {
+        Set<Connection> targets = connections.get(userId);
+        if (targets == null) {
+            return;
+        }
+        for (Connection connection : targets) {
+            enqueue(connection, SseEmitter.event().name(name).data(data));
+        }
+    }
+
+    public int getConnectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        connections.values().forEach(set -> set.forEach(connection -> connection.emitter.complete()));
+        connections.clear();
+    }
+
+    private void sendHeartbeat() {
+        long now = System.nanoTime();
+        connections.values().forEach(set -> set.forEach(connection -> {
+            long since = connection.sendingSince;
+            if (since != 0 && now - since > sendTimeoutNanos) {
+                drop(connection, "envoi bloqué");
+            } else {
+                enqueue(connection, SseEmitter.event().comment("ping"));
+            }
+        }));
+    }
+
+    private void enqueue(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (!connection.queue.offer(event)) {
+            drop(connection, "file d'envoi pleine");
+            return;
+        }
+        if (connection.draining.compareAndSet(false, true)) {
+            sender.execute(() -> drain(connection));
+        }
+    }
+
+    private void drain(Connection connection) {
+        while (true) {
+            SseEmitter.SseEventBuilder event = connection.queue.poll();
+            if (event == null) {
+                connection.draining.set(false);
+                // Un événement arrivé entre poll et set(false) n'a pas relancé d'envoi
+                if (connection.queue.isEmpty() || !connection.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            connection.sendingSince = System.nanoTime();
+            try {
+                connection.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client déconnecté : le flux est retiré, le navigateur rouvrira une connexion
+                logger.debug("Flux SSE fermé pour l'utilisateur {}", connection.userId);
+                remove(connection);
+                return;
+            } finally {
+                connection.sendingSince = 0;
+            }
+        }
+    }
+
+    /**
+     * Retire un client trop lent ; la fermeture passe par un thread d'envoi
+     * pour ne pas attendre l'envoi bloqué qui détient le flux
+     */
+    private void drop(Connection connection, String reason) {
+        if (remove(connection)) {
+            logger.info("Flux SSE de l'utilisateur {} fermé : {}", connection.userId, reason);
+            connection.queue.clear();
+            sender.execute(connection.emitter::complete);
+        }
+    }
+
+    private boolean remove(Connection connection) {
+        AtomicBoolean removed = new AtomicBoolean();
+        connections.computeIfPresent(connection.userId, (id, set) -> {
+            removed.set(set.remove(connection));
+            return set.isEmpty() ? null : set;
+        });
+        return removed.get();
+    }
+}
@@ -0,0 +1,245 @@
+package com.saf.userservice.push;
+
+import com.saf.userservice.repository.MessageRepository;
+import com.saf.userservice.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compteurs de messages et notifications non lus par utilisateur, en mémoire,
+ * pour que les badges ne déclenchent plus de COUNT à chaque affichage.
+ * Chargés depuis la base au premier accès, puis ajustés par les variations
+ * appliquées après commit (PushService). Une réconciliation périodique recale
+ * les compteurs sur la base et corrige d'éventuels écarts.
+ * Un COUNT ne remplace la valeur en mémoire que si aucune écriture de l'utilisateur
+ * n'a été commitée entre son début et l'application de sa variation (version et
+ * pending du Counter) : sinon il pourrait compter une seconde fois la même écriture.
+ */
+@Component
+public class UnreadCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadCounters.class);
+
+    private static final int RECONCILE_BATCH = 500;
+
+    private final MessageRepository messageRepository;
+    private final NotificationRepository notificationRepository;
+    private final int maxUsers;
+    private final Map<Long, Counter> messages = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> notifications = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reconciler;
+
+    public UnreadCounters(MessageRepository messageRepository,
+            NotificationRepository notificationRepository,
+            @Value("${unread.counters.reconcile-ms:300000}") long reconcileMs,
+            @Value("${unread.counters.max-users:100000}") int maxUsers) {
+        this.messageRepository = messageRepository;
+        this.notificationRepository = notificationRepository;
+        this.maxUsers = maxUsers;
+        this.reconciler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "unread-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, reconcileMs, reconcileMs, TimeUnit.MILLISECONDS);
+    }
+
+    public long unreadMessages(Long userId) {
+        return unread(messages, userId, messageRepository::countUnreadMessages);
+    }
+
+    public long unreadNotifications(Long userId) {
+        return unread(notifications, userId, notificationRepository::countByUserIdAndIsReadFalse);
+    }
+
+    /**
+     * Variation appliquée au commit de la transaction en cours (immédiatement hors
+     * transaction). Sans compteur chargé, rien à ajouter : le prochain accès relira la base.
+     */
+    public void adjustMessages(Long userId, long delta) {
+        adjust(messages, userId, delta);
+    }
+
+    public void adjustNotifications(Long userId, long delta) {
+        adjust(notifications, userId, delta);
+    }
+
+    /**
+     * Recale les compteurs présents sur la base, par lots (une requête GROUP BY par lot).
+     * Au-delà de max-users, les compteurs en surplus sont retirés et rechargés à la demande.
+     */
+    public void reconcile() {
+        try {
+            reconcile(messages, messageRepository::countUnreadMessagesByReceiverIds);
+            reconcile(notifications, notificationRepository::countUnreadByUserIds);
+        } catch (Exception e) {
+            logger.error("Erreur lors de la réconciliation des compteurs de non-lus", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    /**
+     * Le COUNT initial s'exécute hors de tout verrou ; sa valeur n'est installée
+     * que si aucune écriture ne l'a croisé, sinon elle est seulement renvoyée
+     */
+    private long unread(Map<Long, Counter> counters, Long userId, Function<Long, Long> count) {
+        Counter counter = counters.computeIfAbsent(userId, id -> new Counter());
+        long version;
+        synchronized (counter) {
+            if (counter.loaded) {
+                return counter.value;
+            }
+            version = counter.version;
+        }
+        long total = count.apply(userId);
+        synchronized (counter) {
+            if (!counter.loaded && counter.isStable(version)) {
+                counter.value = total;
+                counter.loaded = true;
+            }
+            return counter.loaded ? counter.value : total;
+        }
+    }
+
+    /**
+     * L'écriture est annoncée avant le commit (pending), puis sa variation appliquée
+     * après : entre les deux, un COUNT concurrent peut déjà la voir en base
+     */
+    private void adjust(Map<Long, Counter> counters, Long userId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Counter counter = counters.get(userId);
+            if (counter != null) {
+                synchronized (counter) {
+                    counter.apply(delta);
+                }
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private Counter counter;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // compute : le compteur ne peut pas être retiré entre son choix et pending++
+                counter = counters.compute(userId, (id, existing) -> {
+                    Counter target = existing != null ? existing : new Counter();
+                    synchronized (target) {
+                        target.pending++;
+                        target.version++;
+                    }
+                    return target;
+                });
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (counter != null) {
+                    synchronized (counter) {
+                        counter.pending--;
+                        counter.apply(status == STATUS_COMMITTED ? delta : 0);
+                    }
+                }
+            }
+        });
+    }
+
+    private void reconcile(Map<Long, Counter> counters, Function<Collection<Long>, List<Object[]>> countByUser) {
+        evictSurplus(counters);
+        List<Long> userIds = new ArrayList<>(counters.keySet());
+        for (int from = 0; from < userIds.size(); from += RECONCILE_BATCH) {
+            List<Long> batch = userIds.subList(from, Math.min(from + RECONCILE_BATCH, userIds.size()));
+            // Versions relevées avant la requête : un compteur écrit entre-temps
+            // n'est pas recalé, la prochaine réconciliation s'en chargera
+            Map<Counter, Long> versions = new HashMap<>();
+            Map<Long, Counter> loaded = new HashMap<>();
+            for (Long userId : batch) {
+                Counter counter = counters.get(userId);
+                if (counter != null) {
+                    synchronized (counter) {
+                        if (counter.loaded) {
+                            versions.put(counter, counter.version);
+                            loaded.put(userId, counter);
+                        }
+                    }
+                }
+            }
+            Map<Long, Long> counts = new HashMap<>();
+            for (Object[] row : countByUser.apply(batch)) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+            loaded.forEach((userId, counter) -> {
+                synchronized (counter) {
+                    if (counter.isStable(versions.get(counter))) {
+                        counter.value = counts.getOrDefault(userId, 0L);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Retire des compteurs au-delà de max-users, sauf ceux qui attendent une variation.
+     * Sans perte : un compteur rechargé depuis la base contient les écritures commitées.
+     */
+    private void evictSurplus(Map<Long, Counter> counters) {
+        int surplus = counters.size() - maxUsers;
+        Iterator<Long> userIds = counters.keySet().iterator();
+        while (surplus > 0 && userIds.hasNext()) {
+            Long userId = userIds.next();
+            if (counters.computeIfPresent(userId, (id, counter) -> counter.isIdle() ? null : counter) == null) {
+                surplus--;
+            }
+        }
+    }
+
+    /**
+     * Compteur d'un utilisateur, protégé par son propre verrou. version avance à chaque
+     * écriture annoncée ou appliquée ; pending compte celles dont la variation est attendue.
+     */
+    private static final class Counter {
+
+        private long value;
+        private boolean loaded;
+        private long version;
+        private int pending;
+
+        private void apply(long delta) {
+            version++;
+            if (loaded) {
+                value += delta;
+            }
+        }
+
+        /**
+         * Un COUNT commencé à cette version voit exactement les écritures déjà appliquées
+         */
+        private boolean isStable(long since) {
+            return version == since && pending == 0;
+        }
+
+        private synchronized boolean isIdle() {
+            return pending == 0;
+        }
+    }
+}
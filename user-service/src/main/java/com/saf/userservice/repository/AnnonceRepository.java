@@ -1,15 +1,55 @@
 package com.saf.userservice.repository;
 
 import com.saf.userservice.model.Annonce;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface AnnonceRepository extends JpaRepository<Annonce, Long> {
     List<Annonce> findByDisponibleTrue();
 
+    List<Annonce> findByDisponibleTrue(Pageable pageable);
+
+    // Lots de la reconstruction de l'index de recherche, par id croissant
+    List<Annonce> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Pagination par clé sur (createdAt, id) : chaque page part du dernier élément
+    // de la précédente, sans OFFSET. Filtres ignorés quand ils valent null.
+    @Query("SELECT a FROM Annonce a WHERE a.disponible = true " +
+           "AND (:genre IS NULL OR a.genre = :genre) " +
+           "AND (:etat IS NULL OR a.etat = :etat) " +
+           "AND (:prixMin IS NULL OR a.prix >= :prixMin) " +
+           "AND (:prixMax IS NULL OR a.prix <= :prixMax) " +
+           "AND (:afterId IS NULL OR a.createdAt < :afterCreatedAt " +
+           "OR (a.createdAt = :afterCreatedAt AND a.id < :afterId)) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<Annonce> findPageNewestFirst(@Param("genre") String genre, @Param("etat") String etat,
+            @Param("prixMin") BigDecimal prixMin, @Param("prixMax") BigDecimal prixMax,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    @Query("SELECT a FROM Annonce a WHERE a.disponible = true " +
+           "AND (:genre IS NULL OR a.genre = :genre) " +
+           "AND (:etat IS NULL OR a.etat = :etat) " +
+           "AND (:prixMin IS NULL OR a.prix >= :prixMin) " +
+           "AND (:prixMax IS NULL OR a.prix <= :prixMax) " +
+           "AND (:afterId IS NULL OR a.createdAt > :afterCreatedAt " +
+           "OR (a.createdAt = :afterCreatedAt AND a.id > :afterId)) " +
+           "ORDER BY a.createdAt ASC, a.id ASC")
+    List<Annonce> findPageOldestFirst(@Param("genre") String genre, @Param("etat") String etat,
+            @Param("prixMin") BigDecimal prixMin, @Param("prixMax") BigDecimal prixMax,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt, @Param("afterId") Long afterId,
+            Pageable pageable);
+
     List<Annonce> findByVendeurId(Long vendeurId);
 
     List<Annonce> findByTitreContainingIgnoreCase(String titre);
@@ -19,4 +59,41 @@ public interface AnnonceRepository extends JpaRepository<Annonce, Long> {
     long countByDisponibleTrue();
 
     int countByVendeurId(Long vendeurId);
+
+    // Réservation conditionnelle (compare-and-set) : ne passe que si l'annonce est
+    // encore disponible et, si une version est fournie, inchangée depuis sa lecture.
+    // Le jeton identifie le détenteur ; sans confirmation avant reservedUntil, elle expire.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Annonce a SET a.disponible = false, a.version = a.version + 1, " +
+           "a.reservationToken = :token, a.reservedUntil = :reservedUntil " +
+           "WHERE a.id = :id AND a.disponible = true AND (:version IS NULL OR a.version = :version)")
+    int reserve(@Param("id") Long id, @Param("version") Long version, @Param("token") String token,
+            @Param("reservedUntil") LocalDateTime reservedUntil);
+
+    // Vente conclue : la réservation n'expire plus
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Annonce a SET a.reservedUntil = NULL " +
+           "WHERE a.id = :id AND a.disponible = false AND a.reservationToken = :token")
+    int confirm(@Param("id") Long id, @Param("token") String token);
+
+    // Annule une réservation dont l'achat n'a pas abouti, seulement pour son détenteur
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Annonce a SET a.disponible = true, a.version = a.version + 1, " +
+           "a.reservationToken = NULL, a.reservedUntil = NULL " +
+           "WHERE a.id = :id AND a.disponible = false AND a.reservationToken = :token")
+    int release(@Param("id") Long id, @Param("token") String token);
+
+    @Query("SELECT a.id FROM Annonce a WHERE a.reservedUntil < :now ORDER BY a.reservedUntil")
+    List<Long> findExpiredReservationIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Libère une réservation échue, sauf si elle a été confirmée entre-temps
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Annonce a SET a.disponible = true, a.version = a.version + 1, " +
+           "a.reservationToken = NULL, a.reservedUntil = NULL " +
+           "WHERE a.id = :id AND a.reservedUntil < :now")
+    int releaseExpired(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
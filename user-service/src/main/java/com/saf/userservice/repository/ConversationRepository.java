@@ -1,5 +1,6 @@
 package com.saf.userservice.repository;
 
+import com.saf.userservice.dto.ConversationDTO;
 import com.saf.userservice.model.Conversation;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -22,6 +23,23 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
     @Query("SELECT c FROM Conversation c WHERE c.user1.id = :userId OR c.user2.id = :userId ORDER BY c.lastMessageAt DESC")
     List<Conversation> findConversationsByUserId(@Param("userId") Long userId);
     
+    // Boîte de réception en une seule requête : interlocuteur, aperçu du dernier message
+    // (sentAt puis id les plus grands, même ordre que l'historique) et nombre de messages
+    // non lus par l'utilisateur, par conversation
+    @Query("SELECT new com.saf.userservice.dto.ConversationDTO(c.id, " +
+           "CASE WHEN u1.id = :userId THEN u2.id ELSE u1.id END, " +
+           "CASE WHEN u1.id = :userId THEN u2.username ELSE u1.username END, " +
+           "CASE WHEN u1.id = :userId THEN u2.email ELSE u1.email END, " +
+           "COALESCE((SELECT m.content FROM Message m WHERE m.conversation = c AND NOT EXISTS " +
+           "(SELECT later.id FROM Message later WHERE later.conversation = c " +
+           "AND (later.sentAt > m.sentAt OR (later.sentAt = m.sentAt AND later.id > m.id)))), ''), " +
+           "c.lastMessageAt, " +
+           "(SELECT COUNT(u) FROM Message u WHERE u.conversation = c " +
+           "AND u.receiver.id = :userId AND u.isRead = false)) " +
+           "FROM Conversation c JOIN c.user1 u1 JOIN c.user2 u2 " +
+           "WHERE u1.id = :userId OR u2.id = :userId ORDER BY c.lastMessageAt DESC")
+    List<ConversationDTO> findConversationSummariesByUserId(@Param("userId") Long userId);
+    
     // Vérifier si une conversation existe entre deux utilisateurs
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM Conversation c WHERE " +
            "(c.user1.id = :userId1 AND c.user2.id = :userId2) OR " +
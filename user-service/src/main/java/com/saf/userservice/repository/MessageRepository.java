@@ -1,20 +1,37 @@
 package com.saf.userservice.repository;
 
 import com.saf.userservice.model.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
     
     // Trouver tous les messages d'une conversation
-    @Query("SELECT m FROM Message m WHERE m.conversation.id = :conversationId ORDER BY m.sentAt ASC")
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender JOIN FETCH m.receiver " +
+           "WHERE m.conversation.id = :conversationId ORDER BY m.sentAt ASC")
     List<Message> findByConversationId(@Param("conversationId") Long conversationId);
     
+    // Historique d'une conversation à rebours, par clé (sentAt, id) : les messages
+    // strictement antérieurs au curseur, les plus récents d'abord (tous si curseur null)
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender JOIN FETCH m.receiver " +
+           "WHERE m.conversation.id = :conversationId " +
+           "AND (:beforeId IS NULL OR m.sentAt < :beforeSentAt " +
+           "OR (m.sentAt = :beforeSentAt AND m.id < :beforeId)) " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findConversationPage(@Param("conversationId") Long conversationId,
+                                       @Param("beforeSentAt") LocalDateTime beforeSentAt,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+    
     // Trouver tous les messages entre deux utilisateurs
     @Query("SELECT m FROM Message m WHERE " +
            "(m.sender.id = :userId1 AND m.receiver.id = :userId2) OR " +
@@ -26,12 +43,19 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver.id = :userId AND m.isRead = false")
     long countUnreadMessages(@Param("userId") Long userId);
     
+    // Messages non lus par destinataire, pour un lot d'utilisateurs : [receiverId, count]
+    @Query("SELECT m.receiver.id, COUNT(m) FROM Message m " +
+           "WHERE m.receiver.id IN :userIds AND m.isRead = false GROUP BY m.receiver.id")
+    List<Object[]> countUnreadMessagesByReceiverIds(@Param("userIds") Collection<Long> userIds);
+    
     // Trouver les messages non lus reçus par un utilisateur
     @Query("SELECT m FROM Message m WHERE m.receiver.id = :userId AND m.isRead = false ORDER BY m.sentAt DESC")
     List<Message> findUnreadMessagesByReceiverId(@Param("userId") Long userId);
     
-    // Marquer tous les messages d'une conversation comme lus
+    // Marquer tous les messages d'une conversation comme lus (une seule requête),
+    // renvoie le nombre de messages passés à lu
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE Message m SET m.isRead = true, m.readAt = CURRENT_TIMESTAMP " +
            "WHERE m.conversation.id = :conversationId AND m.receiver.id = :userId AND m.isRead = false")
-    void markConversationMessagesAsRead(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+    int markConversationMessagesAsRead(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
 }
@@ -2,8 +2,12 @@ package com.saf.userservice.repository;
 
 import com.saf.userservice.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,4 +22,21 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     // Compter les notifications non lues
     Long countByUserIdAndIsReadFalse(Long userId);
+
+    // Notifications non lues par utilisateur, pour un lot d'utilisateurs : [userId, count]
+    @Query("SELECT n.userId, COUNT(n) FROM Notification n " +
+           "WHERE n.userId IN :userIds AND n.isRead = false GROUP BY n.userId")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    // Marquer toutes les notifications d'un utilisateur comme lues (une seule
+    // requête), renvoie le nombre de notifications modifiées
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.userId = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId);
+
+    // Marquer une notification comme lue si elle ne l'est pas encore : renvoie 1 pour
+    // la seule requête concurrente qui l'a effectivement passée à lue
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.isRead = false")
+    int markAsReadIfUnread(@Param("id") Long id);
 }
@@ -0,0 +1,323 @@
+package com.saf.userservice.search;
+
+import com.saf.userservice.model.Annonce;
+import com.saf.userservice.repository.AnnonceRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index plein texte (Lucene) des annonces sur titre, artiste, genre et description.
+ * Recherche classée, par préfixe et insensible à la casse et aux accents ;
+ * seules les annonces disponibles sont renvoyées.
+ * La base reste la référence : l'index est tenu à jour par AnnonceActor (création,
+ * modification, suppression, réservation, vente) et reconstruit au démarrage,
+ * sauf si l'index sur disque ({@code annonces.search.index-dir}) a été fermé
+ * proprement par la même version du schéma. Sans index-dir, l'index est gardé en mémoire.
+ * L'index ne voit que les écritures de son instance : avec plusieurs instances, il peut
+ * être en retard (AnnonceActor revérifie la disponibilité en base), et un index-dir
+ * ne doit servir qu'à une instance qui est seule à écrire les annonces, sinon il
+ * reprendrait au redémarrage un index qui ignore les écritures des autres.
+ */
+@Component
+public class AnnonceSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnnonceSearchIndex.class);
+
+    private static final String ID = "id";
+    private static final String DISPONIBLE = "disponible";
+
+    private static final int REBUILD_BATCH = 500;
+
+    /**
+     * Données de commit : version des champs indexés et fermeture propre.
+     * Un index d'un autre schéma ou d'une instance arrêtée brutalement est reconstruit.
+     */
+    private static final String SCHEMA = "schema";
+    private static final String SCHEMA_VERSION = "2";
+    private static final String CLOSED_CLEANLY = "closedCleanly";
+
+    /**
+     * Champs indexés et leur poids dans le classement
+     */
+    private static final Map<String, Float> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("titre", 3f);
+        FIELDS.put("artiste", 2f);
+        FIELDS.put("genre", 1.5f);
+        FIELDS.put("description", 1f);
+    }
+
+    private final AnnonceRepository annonceRepository;
+    private final int maxResults;
+    private final Analyzer analyzer = new FoldingAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Sérialise les écritures avec la reconstruction (voir rebuild)
+    private final Object writeLock = new Object();
+    // Annonces écrites par index/remove pendant une reconstruction ; null sinon
+    private Set<Long> writtenDuringRebuild;
+    private volatile boolean upToDate;
+
+    public AnnonceSearchIndex(AnnonceRepository annonceRepository,
+            @Value("${annonces.search.index-dir:}") String indexDir,
+            @Value("${annonces.search.max-results:100}") int maxResults) throws IOException {
+        this.annonceRepository = annonceRepository;
+        this.maxResults = maxResults;
+        this.directory = indexDir.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexDir));
+        this.upToDate = closedCleanly(directory);
+        // CREATE vide le répertoire : réservé au cas où l'index sera reconstruit
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer).setOpenMode(upToDate
+                ? IndexWriterConfig.OpenMode.APPEND
+                : IndexWriterConfig.OpenMode.CREATE));
+        // Tant que l'instance tourne, l'index sur disque n'est pas réputé à jour
+        commit(false);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Réindexe toutes les annonces depuis la base, par lots, sauf si l'index
+     * ouvert est déjà à jour. Une annonce écrite par index/remove pendant la
+     * reconstruction garde cette version : le lot lu avant peut être plus ancien.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (upToDate) {
+            logger.info("Index de recherche repris du disque : {} annonces", writer.getDocStats().numDocs);
+            return;
+        }
+        try {
+            synchronized (writeLock) {
+                writer.deleteAll();
+                writtenDuringRebuild = new HashSet<>();
+            }
+            int count = 0;
+            List<Annonce> batch;
+            Long lastId = 0L;
+            do {
+                batch = annonceRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH));
+                synchronized (writeLock) {
+                    for (Annonce annonce : batch) {
+                        if (!writtenDuringRebuild.contains(annonce.getId())) {
+                            writer.updateDocument(new Term(ID, annonce.getId().toString()), document(annonce));
+                        }
+                    }
+                }
+                count += batch.size();
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == REBUILD_BATCH);
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            upToDate = true;
+            logger.info("Index de recherche reconstruit : {} annonces", count);
+        } catch (IOException e) {
+            logger.error("Erreur lors de la reconstruction de l'index des annonces", e);
+        } finally {
+            synchronized (writeLock) {
+                writtenDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Ajoute ou remplace l'annonce ; visible dès le retour de l'appel
+     */
+    public void index(Annonce annonce) {
+        try {
+            synchronized (writeLock) {
+                writer.updateDocument(new Term(ID, annonce.getId().toString()), document(annonce));
+                markWritten(annonce.getId());
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            logger.error("Erreur lors de l'indexation de l'annonce {}", annonce.getId(), e);
+        }
+    }
+
+    public void remove(Long annonceId) {
+        try {
+            synchronized (writeLock) {
+                writer.deleteDocuments(new Term(ID, annonceId.toString()));
+                markWritten(annonceId);
+            }
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            logger.error("Erreur lors de la désindexation de l'annonce {}", annonceId, e);
+        }
+    }
+
+    /**
+     * Identifiants des annonces correspondantes, de la plus pertinente à la moins pertinente.
+     * Chaque mot de la requête doit apparaître (entier ou en préfixe) dans au moins un champ.
+     */
+    public List<Long> search(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(DISPONIBLE, "true")), BooleanClause.Occur.FILTER);
+        for (String term : terms) {
+            query.add(termQuery(term), BooleanClause.Occur.MUST);
+        }
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query.build(), maxResults).scoreDocs;
+                List<Long> ids = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        commit(upToDate);
+        writer.close();
+        directory.close();
+    }
+
+    private void markWritten(Long annonceId) {
+        if (writtenDuringRebuild != null) {
+            writtenDuringRebuild.add(annonceId);
+        }
+    }
+
+    private void commit(boolean closedCleanly) throws IOException {
+        writer.setLiveCommitData(Map.of(SCHEMA, SCHEMA_VERSION,
+                CLOSED_CLEANLY, String.valueOf(closedCleanly)).entrySet());
+        writer.commit();
+    }
+
+    private static boolean closedCleanly(Directory directory) throws IOException {
+        if (!DirectoryReader.indexExists(directory)) {
+            return false;
+        }
+        Map<String, String> data = SegmentInfos.readLatestCommit(directory).getUserData();
+        return SCHEMA_VERSION.equals(data.get(SCHEMA)) && Boolean.parseBoolean(data.get(CLOSED_CLEANLY));
+    }
+
+    /**
+     * Un mot de la requête : correspondance exacte favorisée sur le préfixe, dans n'importe quel champ
+     */
+    private Query termQuery(String term) {
+        BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+        FIELDS.forEach((field, boost) -> {
+            anyField.add(new BoostQuery(new TermQuery(new Term(field, term)), boost * 2),
+                    BooleanClause.Occur.SHOULD);
+            anyField.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost),
+                    BooleanClause.Occur.SHOULD);
+        });
+        return anyField.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream("titre", text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Document document(Annonce annonce) {
+        Document document = new Document();
+        document.add(new StringField(ID, annonce.getId().toString(), Field.Store.YES));
+        document.add(new StringField(DISPONIBLE, String.valueOf(annonce.isDisponible()), Field.Store.NO));
+        addText(document, "titre", annonce.getTitre());
+        addText(document, "artiste", annonce.getArtiste());
+        addText(document, "genre", annonce.getGenre());
+        addText(document, "description", annonce.getDescription());
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    /**
+     * Découpage standard, minuscules puis suppression des accents (é -> e)
+     */
+    static final class FoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer source = new StandardTokenizer();
+            TokenStream result = new ASCIIFoldingFilter(new LowerCaseFilter(source));
+            return new TokenStreamComponents(source, result);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.saf.userservice.security;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Identité vérifiée par api-gateway et transmise dans les en-têtes X-User-*.
+ * La signature HMAC (secret partagé gateway.identity.secret) remplace la
+ * re-vérification complète du JWT à chaque requête.
+ */
+@Component
+public class GatewayIdentity {
+
+    static final String USER_ID = "X-User-Id";
+    static final String USER_NAME = "X-User-Name";
+    static final String USER_ROLE = "X-User-Role";
+    static final String EXPIRES = "X-User-Expires";
+    static final String SIGNATURE = "X-User-Signature";
+
+    private final SecretKeySpec key;
+
+    public GatewayIdentity(@Value("${gateway.identity.secret}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+    }
+
+    /**
+     * Claims issus des en-têtes de la passerelle, ou null si la requête n'en porte pas.
+     * Lève une JwtException si la signature est fausse ou l'identité expirée.
+     */
+    public JwtClaims verify(HttpServletRequest request) {
+        String signature = request.getHeader(SIGNATURE);
+        if (signature == null) {
+            return null;
+        }
+
+        String userId = request.getHeader(USER_ID);
+        String username = request.getHeader(USER_NAME);
+        String role = request.getHeader(USER_ROLE);
+        String expires = request.getHeader(EXPIRES);
+        if (userId == null || username == null || role == null || expires == null) {
+            throw new JwtException("En-têtes d'identité incomplets");
+        }
+
+        byte[] expected = sign(userId + "\n" + username + "\n" + role + "\n" + expires);
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            throw new JwtException("Signature d'identité invalide");
+        }
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new JwtException("Signature d'identité invalide");
+        }
+
+        JwtClaims claims = new JwtClaims(
+                username.isEmpty() ? null : URLDecoder.decode(username, StandardCharsets.UTF_8),
+                Long.valueOf(userId),
+                role.isEmpty() ? null : role,
+                Instant.ofEpochSecond(Long.parseLong(expires)));
+        if (claims.isExpired()) {
+            throw new JwtException("Identité expirée");
+        }
+        return claims;
+    }
+
+    /**
+     * Signature (Base64url) d'un message adressé à la passerelle, vérifiée
+     * avec le même secret (ex. invalidation de son cache de catalogue)
+     */
+    public String signForGateway(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sign(payload));
+    }
+
+    byte[] sign(String payload) {
+        try {
+            // Mac n'est pas thread-safe : une instance par signature
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.saf.userservice.security;
+
+import java.time.Instant;
+
+/**
+ * Claims d'un token JWT dont la signature a été vérifiée : lus une seule fois,
+ * puis réutilisés au lieu de re-parser le token pour chaque champ.
+ */
+public record JwtClaims(String username, Long userId, String role, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -1,29 +1,62 @@
 package com.saf.userservice.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Génération et vérification des tokens JWT. La clé HMAC et le parser sont
+ * construits une fois ; les tokens déjà vérifiés sont gardés dans un cache borné
+ * (clé : SHA-256 du token), jamais au-delà de leur expiration.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private static final String CLAIMS_ATTRIBUTE = JwtClaims.class.getName();
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Long expiration;
+    private final Cache<String, JwtClaims> verifiedTokens;
+    private final GatewayIdentity gatewayIdentity;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") Long expiration,
+            @Value("${jwt.cache.ttl:10m}") Duration cacheTtl,
+            @Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+            MeterRegistry meterRegistry,
+            GatewayIdentity gatewayIdentity) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwtClaims");
+        this.gatewayIdentity = gatewayIdentity;
     }
 
     public String generateToken(String username, Long userId, String role) {
@@ -36,35 +69,109 @@ public class JwtUtil {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Vérifie le token (signature et expiration) et renvoie ses claims.
+     * Lève une JwtException si le token est invalide ou expiré.
+     */
+    public JwtClaims parse(String token) {
+        String key = hash(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token sans expiration");
+        }
+        JwtClaims parsed = new JwtClaims(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("role", String.class),
+                claims.getExpiration().toInstant());
+        verifiedTokens.put(key, parsed);
+        return parsed;
+    }
+
+    /**
+     * Claims de l'utilisateur connecté, résolus une seule fois par requête :
+     * en-têtes d'identité signés par api-gateway en priorité, sinon token Bearer
+     * (appel direct au service). Renvoie null si la requête n'a ni l'un ni l'autre.
+     */
+    public JwtClaims parse(HttpServletRequest request) {
+        Object resolved = request.getAttribute(CLAIMS_ATTRIBUTE);
+        if (resolved instanceof JwtClaims claims) {
+            return claims;
+        }
+
+        JwtClaims claims = gatewayIdentity.verify(request);
+        if (claims == null) {
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return null;
+            }
+            claims = parse(authHeader.substring(7));
+        }
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+        return claims;
+    }
+
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return parse(token).username();
     }
 
     public Long extractUserId(String token) {
-        return extractAllClaims(token).get("userId", Long.class);
+        return parse(token).userId();
     }
 
     public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parse(token).role();
     }
 
     public boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+        return parse(token).isExpired();
     }
 
     public boolean validateToken(String token, String username) {
-        return (extractUsername(token).equals(username) && !isTokenExpired(token));
+        JwtClaims claims = parse(token);
+        return claims.username().equals(username) && !claims.isExpired();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Une entrée vit au plus cacheTtl, et jamais au-delà de l'expiration du token
+     */
+    private record TokenExpiry(Duration ttl) implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtClaims claims, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return Math.min(ttl.toNanos(), remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
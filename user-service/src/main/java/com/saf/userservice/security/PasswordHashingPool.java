@@ -0,0 +1,80 @@
+package com.saf.userservice.security;
+
+import com.saf.actorpool.MailboxOverflowException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Pool borné dédié au hachage BCrypt (volontairement lent, ~100 ms) : login et
+ * inscription n'occupent plus les workers de UserActor pendant le hachage.
+ * Un thread par cœur par défaut ; au-delà de queue-capacity hachages en attente,
+ * la demande est refusée par une MailboxOverflowException (HTTP 503), comme
+ * par une boîte aux lettres pleine.
+ * Les résultats sont livrés sur des threads virtuels : la suite du traitement
+ * (JPA, email) ne prend pas la place d'un hachage.
+ */
+@Component
+public class PasswordHashingPool implements DisposableBean {
+
+    static final String NAME = "passwordHashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashing;
+    private final ExecutorService callbacks;
+
+    public PasswordHashingPool(PasswordEncoder passwordEncoder,
+            @Value("${password-hashing.threads:0}") int threads,
+            @Value("${password-hashing.queue-capacity:64}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.passwordEncoder = passwordEncoder;
+        this.hashing = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("password-hash-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.callbacks = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("password-hash-callback-", 0).factory());
+        ExecutorServiceMetrics.monitor(meterRegistry, hashing, NAME);
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public int getThreads() {
+        return hashing.getCorePoolSize();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashing)
+                    .thenApplyAsync(Function.identity(), callbacks);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new MailboxOverflowException(NAME, "file de hachage pleine"));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hashing.shutdown();
+        callbacks.shutdown();
+    }
+}
@@ -0,0 +1,37 @@
+package com.saf.userservice.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Donne le rôle SERVICE aux requêtes portant une signature de service valide
+ * (ServiceIdentity) ; les autres passent sans authentification
+ */
+public class ServiceIdentityFilter extends OncePerRequestFilter {
+
+    private final ServiceIdentity serviceIdentity;
+
+    public ServiceIdentityFilter(ServiceIdentity serviceIdentity) {
+        this.serviceIdentity = serviceIdentity;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String service = serviceIdentity.verify(request);
+        if (service != null) {
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                    service, null, List.of(new SimpleGrantedAuthority("ROLE_SERVICE"))));
+        }
+        chain.doFilter(request, response);
+    }
+}
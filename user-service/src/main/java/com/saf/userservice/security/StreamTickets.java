@@ -0,0 +1,79 @@
+package com.saf.userservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Tickets d'ouverture du flux SSE : EventSource ne peut pas envoyer d'en-tête,
+ * et un JWT en paramètre finirait dans les journaux d'accès.
+ * Un ticket (userId.expiration.nonce.signature) vit push.ticket.ttl et ne sert qu'une fois.
+ */
+@Component
+public class StreamTickets {
+
+    private final GatewayIdentity gatewayIdentity;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+    // Nonces déjà utilisés, gardés jusqu'à l'expiration de leur ticket
+    private final Cache<String, Boolean> redeemed;
+
+    public StreamTickets(GatewayIdentity gatewayIdentity,
+            @Value("${push.ticket.ttl:30s}") Duration ttl) {
+        this.gatewayIdentity = gatewayIdentity;
+        this.ttl = ttl;
+        this.redeemed = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.plusSeconds(1))
+                .build();
+    }
+
+    public String issue(Long userId) {
+        long expires = Instant.now().plus(ttl).getEpochSecond();
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        String nonce = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        return userId + "." + expires + "." + nonce + "." + signature(userId.toString(), expires, nonce);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Utilisateur du ticket, ou null s'il est invalide, expiré ou déjà utilisé
+     */
+    public Long redeem(String ticket) {
+        if (ticket == null) {
+            return null;
+        }
+        String[] parts = ticket.split("\\.");
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            long expires = Long.parseLong(parts[1]);
+            String expected = signature(parts[0], expires, parts[2]);
+            if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), parts[3].getBytes(StandardCharsets.UTF_8))
+                    || Instant.now().getEpochSecond() > expires
+                    || redeemed.asMap().putIfAbsent(parts[2], Boolean.TRUE) != null) {
+                return null;
+            }
+            return Long.valueOf(parts[0]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String signature(String userId, long expires, String nonce) {
+        byte[] mac = gatewayIdentity.sign("stream-ticket\n" + userId + "\n" + expires + "\n" + nonce);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac);
+    }
+}
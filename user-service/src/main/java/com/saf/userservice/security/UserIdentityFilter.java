@@ -0,0 +1,45 @@
+package com.saf.userservice.security;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Donne le rôle de l'utilisateur (ROLE_USER, ROLE_ADMIN) aux requêtes portant une
+ * identité valide (en-têtes de la passerelle ou token Bearer, voir JwtUtil.parse) ;
+ * une identité absente ou invalide laisse la requête sans authentification
+ */
+public class UserIdentityFilter extends OncePerRequestFilter {
+
+    private final JwtUtil jwtUtil;
+
+    public UserIdentityFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            try {
+                JwtClaims claims = jwtUtil.parse(request);
+                if (claims != null && claims.role() != null) {
+                    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                            claims.username(), null, List.of(new SimpleGrantedAuthority("ROLE_" + claims.role()))));
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // Les contrôleurs renvoient eux-mêmes 401 sur les routes qui exigent un utilisateur
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
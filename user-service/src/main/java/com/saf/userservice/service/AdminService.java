@@ -1,5 +1,7 @@
 package com.saf.userservice.service;
 
+import com.saf.core.ActorSystem;
+import com.saf.userservice.actor.messages.AnnonceMessages.AnnonceChanged;
 import com.saf.userservice.dto.*;
 import com.saf.userservice.model.AdminAction;
 import com.saf.userservice.model.Annonce;
@@ -7,12 +9,15 @@ import com.saf.userservice.model.User;
 import com.saf.userservice.repository.AdminActionRepository;
 import com.saf.userservice.repository.AnnonceRepository;
 import com.saf.userservice.repository.UserRepository;
+import com.saf.userservice.search.AnnonceSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
@@ -35,9 +40,15 @@ public class AdminService {
     @Autowired
     private AdminActionRepository adminActionRepository;
 
+    @Autowired
+    private AnnonceSearchIndex annonceSearchIndex;
+
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private ActorSystem actorSystem;
+
     private static final String TRANSACTION_SERVICE_URL = "http://transaction-service";
 
     // Récupérer les statistiques générales
@@ -153,6 +164,8 @@ public class AdminService {
 
         // Supprimer l'annonce
         annonceRepository.delete(annonce);
+        annonceSearchIndex.remove(annonceId);
+        publishChangeAfterCommit(annonceId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -161,6 +174,22 @@ public class AdminService {
         return response;
     }
 
+    // Même signal qu'AnnonceActor (EdgeCacheActor purge le cache de la passerelle),
+    // après le commit pour que la passerelle ne recharge pas l'annonce supprimée
+    private void publishChangeAfterCommit(Long annonceId) {
+        Runnable publish = () -> actorSystem.getEventBus().publish(new AnnonceChanged(annonceId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
     // Récupérer tous les utilisateurs avec détails
     public List<UserDetailsDTO> getAllUsers() {
         List<User> users = userRepository.findAll();
@@ -2,18 +2,24 @@ package com.saf.userservice.service;
 
 import com.saf.userservice.dto.ConversationDTO;
 import com.saf.userservice.dto.MessageDTO;
+import com.saf.userservice.dto.MessagePageDTO;
+import com.saf.userservice.dto.PageCursor;
 import com.saf.userservice.model.Conversation;
 import com.saf.userservice.model.Message;
 import com.saf.userservice.model.User;
+import com.saf.userservice.push.PushService;
+import com.saf.userservice.push.UnreadCounters;
 import com.saf.userservice.repository.ConversationRepository;
 import com.saf.userservice.repository.MessageRepository;
 import com.saf.userservice.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -30,6 +36,12 @@ public class MessageService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private PushService pushService;
+    
+    @Autowired
+    private UnreadCounters unreadCounters;
+    
     /**
      * Envoyer un message à un utilisateur
      */
@@ -56,48 +68,55 @@ public class MessageService {
         conversation.setLastMessageAt(LocalDateTime.now());
         conversationRepository.save(conversation);
         
-        return convertToDTO(message);
+        MessageDTO dto = convertToDTO(message);
+        pushService.newMessage(dto);
+        return dto;
     }
     
     /**
      * Obtenir toutes les conversations d'un utilisateur
      */
+    @Transactional(readOnly = true)
     public List<ConversationDTO> getUserConversations(Long userId) {
-        List<Conversation> conversations = conversationRepository.findConversationsByUserId(userId);
-        List<ConversationDTO> conversationDTOs = new ArrayList<>();
+        // Une seule requête agrégée, quel que soit le nombre de conversations
+        return conversationRepository.findConversationSummariesByUserId(userId);
+    }
+    
+    /**
+     * Obtenir une page de l'historique d'une conversation, en remontant le temps.
+     * La première page (before null) contient les messages les plus récents ;
+     * dans une page, les messages sont dans l'ordre chronologique.
+     */
+    @Transactional(readOnly = true)
+    public MessagePageDTO getConversationMessagesPage(Long conversationId, Long userId,
+                                                      PageCursor before, int size) {
+        checkParticipant(conversationId, userId);
+        
+        // Un message de plus que demandé pour savoir s'il reste un historique
+        List<Message> messages = new ArrayList<>(messageRepository.findConversationPage(
+            conversationId,
+            before != null ? before.at() : null,
+            before != null ? before.id() : null,
+            PageRequest.of(0, size + 1)));
         
-        for (Conversation conv : conversations) {
-            User otherUser = conv.getOtherUser(userId);
-            
-            // Obtenir le dernier message
-            List<Message> messages = messageRepository.findByConversationId(conv.getId());
-            String lastMessage = messages.isEmpty() ? "" : messages.get(messages.size() - 1).getContent();
-            
-            // Compter les messages non lus
-            long unreadCount = messages.stream()
-                .filter(m -> m.getReceiver().getId().equals(userId) && !m.isRead())
-                .count();
-            
-            ConversationDTO dto = new ConversationDTO(
-                conv.getId(),
-                otherUser.getId(),
-                otherUser.getUsername(),
-                otherUser.getEmail(),
-                lastMessage,
-                conv.getLastMessageAt(),
-                unreadCount
-            );
-            conversationDTOs.add(dto);
+        String nextCursor = null;
+        if (messages.size() > size) {
+            messages = messages.subList(0, size);
+            Message oldest = messages.get(size - 1);
+            nextCursor = new PageCursor(oldest.getSentAt(), oldest.getId()).encode();
         }
         
-        return conversationDTOs;
+        List<MessageDTO> page = messages.stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+        Collections.reverse(page);
+        return new MessagePageDTO(page, nextCursor);
     }
     
     /**
-     * Obtenir tous les messages d'une conversation
+     * Vérifier que l'utilisateur fait partie de la conversation
      */
-    public List<MessageDTO> getConversationMessages(Long conversationId, Long userId) {
-        // Vérifier que l'utilisateur fait partie de la conversation
+    private void checkParticipant(Long conversationId, Long userId) {
         Conversation conversation = conversationRepository.findById(conversationId)
             .orElseThrow(() -> new RuntimeException("Conversation non trouvée"));
         
@@ -105,33 +124,25 @@ public class MessageService {
             !conversation.getUser2().getId().equals(userId)) {
             throw new RuntimeException("Accès non autorisé à cette conversation");
         }
-        
-        List<Message> messages = messageRepository.findByConversationId(conversationId);
-        return messages.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
     }
     
     /**
      * Marquer les messages d'une conversation comme lus
+     * 
+     * @return nombre de messages passés à lu
      */
-    public void markConversationAsRead(Long conversationId, Long userId) {
-        List<Message> messages = messageRepository.findByConversationId(conversationId);
-        
-        for (Message message : messages) {
-            if (message.getReceiver().getId().equals(userId) && !message.isRead()) {
-                message.setRead(true);
-                message.setReadAt(LocalDateTime.now());
-                messageRepository.save(message);
-            }
-        }
+    public int markConversationAsRead(Long conversationId, Long userId) {
+        int count = messageRepository.markConversationMessagesAsRead(conversationId, userId);
+        pushService.unreadMessages(userId, -count);
+        return count;
     }
     
     /**
      * Compter le nombre total de messages non lus
      */
     public long getUnreadMessageCount(Long userId) {
-        return messageRepository.countUnreadMessages(userId);
+        // Compteur en mémoire : pas de COUNT à chaque affichage du badge
+        return unreadCounters.unreadMessages(userId);
     }
     
     /**
@@ -157,6 +168,9 @@ public class MessageService {
         }
         
         messageRepository.delete(message);
+        if (!message.isRead()) {
+            pushService.unreadMessages(message.getReceiver().getId(), -1);
+        }
     }
     
     /**
@@ -190,7 +204,9 @@ public class MessageService {
         conversation.setLastMessageAt(LocalDateTime.now());
         conversationRepository.save(conversation);
         
-        return convertToDTO(message);
+        MessageDTO dto = convertToDTO(message);
+        pushService.newMessage(dto);
+        return dto;
     }
     
     /**
@@ -1,19 +1,44 @@
 package com.saf.userservice.service;
 
 import com.saf.userservice.model.Notification;
+import com.saf.userservice.push.PushService;
+import com.saf.userservice.push.UnreadCounters;
 import com.saf.userservice.repository.NotificationRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final PushService pushService;
+    private final UnreadCounters unreadCounters;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository, PushService pushService,
+            UnreadCounters unreadCounters) {
         this.notificationRepository = notificationRepository;
+        this.pushService = pushService;
+        this.unreadCounters = unreadCounters;
+    }
+
+    /**
+     * Nombre de notifications non lues, servi depuis la mémoire
+     */
+    public long getUnreadCount(Long userId) {
+        return unreadCounters.unreadNotifications(userId);
+    }
+
+    /**
+     * Enregistre une notification reçue telle quelle (POST /api/notifications)
+     */
+    @Transactional
+    public Notification createNotification(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        pushService.newNotification(saved);
+        return saved;
     }
 
     @Transactional
@@ -26,7 +51,61 @@ public class NotificationService {
         notification.setRead(false);
         notification.setCreatedAt(LocalDateTime.now());
 
-        return notificationRepository.save(notification);
+        return createNotification(notification);
+    }
+
+    /**
+     * Enregistre un lot de notifications dans une seule transaction
+     */
+    @Transactional
+    public List<Notification> createNotifications(List<Notification> notifications) {
+        notifications.forEach(notification -> {
+            notification.setId(null);
+            if (notification.getCreatedAt() == null) {
+                notification.setCreatedAt(LocalDateTime.now());
+            }
+        });
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+        saved.forEach(pushService::newNotification);
+        return saved;
+    }
+
+    /**
+     * Marque toutes les notifications non lues de l'utilisateur comme lues
+     * 
+     * @return nombre de notifications modifiées
+     */
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int count = notificationRepository.markAllAsReadByUserId(userId);
+        pushService.unreadNotifications(userId, -count);
+        return count;
+    }
+
+    /**
+     * Mise à jour conditionnelle : de deux lectures simultanées, une seule décrémente le compteur
+     * @return false si la notification n'existe pas
+     */
+    @Transactional
+    public boolean markAsRead(Long notificationId) {
+        return notificationRepository.findById(notificationId)
+                .map(notification -> {
+                    if (notificationRepository.markAsReadIfUnread(notificationId) == 1) {
+                        pushService.unreadNotifications(notification.getUserId(), -1);
+                    }
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional
+    public void deleteNotification(Long notificationId) {
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            if (!notification.isRead()) {
+                pushService.unreadNotifications(notification.getUserId(), -1);
+            }
+        });
     }
 
     @Transactional
@@ -0,0 +1,44 @@
+package com.saf.userservice.service;
+
+import com.saf.core.ActorRef;
+import com.saf.userservice.actor.messages.AnnonceMessages.ReleaseExpiredReservations;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remet périodiquement en vente les annonces dont la réservation a expiré sans
+ * être confirmée ni annulée (transaction-service tombé, appel perdu...).
+ * La libération elle-même passe par AnnonceActor.
+ */
+@Component
+public class ReservationReaper {
+
+    private final ActorRef annonceActor;
+    private final ScheduledExecutorService scheduler;
+
+    public ReservationReaper(@Qualifier("annonceActor") ActorRef annonceActor,
+            @Value("${annonces.reservation.reaper-interval-ms:30000}") long intervalMs) {
+        this.annonceActor = annonceActor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::releaseExpired, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void releaseExpired() {
+        annonceActor.send(new ReleaseExpiredReservations(), null);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,120 @@
+-- Schéma initial du user-service, identique à celui que créait ddl-auto.
+-- IF NOT EXISTS : une base déjà créée par Hibernate est reprise telle quelle.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username           VARCHAR(50)  NOT NULL UNIQUE,
+    email              VARCHAR(100) NOT NULL UNIQUE,
+    password           VARCHAR(255) NOT NULL,
+    role               VARCHAR(20)  NOT NULL,
+    created_at         TIMESTAMP(6),
+    enabled            BOOLEAN      NOT NULL,
+    email_verified     BOOLEAN,
+    verification_token VARCHAR(255),
+    token_expiry_date  TIMESTAMP(6),
+    is_banned          BOOLEAN      NOT NULL,
+    banned_at          TIMESTAMP(6),
+    banned_reason      VARCHAR(500),
+    banned_by          VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS annonces (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titre            VARCHAR(200)   NOT NULL,
+    artiste          VARCHAR(100)   NOT NULL,
+    genre            VARCHAR(50),
+    annee_sortie     INTEGER,
+    prix             NUMERIC(10, 2) NOT NULL,
+    description      VARCHAR(1000),
+    image_url        VARCHAR(500),
+    etat             VARCHAR(20),
+    vendeur_id       BIGINT         NOT NULL,
+    vendeur_username VARCHAR(255),
+    created_at       TIMESTAMP(6),
+    disponible       BOOLEAN        NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS conversations (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user1_id        BIGINT       NOT NULL,
+    user2_id        BIGINT       NOT NULL,
+    last_message_at TIMESTAMP(6),
+    created_at      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_conversations_user1 FOREIGN KEY (user1_id) REFERENCES users (id),
+    CONSTRAINT fk_conversations_user2 FOREIGN KEY (user2_id) REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS messages (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    sender_id       BIGINT        NOT NULL,
+    receiver_id     BIGINT        NOT NULL,
+    content         VARCHAR(2000) NOT NULL,
+    sent_at         TIMESTAMP(6)  NOT NULL,
+    read_at         TIMESTAMP(6),
+    is_read         BOOLEAN       NOT NULL,
+    conversation_id BIGINT,
+    attachment_url  VARCHAR(255),
+    attachment_type VARCHAR(255),
+    attachment_name VARCHAR(255),
+    CONSTRAINT fk_messages_sender FOREIGN KEY (sender_id) REFERENCES users (id),
+    CONSTRAINT fk_messages_receiver FOREIGN KEY (receiver_id) REFERENCES users (id),
+    CONSTRAINT fk_messages_conversation FOREIGN KEY (conversation_id) REFERENCES conversations (id)
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    type       VARCHAR(50)  NOT NULL,
+    message    VARCHAR(500) NOT NULL,
+    related_id BIGINT,
+    is_read    BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS reviews (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    reviewer_id       BIGINT  NOT NULL,
+    reviewer_username VARCHAR(255),
+    reviewed_user_id  BIGINT  NOT NULL,
+    transaction_id    BIGINT,
+    rating            INTEGER NOT NULL,
+    comment           VARCHAR(1000),
+    created_at        TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS admin_actions (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    admin_username VARCHAR(50)  NOT NULL,
+    action_type    VARCHAR(50)  NOT NULL,
+    target_type    VARCHAR(50)  NOT NULL,
+    target_id      BIGINT       NOT NULL,
+    target_name    VARCHAR(200),
+    reason         VARCHAR(500),
+    created_at     TIMESTAMP(6),
+    details        VARCHAR(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_users_verification_token ON users (verification_token);
+
+CREATE INDEX IF NOT EXISTS idx_annonces_disponible_created ON annonces (disponible, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_annonces_genre_created ON annonces (genre, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_annonces_vendeur ON annonces (vendeur_id);
+
+CREATE INDEX IF NOT EXISTS idx_conversations_user1 ON conversations (user1_id, user2_id);
+CREATE INDEX IF NOT EXISTS idx_conversations_user2 ON conversations (user2_id, user1_id);
+
+CREATE INDEX IF NOT EXISTS idx_messages_conversation_sent ON messages (conversation_id, sent_at, id);
+CREATE INDEX IF NOT EXISTS idx_messages_receiver_read ON messages (receiver_id, is_read, sent_at);
+CREATE INDEX IF NOT EXISTS idx_messages_sender_receiver ON messages (sender_id, receiver_id);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications (user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_notifications_user_read ON notifications (user_id, is_read, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_reviews_reviewed_created ON reviews (reviewed_user_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_reviews_reviewer_created ON reviews (reviewer_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_reviews_transaction_reviewer ON reviews (transaction_id, reviewer_id);
+
+CREATE INDEX IF NOT EXISTS idx_admin_actions_created ON admin_actions (created_at);
+CREATE INDEX IF NOT EXISTS idx_admin_actions_admin_created ON admin_actions (admin_username, created_at);
+CREATE INDEX IF NOT EXISTS idx_admin_actions_type_created ON admin_actions (action_type, created_at);
+CREATE INDEX IF NOT EXISTS idx_admin_actions_target_created ON admin_actions (target_type, target_id, created_at);
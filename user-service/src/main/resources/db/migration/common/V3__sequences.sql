@@ -0,0 +1,10 @@
+-- Identifiants tirés de séquences par blocs de 50 (allocationSize des entités) :
+-- contrairement à IDENTITY, Hibernate peut alors regrouper les INSERT en lots JDBC.
+
+CREATE SEQUENCE IF NOT EXISTS admin_actions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS annonces_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS conversations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS messages_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reviews_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+-- Version de verrou optimiste des annonces (réservation conditionnelle à l'achat)
+
+ALTER TABLE annonces ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
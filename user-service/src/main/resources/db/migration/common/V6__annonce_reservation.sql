@@ -0,0 +1,7 @@
+-- Réservation d'une annonce pendant un achat : jeton du transaction-service qui la
+-- détient et échéance ; une réservation non confirmée à l'échéance est libérée
+
+ALTER TABLE annonces ADD COLUMN IF NOT EXISTS reservation_token VARCHAR(64);
+ALTER TABLE annonces ADD COLUMN IF NOT EXISTS reserved_until TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_annonces_reserved_until ON annonces (reserved_until);
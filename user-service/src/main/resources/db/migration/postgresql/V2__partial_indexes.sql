@@ -0,0 +1,6 @@
+-- Index partiels (PostgreSQL uniquement) : seules les lignes réellement
+-- recherchées par les compteurs de non lus et le catalogue y figurent.
+
+CREATE INDEX IF NOT EXISTS idx_messages_receiver_unread ON messages (receiver_id) WHERE is_read = FALSE;
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread ON notifications (user_id, created_at) WHERE is_read = FALSE;
+CREATE INDEX IF NOT EXISTS idx_annonces_disponibles ON annonces (created_at DESC, id DESC) WHERE disponible = TRUE;
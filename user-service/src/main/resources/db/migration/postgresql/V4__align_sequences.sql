@@ -0,0 +1,11 @@
+-- Recale les séquences après les lignes déjà insérées via IDENTITY. Hibernate
+-- traite chaque valeur tirée comme la borne haute d'un bloc de 50 : la première
+-- doit donc valoir MAX(id) + 50 pour que le bloc commence juste après MAX(id).
+
+SELECT setval('admin_actions_seq', (SELECT COALESCE(MAX(id), 0) FROM admin_actions) + 50, false);
+SELECT setval('annonces_seq', (SELECT COALESCE(MAX(id), 0) FROM annonces) + 50, false);
+SELECT setval('conversations_seq', (SELECT COALESCE(MAX(id), 0) FROM conversations) + 50, false);
+SELECT setval('messages_seq', (SELECT COALESCE(MAX(id), 0) FROM messages) + 50, false);
+SELECT setval('notifications_seq', (SELECT COALESCE(MAX(id), 0) FROM notifications) + 50, false);
+SELECT setval('reviews_seq', (SELECT COALESCE(MAX(id), 0) FROM reviews) + 50, false);
+SELECT setval('users_seq', (SELECT COALESCE(MAX(id), 0) FROM users) + 50, false);
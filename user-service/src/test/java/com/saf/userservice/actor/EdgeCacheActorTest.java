@@ -0,0 +1,79 @@
+package com.saf.userservice.actor;
+
+import com.saf.core.Message;
+import com.saf.userservice.actor.messages.AnnonceMessages.AnnonceChanged;
+import com.saf.userservice.security.GatewayIdentity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EdgeCacheActorTest {
+
+    private DiscoveryClient discoveryClient;
+    private RestTemplate restTemplate;
+    private GatewayIdentity gatewayIdentity;
+    private EdgeCacheActor actor;
+
+    @BeforeEach
+    void setUp() {
+        discoveryClient = mock(DiscoveryClient.class);
+        restTemplate = mock(RestTemplate.class);
+        gatewayIdentity = new GatewayIdentity("testGatewayIdentitySecret");
+        actor = new EdgeCacheActor(discoveryClient, restTemplate, gatewayIdentity, "api-gateway");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAnnonceChangedIsSignedAndSentToEachGateway() {
+        when(discoveryClient.getInstances("api-gateway")).thenReturn(List.of(
+                gateway("gw-1", 8080), gateway("gw-2", 8081)));
+
+        actor.onReceive(new Message(new AnnonceChanged(42L), null), null);
+
+        ArgumentCaptor<URI> uris = ArgumentCaptor.forClass(URI.class);
+        ArgumentCaptor<HttpEntity<Void>> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).postForEntity(uris.capture(), requests.capture(), eq(Void.class));
+        assertEquals(URI.create("http://localhost:8080/internal/edge-cache/invalidate?annonceId=42"),
+                uris.getAllValues().get(0));
+        assertEquals(URI.create("http://localhost:8081/internal/edge-cache/invalidate?annonceId=42"),
+                uris.getAllValues().get(1));
+
+        HttpEntity<Void> request = requests.getValue();
+        String timestamp = request.getHeaders().getFirst(EdgeCacheActor.TIMESTAMP);
+        assertNotNull(timestamp);
+        assertEquals(gatewayIdentity.signForGateway("edge-cache\n42\n" + timestamp),
+                request.getHeaders().getFirst(EdgeCacheActor.SIGNATURE));
+    }
+
+    @Test
+    void testUnreachableGatewayDoesNotStopTheOthers() {
+        when(discoveryClient.getInstances("api-gateway")).thenReturn(List.of(
+                gateway("gw-1", 8080), gateway("gw-2", 8081)));
+        when(restTemplate.postForEntity(eq(URI.create("http://localhost:8080/internal/edge-cache/invalidate?annonceId=7")),
+                any(), eq(Void.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertDoesNotThrow(() -> actor.onReceive(new Message(new AnnonceChanged(7L), null), null));
+
+        verify(restTemplate).postForEntity(eq(URI.create("http://localhost:8081/internal/edge-cache/invalidate?annonceId=7")),
+                any(), eq(Void.class));
+    }
+
+    private static ServiceInstance gateway(String id, int port) {
+        return new DefaultServiceInstance(id, "api-gateway", "localhost", port, false);
+    }
+}
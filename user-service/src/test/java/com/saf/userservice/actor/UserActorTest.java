@@ -0,0 +1,66 @@
+package com.saf.userservice.actor;
+
+import com.saf.core.ActorRef;
+import com.saf.core.Message;
+import com.saf.userservice.actor.messages.UserMessages;
+import com.saf.userservice.model.User;
+import com.saf.userservice.repository.UserRepository;
+import com.saf.userservice.security.JwtUtil;
+import com.saf.userservice.security.PasswordHashingPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserActorTest {
+
+    private UserRepository userRepository;
+    private ActorRef emailActor;
+    private UserActor actor;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        PasswordHashingPool passwordHashingPool = mock(PasswordHashingPool.class);
+        when(passwordHashingPool.encode("secret")).thenReturn(CompletableFuture.completedFuture("hash"));
+        emailActor = mock(ActorRef.class);
+        actor = new UserActor(userRepository, passwordHashingPool, mock(JwtUtil.class), emailActor);
+    }
+
+    @Test
+    void testConcurrentRegistrationWithSameEmailGetsEmailInUse() throws Exception {
+        // La vérification préalable passe, l'autre inscription est enregistrée pendant le hachage
+        when(userRepository.existsByEmail("a@example.com")).thenReturn(false, true);
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("UK_users_email"));
+
+        Object reply = register("alice", "a@example.com");
+
+        assertEquals(new UserMessages.UserOperationError("Email déjà utilisé"), reply);
+        verifyNoInteractions(emailActor);
+    }
+
+    @Test
+    void testConcurrentRegistrationWithSameUsernameGetsUsernameInUse() throws Exception {
+        when(userRepository.existsByEmail("b@example.com")).thenReturn(false);
+        when(userRepository.existsByUsername("alice")).thenReturn(true);
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("UK_users_username"));
+
+        Object reply = register("alice", "b@example.com");
+
+        assertEquals(new UserMessages.UserOperationError("Nom d'utilisateur déjà utilisé"), reply);
+    }
+
+    private Object register(String username, String email) throws Exception {
+        CompletableFuture<Object> reply = new CompletableFuture<>();
+        actor.onReceive(new Message(new UserMessages.RegisterUser(username, email, "secret"), null, reply), null);
+        return reply.get(2, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,285 @@
+package com.saf.userservice.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saf.core.ActorRef;
+import com.saf.userservice.actor.messages.AnnonceMessages.ReleaseExpiredReservations;
+import com.saf.userservice.config.TestSecurityConfig;
+import com.saf.userservice.model.Annonce;
+import com.saf.userservice.model.User;
+import com.saf.userservice.repository.AnnonceRepository;
+import com.saf.userservice.repository.UserRepository;
+import com.saf.userservice.search.AnnonceSearchIndex;
+import com.saf.userservice.security.ServiceIdentity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"annonces.list.max-size=3", "annonces.page.max-size=4"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class AnnonceControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnnonceRepository annonceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ServiceIdentity serviceIdentity;
+
+    @Autowired
+    private ActorRef annonceActor;
+
+    @Autowired
+    private AnnonceSearchIndex searchIndex;
+
+    private Long vendeurId;
+
+    @BeforeEach
+    void setUp() {
+        annonceRepository.deleteAll();
+        userRepository.deleteAll();
+        vendeurId = userRepository.save(new User("vendeur", "vendeur@example.com", "secret")).getId();
+
+        // Même date pour les deux premières : l'id départage
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        List<Annonce> annonces = new ArrayList<>();
+        annonces.add(annonce("A", "Rock", "NEUF", "10.00", base));
+        annonces.add(annonce("B", "Rock", "NEUF", "20.00", base));
+        annonces.add(annonce("C", "Jazz", "OCCASION", "30.00", base.plusHours(1)));
+        annonces.add(annonce("D", "Rock", "OCCASION", "40.00", base.plusHours(2)));
+        annonces.add(annonce("E", "Rock", "NEUF", "50.00", base.plusHours(3)));
+        Annonce vendue = annonce("F", "Rock", "NEUF", "60.00", base.plusHours(4));
+        vendue.setDisponible(false);
+        annonces.add(vendue);
+        annonceRepository.saveAll(annonces);
+    }
+
+    @AfterEach
+    void tearDown() {
+        annonceRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testGetAllAnnonces_IsCapped() throws Exception {
+        performAsync(get("/api/annonces"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].titre").value("E"));
+    }
+
+    @Test
+    void testGetAnnoncesPage_WalksCatalogWithCursor() throws Exception {
+        JsonNode first = page("/api/annonces/page?size=2");
+        assertEquals(List.of("E", "D"), titres(first));
+
+        JsonNode second = page("/api/annonces/page?size=2&cursor=" + first.get("nextCursor").asText());
+        assertEquals(List.of("C", "B"), titres(second));
+
+        JsonNode last = page("/api/annonces/page?size=2&cursor=" + second.get("nextCursor").asText());
+        assertEquals(List.of("A"), titres(last));
+        assertTrue(last.get("nextCursor").isNull());
+    }
+
+    @Test
+    void testGetAnnoncesPage_FiltersAndOldestFirst() throws Exception {
+        JsonNode page = page("/api/annonces/page?sort=ancien&genre=Rock&etat=NEUF&prixMin=15&prixMax=50");
+
+        assertEquals(List.of("B", "E"), titres(page));
+        assertTrue(page.get("nextCursor").isNull());
+    }
+
+    @Test
+    void testGetAnnoncesPage_SizeIsBounded() throws Exception {
+        assertEquals(4, titres(page("/api/annonces/page?size=1000")).size());
+    }
+
+    @Test
+    void testGetAnnoncesPage_InvalidCursor() throws Exception {
+        performAsync(get("/api/annonces/page").param("cursor", "pas-un-curseur"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Curseur invalide"));
+    }
+
+    @Test
+    void testSearchAnnonces_SkipsAnnonceSoldSinceItWasIndexed() throws Exception {
+        Annonce annonce = annonceRepository.findAll().stream()
+                .filter(a -> "E".equals(a.getTitre()))
+                .findFirst().orElseThrow();
+        searchIndex.index(annonce);
+        performAsync(get("/api/annonces/search").param("q", "E"))
+                .andExpect(jsonPath("$[?(@.id == " + annonce.getId() + ")]").exists());
+
+        // Vendue par une autre instance : l'index de celle-ci n'en sait rien
+        annonce.setDisponible(false);
+        annonceRepository.save(annonce);
+
+        performAsync(get("/api/annonces/search").param("q", "E"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + annonce.getId() + ")]").doesNotExist());
+    }
+
+    @Test
+    void testReserveAnnonce_OnlyFirstBuyerWins() throws Exception {
+        Annonce annonce = annonceRepository.findAll().get(0);
+
+        performAsync(signed(put("/api/annonces/" + annonce.getId() + "/reserve?version=" + annonce.getVersion()
+                + "&token=t1")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disponible").value(false))
+                .andExpect(jsonPath("$.version").value(annonce.getVersion() + 1))
+                .andExpect(jsonPath("$.reservationToken").doesNotExist());
+
+        performAsync(signed(put("/api/annonces/" + annonce.getId() + "/reserve?token=t2")))
+                .andExpect(status().isConflict());
+        Annonce reserved = annonceRepository.findById(annonce.getId()).orElseThrow();
+        assertFalse(reserved.isDisponible());
+        assertEquals("t1", reserved.getReservationToken());
+        assertNotNull(reserved.getReservedUntil());
+    }
+
+    @Test
+    void testReserveAnnonce_StaleVersionIsRefused() throws Exception {
+        Annonce annonce = annonceRepository.findAll().get(0);
+
+        performAsync(signed(put("/api/annonces/" + annonce.getId() + "/reserve?version=" + (annonce.getVersion() + 1)
+                + "&token=t1")))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Annonce non disponible"));
+        assertTrue(annonceRepository.findById(annonce.getId()).orElseThrow().isDisponible());
+
+        performAsync(signed(put("/api/annonces/999999/reserve?token=t1")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testReleaseAnnonce_OnlyByItsHolder() throws Exception {
+        Long id = annonceRepository.findAll().get(0).getId();
+        performAsync(signed(put("/api/annonces/" + id + "/reserve?token=t1")))
+                .andExpect(status().isOk());
+
+        performAsync(signed(put("/api/annonces/" + id + "/release?token=autre")))
+                .andExpect(status().isOk());
+        assertFalse(annonceRepository.findById(id).orElseThrow().isDisponible());
+
+        performAsync(signed(put("/api/annonces/" + id + "/release?token=t1")))
+                .andExpect(status().isOk());
+        assertTrue(annonceRepository.findById(id).orElseThrow().isDisponible());
+        performAsync(signed(put("/api/annonces/" + id + "/reserve?token=t2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testConfirmedReservationDoesNotExpire() throws Exception {
+        Long id = annonceRepository.findAll().get(0).getId();
+        performAsync(signed(put("/api/annonces/" + id + "/reserve?token=t1")))
+                .andExpect(status().isOk());
+
+        performAsync(signed(put("/api/annonces/" + id + "/confirm?token=autre")))
+                .andExpect(status().isConflict());
+        performAsync(signed(put("/api/annonces/" + id + "/confirm?token=t1")))
+                .andExpect(status().isOk());
+
+        assertNull(annonceRepository.findById(id).orElseThrow().getReservedUntil());
+        assertEquals(0, annonceRepository.releaseExpired(id, LocalDateTime.now().plusDays(1)));
+    }
+
+    @Test
+    void testExpiredReservationIsReleased() throws Exception {
+        List<Annonce> all = annonceRepository.findAll();
+        Long expiredId = all.get(0).getId();
+        Long activeId = all.get(1).getId();
+        performAsync(signed(put("/api/annonces/" + expiredId + "/reserve?token=t1")))
+                .andExpect(status().isOk());
+        performAsync(signed(put("/api/annonces/" + activeId + "/reserve?token=t2")))
+                .andExpect(status().isOk());
+        Annonce expired = annonceRepository.findById(expiredId).orElseThrow();
+        expired.setReservedUntil(LocalDateTime.now().minusMinutes(1));
+        annonceRepository.save(expired);
+
+        // Ce qu'envoie ReservationReaper, attendu ici par ask
+        annonceActor.ask(new ReleaseExpiredReservations(), Duration.ofSeconds(5)).get();
+
+        assertTrue(annonceRepository.findById(expiredId).orElseThrow().isDisponible());
+        assertNull(annonceRepository.findById(expiredId).orElseThrow().getReservationToken());
+        assertFalse(annonceRepository.findById(activeId).orElseThrow().isDisponible());
+    }
+
+    private JsonNode page(String url) throws Exception {
+        String body = performAsync(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private static List<String> titres(JsonNode page) {
+        List<String> titres = new ArrayList<>();
+        page.get("annonces").forEach(annonce -> titres.add(annonce.get("titre").asText()));
+        return titres;
+    }
+
+    private Annonce annonce(String titre, String genre, String etat, String prix, LocalDateTime createdAt) {
+        Annonce annonce = new Annonce();
+        annonce.setTitre(titre);
+        annonce.setArtiste("Artiste");
+        annonce.setGenre(genre);
+        annonce.setEtat(etat);
+        annonce.setPrix(new BigDecimal(prix));
+        annonce.setVendeurId(vendeurId);
+        annonce.setVendeurUsername("vendeur");
+        annonce.setCreatedAt(createdAt);
+        return annonce;
+    }
+
+    /**
+     * Appel signé comme le ferait transaction-service
+     */
+    private MockHttpServletRequestBuilder signed(MockHttpServletRequestBuilder request) {
+        long timestamp = Instant.now().getEpochSecond();
+        MockHttpServletRequest built = request.buildRequest(new MockServletContext());
+        return request.header(ServiceIdentity.SERVICE, "transaction-service")
+                .header(ServiceIdentity.TIMESTAMP, timestamp)
+                .header(ServiceIdentity.SIGNATURE, serviceIdentity.sign("transaction-service",
+                        built.getMethod(), built.getRequestURI(), built.getQueryString(), timestamp));
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
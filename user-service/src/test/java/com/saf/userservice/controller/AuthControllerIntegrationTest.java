@@ -14,6 +14,9 @@ import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashMap;
@@ -55,7 +58,7 @@ class AuthControllerIntegrationTest {
         registerRequest.put("password", "password123");
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/register")
+        performAsync(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isOk())
@@ -67,7 +70,7 @@ class AuthControllerIntegrationTest {
     void testRegister_DuplicateUsername() throws Exception {
         // Arrange - Create existing user
         User existingUser = new User("existinguser", "existing@example.com", passwordEncoder.encode("password"));
-        userRepository.save(existingUser);
+        userRepository.saveAndFlush(existingUser);
 
         Map<String, String> registerRequest = new HashMap<>();
         registerRequest.put("username", "existinguser");
@@ -75,7 +78,7 @@ class AuthControllerIntegrationTest {
         registerRequest.put("password", "password123");
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/register")
+        performAsync(post("/api/auth/register")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isBadRequest())
@@ -99,7 +102,7 @@ class AuthControllerIntegrationTest {
         loginRequest.put("password", "password123");
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isOk())
@@ -115,7 +118,7 @@ class AuthControllerIntegrationTest {
         loginRequest.put("password", "wrongpassword");
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isUnauthorized())
@@ -136,7 +139,7 @@ class AuthControllerIntegrationTest {
         loginRequest.put("password", "password123");
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        performAsync(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
                 .andExpect(status().isForbidden())
@@ -147,7 +150,7 @@ class AuthControllerIntegrationTest {
     @Test
     void testVerifyEmail_InvalidToken() throws Exception {
         // Act & Assert
-        mockMvc.perform(get("/api/auth/verify")
+        performAsync(get("/api/auth/verify")
                 .param("token", "invalid-token"))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.verified").value(false));
@@ -166,10 +169,21 @@ class AuthControllerIntegrationTest {
         request.put("email", "unverified@example.com");
 
         // Act & Assert
-        mockMvc.perform(post("/api/auth/resend-verification")
+        performAsync(post("/api/auth/resend-verification")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk());
     }
     */
+
+    /**
+     * Les endpoints renvoient un CompletableFuture : on attend le démarrage
+     * asynchrone puis on rejoue la réponse via asyncDispatch
+     */
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
 }
@@ -0,0 +1,71 @@
+package com.saf.userservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saf.userservice.config.TestSecurityConfig;
+import com.saf.userservice.model.Notification;
+import com.saf.userservice.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "notifications.batch.max-size=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+class NotificationControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll();
+    }
+
+    @Test
+    void testCreateNotifications_StoresBatch() throws Exception {
+        mockMvc.perform(post("/api/notifications/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch(3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3));
+
+        assertEquals(3, notificationRepository.count());
+    }
+
+    @Test
+    void testCreateNotifications_RejectsOversizedBatch() throws Exception {
+        mockMvc.perform(post("/api/notifications/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch(4))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+
+        assertEquals(0, notificationRepository.count());
+    }
+
+    private static List<Notification> batch(int size) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new Notification(1L, "NEW_OFFER", "Offre " + i, (long) i))
+                .toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.saf.userservice.push;
+
+import com.saf.core.ActorSystem;
+import com.saf.core.EventBus;
+import com.saf.userservice.actor.PushActor.PushEvent;
+import com.saf.userservice.dto.MessageDTO;
+import com.saf.userservice.model.Notification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PushServiceTest {
+
+    private EventBus eventBus;
+    private UnreadCounters unreadCounters;
+    private PushService pushService;
+
+    @BeforeEach
+    void setUp() {
+        eventBus = mock(EventBus.class);
+        ActorSystem actorSystem = mock(ActorSystem.class);
+        when(actorSystem.getEventBus()).thenReturn(eventBus);
+        unreadCounters = mock(UnreadCounters.class);
+        pushService = new PushService(actorSystem, unreadCounters);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testNewMessagePublishesMessageAndUnreadDelta() {
+        MessageDTO message = new MessageDTO(1L, 10L, "alice", 20L, "bob", "Bonjour",
+                LocalDateTime.now(), null, false, 5L);
+
+        pushService.newMessage(message);
+
+        ArgumentCaptor<PushEvent> events = ArgumentCaptor.forClass(PushEvent.class);
+        verify(eventBus, times(2)).publish(events.capture());
+        List<PushEvent> published = events.getAllValues();
+        assertEquals(new PushEvent(20L, PushService.MESSAGE, message), published.get(0));
+        assertEquals(new PushEvent(20L, PushService.UNREAD, Map.of("type", "messages", "delta", 1L)),
+                published.get(1));
+    }
+
+    @Test
+    void testNotificationAlreadyReadDoesNotChangeUnreadCount() {
+        Notification notification = new Notification(20L, "INFO", "Déjà lue", null);
+        notification.setRead(true);
+
+        pushService.newNotification(notification);
+
+        verify(eventBus).publish(new PushEvent(20L, PushService.NOTIFICATION, notification));
+        verifyNoInteractions(unreadCounters);
+        verifyNoMoreInteractions(eventBus);
+    }
+
+    @Test
+    void testZeroDeltaIsNotPublished() {
+        pushService.unreadNotifications(20L, 0);
+
+        verifyNoInteractions(eventBus, unreadCounters);
+    }
+
+    @Test
+    void testPublicationWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        pushService.unreadMessages(20L, -3);
+        verifyNoInteractions(eventBus);
+        // Les compteurs attendent eux-mêmes le commit (UnreadCounters)
+        verify(unreadCounters).adjustMessages(20L, -3);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(eventBus).publish(new PushEvent(20L, PushService.UNREAD, Map.of("type", "messages", "delta", -3L)));
+    }
+}
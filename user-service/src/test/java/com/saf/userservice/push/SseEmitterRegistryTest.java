@@ -0,0 +1,81 @@
+package com.saf.userservice.push;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseEmitterRegistryTest {
+
+    private final SseEmitterRegistry registry = new SseEmitterRegistry(60000, 60000, 2, 60000);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        registry.shutdown();
+    }
+
+    @Test
+    void testSlowClientDoesNotDelayOtherUsers() throws InterruptedException {
+        registry.register(1L, new BlockedEmitter());
+        CountingEmitter other = new CountingEmitter(2);
+        registry.register(2L, other);
+
+        registry.deliver(1L, PushService.MESSAGE, "lent");
+        registry.deliver(2L, PushService.MESSAGE, "rapide");
+
+        // connected + message, alors que l'envoi vers l'utilisateur 1 est toujours bloqué
+        assertTrue(other.sent.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testClientIsDroppedWhenItsQueueIsFull() throws InterruptedException {
+        BlockedEmitter slow = new BlockedEmitter();
+        registry.register(1L, slow);
+
+        for (int i = 0; i < 5; i++) {
+            registry.deliver(1L, PushService.MESSAGE, i);
+        }
+
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, registry.getConnectionCount());
+    }
+
+    private class BlockedEmitter extends SseEmitter {
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static class CountingEmitter extends SseEmitter {
+
+        private final CountDownLatch sent;
+
+        CountingEmitter(int expected) {
+            this.sent = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.countDown();
+        }
+    }
+}
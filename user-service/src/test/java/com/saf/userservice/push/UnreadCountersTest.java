@@ -0,0 +1,154 @@
+package com.saf.userservice.push;
+
+import com.saf.userservice.repository.MessageRepository;
+import com.saf.userservice.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class UnreadCountersTest {
+
+    private MessageRepository messageRepository;
+    private NotificationRepository notificationRepository;
+    private UnreadCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository = mock(MessageRepository.class);
+        notificationRepository = mock(NotificationRepository.class);
+        counters = new UnreadCounters(messageRepository, notificationRepository, 3_600_000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        counters.shutdown();
+    }
+
+    @Test
+    void testLoadedOnceThenAdjustedInMemory() {
+        when(messageRepository.countUnreadMessages(1L)).thenReturn(4L);
+
+        assertEquals(4, counters.unreadMessages(1L));
+        counters.adjustMessages(1L, 1);
+        counters.adjustMessages(1L, -3);
+
+        assertEquals(2, counters.unreadMessages(1L));
+        verify(messageRepository, times(1)).countUnreadMessages(1L);
+    }
+
+    @Test
+    void testAdjustWithoutCounterIsIgnored() {
+        counters.adjustNotifications(1L, 5);
+        when(notificationRepository.countByUserIdAndIsReadFalse(1L)).thenReturn(2L);
+
+        assertEquals(2, counters.unreadNotifications(1L));
+    }
+
+    @Test
+    void testReconcileResetsCountersFromDatabase() {
+        when(messageRepository.countUnreadMessages(anyLong())).thenReturn(0L);
+        counters.unreadMessages(1L);
+        counters.unreadMessages(2L);
+        counters.adjustMessages(1L, 7);
+        counters.adjustMessages(2L, 7);
+        when(messageRepository.countUnreadMessagesByReceiverIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 3L}));
+
+        counters.reconcile();
+
+        assertEquals(3, counters.unreadMessages(1L));
+        assertEquals(0, counters.unreadMessages(2L));
+    }
+
+    @Test
+    void testReconcileDoesNotCountTwiceAWriteCommittedDuringTheQuery() {
+        when(messageRepository.countUnreadMessages(1L)).thenReturn(0L);
+        counters.unreadMessages(1L);
+        List<TransactionSynchronization> write = inTransaction(() -> counters.adjustMessages(1L, 1));
+        // Message commité après le relevé des versions et vu par le GROUP BY
+        when(messageRepository.countUnreadMessagesByReceiverIds(anyCollection())).thenAnswer(invocation -> {
+            write.forEach(sync -> sync.beforeCommit(false));
+            write.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            return List.<Object[]>of(new Object[]{1L, 1L});
+        });
+
+        counters.reconcile();
+
+        assertEquals(1, counters.unreadMessages(1L));
+    }
+
+    @Test
+    void testReconcileWaitsForVariationOfWriteCommittedBeforeTheQuery() {
+        when(messageRepository.countUnreadMessages(1L)).thenReturn(0L);
+        counters.unreadMessages(1L);
+        List<TransactionSynchronization> write = inTransaction(() -> counters.adjustMessages(1L, 1));
+        write.forEach(sync -> sync.beforeCommit(false));
+        when(messageRepository.countUnreadMessagesByReceiverIds(anyCollection()))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 1L}));
+
+        counters.reconcile();
+        write.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(1, counters.unreadMessages(1L));
+    }
+
+    @Test
+    void testFirstLoadCrossedByAWriteIsNotKept() {
+        List<TransactionSynchronization> write = inTransaction(() -> counters.adjustNotifications(1L, 1));
+        write.forEach(sync -> sync.beforeCommit(false));
+        // Le COUNT voit la notification, dont la variation n'est pas encore appliquée
+        when(notificationRepository.countByUserIdAndIsReadFalse(1L)).thenReturn(1L);
+
+        assertEquals(1, counters.unreadNotifications(1L));
+        write.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(1, counters.unreadNotifications(1L));
+        verify(notificationRepository, times(2)).countByUserIdAndIsReadFalse(1L);
+    }
+
+    @Test
+    void testRolledBackWriteIsNotApplied() {
+        when(messageRepository.countUnreadMessages(1L)).thenReturn(2L);
+        counters.unreadMessages(1L);
+        List<TransactionSynchronization> write = inTransaction(() -> counters.adjustMessages(1L, 1));
+
+        write.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(2, counters.unreadMessages(1L));
+    }
+
+    @Test
+    void testReconcileEvictsSurplusWhenTooManyUsers() {
+        when(notificationRepository.countByUserIdAndIsReadFalse(anyLong())).thenReturn(1L);
+        counters.unreadNotifications(1L);
+        counters.unreadNotifications(2L);
+        counters.unreadNotifications(3L);
+        when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(List.of());
+
+        counters.reconcile();
+        counters.unreadNotifications(1L);
+        counters.unreadNotifications(2L);
+        counters.unreadNotifications(3L);
+
+        // Un seul des trois compteurs a été retiré puis rechargé
+        verify(notificationRepository, times(4)).countByUserIdAndIsReadFalse(anyLong());
+    }
+
+    private static List<TransactionSynchronization> inTransaction(Runnable writes) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writes.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
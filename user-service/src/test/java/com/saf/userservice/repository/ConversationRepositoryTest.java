@@ -0,0 +1,109 @@
+package com.saf.userservice.repository;
+
+import com.saf.userservice.dto.ConversationDTO;
+import com.saf.userservice.model.Conversation;
+import com.saf.userservice.model.Message;
+import com.saf.userservice.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ConversationRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    private User vendeur;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        vendeur = entityManager.persist(new User("vendeur", "vendeur@example.com", "secret"));
+        alice = entityManager.persist(new User("alice", "alice@example.com", "secret"));
+        bob = entityManager.persist(new User("bob", "bob@example.com", "secret"));
+    }
+
+    @Test
+    void testFindConversationSummariesByUserId() {
+        Conversation avecAlice = conversation(alice, vendeur, LocalDateTime.now().minusHours(1));
+        message(avecAlice, alice, vendeur, "Bonjour");
+        message(avecAlice, alice, vendeur, "Toujours dispo ?");
+        message(avecAlice, vendeur, alice, "Oui");
+
+        Conversation avecBob = conversation(vendeur, bob, LocalDateTime.now());
+        Message lu = message(avecBob, bob, vendeur, "Je prends");
+        lu.setRead(true);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ConversationDTO> summaries = conversationRepository.findConversationSummariesByUserId(vendeur.getId());
+
+        assertEquals(2, summaries.size());
+        ConversationDTO bobSummary = summaries.get(0);
+        assertEquals(bob.getId(), bobSummary.getOtherUserId());
+        assertEquals("bob", bobSummary.getOtherUsername());
+        assertEquals("Je prends", bobSummary.getLastMessage());
+        assertEquals(0, bobSummary.getUnreadCount());
+
+        ConversationDTO aliceSummary = summaries.get(1);
+        assertEquals(alice.getId(), aliceSummary.getOtherUserId());
+        assertEquals("alice@example.com", aliceSummary.getOtherUserEmail());
+        assertEquals("Oui", aliceSummary.getLastMessage());
+        assertEquals(2, aliceSummary.getUnreadCount());
+    }
+
+    @Test
+    void testFindConversationSummariesByUserId_LastMessageIsTheMostRecentlySent() {
+        Conversation conversation = conversation(alice, vendeur, LocalDateTime.now());
+        Message recent = message(conversation, alice, vendeur, "Envoyé en dernier");
+        recent.setSentAt(LocalDateTime.now());
+        // Id plus grand mais horodatage plus ancien (ex. message rejoué)
+        Message ancien = message(conversation, vendeur, alice, "Envoyé avant");
+        ancien.setSentAt(LocalDateTime.now().minusMinutes(5));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ConversationDTO> summaries = conversationRepository.findConversationSummariesByUserId(alice.getId());
+
+        assertEquals("Envoyé en dernier", summaries.get(0).getLastMessage());
+    }
+
+    @Test
+    void testFindConversationSummariesByUserId_EmptyConversation() {
+        conversation(alice, bob, LocalDateTime.now());
+        entityManager.flush();
+
+        List<ConversationDTO> summaries = conversationRepository.findConversationSummariesByUserId(bob.getId());
+
+        assertEquals(1, summaries.size());
+        assertEquals("", summaries.get(0).getLastMessage());
+        assertEquals(0, summaries.get(0).getUnreadCount());
+        assertTrue(conversationRepository.findConversationSummariesByUserId(vendeur.getId()).isEmpty());
+    }
+
+    private Conversation conversation(User user1, User user2, LocalDateTime lastMessageAt) {
+        Conversation conversation = new Conversation(user1, user2);
+        conversation.setLastMessageAt(lastMessageAt);
+        return entityManager.persist(conversation);
+    }
+
+    private Message message(Conversation conversation, User sender, User receiver, String content) {
+        Message message = new Message(sender, receiver, content);
+        message.setConversation(conversation);
+        return entityManager.persist(message);
+    }
+}
@@ -0,0 +1,53 @@
+package com.saf.userservice.repository;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vérifie avec EXPLAIN que chaque chemin de requête des repositories passe par
+ * un index plutôt que par un parcours complet de la table. Le schéma est celui
+ * des migrations Flyway, validé contre les entités au démarrage.
+ */
+@DataJpaTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+@ActiveProfiles("test")
+class IndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "SELECT * FROM annonces WHERE disponible = TRUE ORDER BY created_at DESC, id DESC",
+            "SELECT COUNT(*) FROM annonces WHERE disponible = TRUE",
+            "SELECT * FROM annonces WHERE genre = 'Rock'",
+            "SELECT * FROM annonces WHERE vendeur_id = 1",
+            "SELECT * FROM messages WHERE conversation_id = 1 ORDER BY sent_at DESC, id DESC",
+            "SELECT COUNT(*) FROM messages WHERE receiver_id = 1 AND is_read = FALSE",
+            "SELECT receiver_id, COUNT(*) FROM messages WHERE receiver_id IN (1, 2) AND is_read = FALSE GROUP BY receiver_id",
+            "SELECT * FROM messages WHERE sender_id = 1 AND receiver_id = 2",
+            "SELECT * FROM notifications WHERE user_id = 1 ORDER BY created_at DESC",
+            "SELECT COUNT(*) FROM notifications WHERE user_id = 1 AND is_read = FALSE",
+            "SELECT * FROM conversations WHERE user1_id = 1 AND user2_id = 2",
+            "SELECT * FROM conversations WHERE user2_id = 1",
+            "SELECT * FROM reviews WHERE reviewed_user_id = 1 ORDER BY created_at DESC",
+            "SELECT * FROM reviews WHERE reviewer_id = 1 ORDER BY created_at DESC",
+            "SELECT * FROM reviews WHERE transaction_id = 1 AND reviewer_id = 2",
+            "SELECT * FROM admin_actions WHERE created_at BETWEEN '2024-01-01' AND '2024-02-01'",
+            "SELECT * FROM admin_actions WHERE admin_username = 'admin' ORDER BY created_at DESC",
+            "SELECT * FROM admin_actions WHERE action_type = 'BAN_USER' ORDER BY created_at DESC",
+            "SELECT * FROM admin_actions WHERE target_type = 'USER' AND target_id = 1",
+            "SELECT * FROM users WHERE verification_token = 'abc'"
+    })
+    void testQueryUsesIndex(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        // H2 signale un parcours complet par "tableScan" dans le plan
+        assertFalse(plan.contains("tableScan"), () -> "Parcours complet :\n" + plan);
+    }
+}
@@ -0,0 +1,87 @@
+package com.saf.userservice.repository;
+
+import com.saf.userservice.model.Conversation;
+import com.saf.userservice.model.Message;
+import com.saf.userservice.model.Notification;
+import com.saf.userservice.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MarkAsReadRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    void testMarkConversationMessagesAsRead() {
+        User alice = entityManager.persist(new User("alice", "alice@example.com", "secret"));
+        User bob = entityManager.persist(new User("bob", "bob@example.com", "secret"));
+        Conversation conversation = entityManager.persist(new Conversation(alice, bob));
+        message(conversation, alice, bob);
+        message(conversation, alice, bob);
+        message(conversation, bob, alice);
+
+        Map<Long, Long> counts = messageRepository.countUnreadMessagesByReceiverIds(List.of(alice.getId(), bob.getId()))
+                .stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        assertEquals(Map.of(alice.getId(), 1L, bob.getId(), 2L), counts);
+
+        assertEquals(2, messageRepository.markConversationMessagesAsRead(conversation.getId(), bob.getId()));
+        assertEquals(0, messageRepository.countUnreadMessages(bob.getId()));
+        assertEquals(1, messageRepository.countUnreadMessages(alice.getId()));
+        assertTrue(messageRepository.findByConversationId(conversation.getId()).stream()
+                .filter(Message::isRead)
+                .allMatch(m -> m.getReadAt() != null));
+
+        // Déjà lus : rien à faire
+        assertEquals(0, messageRepository.markConversationMessagesAsRead(conversation.getId(), bob.getId()));
+    }
+
+    @Test
+    void testMarkAllNotificationsAsRead() {
+        entityManager.persist(new Notification(1L, "NEW_OFFER", "Nouvelle offre", 10L));
+        entityManager.persist(new Notification(1L, "NEW_OFFER", "Nouvelle offre", 11L));
+        entityManager.persist(new Notification(2L, "NEW_OFFER", "Nouvelle offre", 12L));
+
+        Map<Long, Long> counts = notificationRepository.countUnreadByUserIds(List.of(1L, 2L)).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        assertEquals(Map.of(1L, 2L, 2L, 1L), counts);
+
+        assertEquals(2, notificationRepository.markAllAsReadByUserId(1L));
+        assertEquals(0L, notificationRepository.countByUserIdAndIsReadFalse(1L));
+        assertEquals(1L, notificationRepository.countByUserIdAndIsReadFalse(2L));
+    }
+
+    @Test
+    void testMarkNotificationAsReadOnlyOnce() {
+        Notification notification = entityManager.persist(new Notification(1L, "NEW_OFFER", "Nouvelle offre", 10L));
+
+        assertEquals(1, notificationRepository.markAsReadIfUnread(notification.getId()));
+        // Seconde lecture (ou lecture concurrente) : déjà lue, rien à décrémenter
+        assertEquals(0, notificationRepository.markAsReadIfUnread(notification.getId()));
+        assertEquals(0L, notificationRepository.countByUserIdAndIsReadFalse(1L));
+    }
+
+    private void message(Conversation conversation, User sender, User receiver) {
+        Message message = new Message(sender, receiver, "Bonjour");
+        message.setConversation(conversation);
+        entityManager.persist(message);
+    }
+}
@@ -0,0 +1,84 @@
+package com.saf.userservice.repository;
+
+import com.saf.userservice.model.Conversation;
+import com.saf.userservice.model.Message;
+import com.saf.userservice.model.User;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MessageRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    private Conversation conversation;
+    private final LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        User alice = entityManager.persist(new User("alice", "alice@example.com", "secret"));
+        User bob = entityManager.persist(new User("bob", "bob@example.com", "secret"));
+        conversation = entityManager.persist(new Conversation(alice, bob));
+
+        // m2 et m3 envoyés à la même seconde : l'id départage
+        message(alice, bob, "m1", base);
+        message(bob, alice, "m2", base.plusMinutes(1));
+        message(alice, bob, "m3", base.plusMinutes(1));
+        message(bob, alice, "m4", base.plusMinutes(2));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindConversationPage_WalksBackwards() {
+        List<Message> first = messageRepository.findConversationPage(conversation.getId(), null, null,
+                PageRequest.of(0, 2));
+        assertEquals(List.of("m4", "m3"), contents(first));
+
+        Message oldest = first.get(1);
+        List<Message> second = messageRepository.findConversationPage(conversation.getId(),
+                oldest.getSentAt(), oldest.getId(), PageRequest.of(0, 2));
+        assertEquals(List.of("m2", "m1"), contents(second));
+
+        Message last = second.get(1);
+        assertTrue(messageRepository.findConversationPage(conversation.getId(),
+                last.getSentAt(), last.getId(), PageRequest.of(0, 2)).isEmpty());
+    }
+
+    @Test
+    void testFindConversationPage_FetchesParticipants() {
+        List<Message> page = messageRepository.findConversationPage(conversation.getId(), null, null,
+                PageRequest.of(0, 10));
+
+        assertEquals(4, page.size());
+        assertTrue(page.stream().allMatch(m -> Hibernate.isInitialized(m.getSender())
+                && Hibernate.isInitialized(m.getReceiver())));
+    }
+
+    private void message(User sender, User receiver, String content, LocalDateTime sentAt) {
+        Message message = new Message(sender, receiver, content);
+        message.setConversation(conversation);
+        message.setSentAt(sentAt);
+        entityManager.persist(message);
+    }
+
+    private static List<String> contents(List<Message> messages) {
+        return messages.stream().map(Message::getContent).toList();
+    }
+}
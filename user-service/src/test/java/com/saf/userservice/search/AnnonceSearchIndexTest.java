@@ -0,0 +1,108 @@
+package com.saf.userservice.search;
+
+import com.saf.userservice.model.Annonce;
+import com.saf.userservice.repository.AnnonceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AnnonceSearchIndexTest {
+
+    private AnnonceRepository annonceRepository;
+    private AnnonceSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        annonceRepository = mock(AnnonceRepository.class);
+        when(annonceRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenReturn(List.of(
+                annonce(1L, "Thriller", "Michael Jackson", "Pop", "Pressage original"),
+                annonce(2L, "Bad", "Michael Jackson", "Pop", null),
+                annonce(3L, "Kind of Blue", "Miles Davis", "Jazz", "Vinyle proche du Thriller"),
+                annonce(4L, "Éléphant", "Étienne Daho", "Chanson", null)));
+        index = new AnnonceSearchIndex(annonceRepository, "", 100);
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Test
+    void testSearchCoversAllFieldsAndRanksTitleFirst() {
+        assertEquals(List.of(1L, 3L), index.search("thriller"));
+        assertEquals(List.of(3L), index.search("jazz"));
+    }
+
+    @Test
+    void testSearchByPrefixRequiresEveryWord() {
+        assertEquals(List.of(1L, 2L), index.search("mich jack").stream().sorted().toList());
+        assertEquals(List.of(2L), index.search("mich bad"));
+    }
+
+    @Test
+    void testSearchIgnoresAccentsAndCase() {
+        assertEquals(List.of(4L), index.search("elephant"));
+        assertEquals(List.of(4L), index.search("ETIENNE"));
+        assertTrue(index.search("   ").isEmpty());
+    }
+
+    @Test
+    void testIndexAndRemoveAreVisibleImmediately() {
+        index.index(annonce(5L, "Thriller 25", "Michael Jackson", "Pop", null));
+        assertTrue(index.search("thriller").contains(5L));
+
+        index.index(annonce(5L, "Dangerous", "Michael Jackson", "Pop", null));
+        assertFalse(index.search("thriller").contains(5L));
+
+        index.remove(1L);
+        assertEquals(List.of(3L), index.search("thriller"));
+    }
+
+    @Test
+    void testUnavailableAnnoncesAreNotReturned() {
+        Annonce vendue = annonce(1L, "Thriller", "Michael Jackson", "Pop", "Pressage original");
+        vendue.setDisponible(false);
+        index.index(vendue);
+        assertEquals(List.of(3L), index.search("thriller"));
+
+        vendue.setDisponible(true);
+        index.index(vendue);
+        assertEquals(List.of(1L, 3L), index.search("thriller"));
+    }
+
+    @Test
+    void testIndexOnDiskIsReusedOnlyAfterCleanClose(@TempDir Path dir) throws IOException {
+        AnnonceSearchIndex onDisk = new AnnonceSearchIndex(annonceRepository, dir.toString(), 100);
+        onDisk.rebuild();
+        onDisk.index(annonce(5L, "Thriller 25", "Michael Jackson", "Pop", null));
+        onDisk.close();
+
+        AnnonceSearchIndex reopened = new AnnonceSearchIndex(annonceRepository, dir.toString(), 100);
+        reopened.rebuild();
+        assertEquals(List.of(1L, 3L, 5L), reopened.search("thriller").stream().sorted().toList());
+        // Lectures de setUp et du premier démarrage ; la réouverture ne relit pas la base
+        verify(annonceRepository, times(2)).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+        reopened.close();
+    }
+
+    private static Annonce annonce(Long id, String titre, String artiste, String genre, String description) {
+        Annonce annonce = new Annonce();
+        annonce.setId(id);
+        annonce.setTitre(titre);
+        annonce.setArtiste(artiste);
+        annonce.setGenre(genre);
+        annonce.setDescription(description);
+        return annonce;
+    }
+}
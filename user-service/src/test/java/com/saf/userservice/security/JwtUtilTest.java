@@ -0,0 +1,119 @@
+package com.saf.userservice.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKeyForJWTTokenGenerationInTestEnvironmentOnly12345";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayIdentity gatewayIdentity = new GatewayIdentity("gatewaySecret");
+
+    @Test
+    void testParse_ReadsAllClaimsOnce() {
+        JwtUtil jwtUtil = jwtUtil(3600000L);
+        String token = jwtUtil.generateToken("alice", 42L, "USER");
+
+        JwtClaims claims = jwtUtil.parse(token);
+
+        assertEquals("alice", claims.username());
+        assertEquals(42L, claims.userId());
+        assertEquals("USER", claims.role());
+        assertFalse(claims.isExpired());
+        assertTrue(jwtUtil.validateToken(token, "alice"));
+        assertFalse(jwtUtil.validateToken(token, "bob"));
+    }
+
+    @Test
+    void testParse_SecondCallIsServedFromCache() {
+        JwtUtil jwtUtil = jwtUtil(3600000L);
+        String token = jwtUtil.generateToken("alice", 42L, "USER");
+
+        JwtClaims first = jwtUtil.parse(token);
+        assertSame(first, jwtUtil.parse(token));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwtClaims").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testParse_RejectsForgedAndExpiredTokens() {
+        JwtUtil jwtUtil = jwtUtil(3600000L);
+        String token = jwtUtil.generateToken("alice", 42L, "USER");
+        jwtUtil.parse(token);
+
+        // Signature altérée : le cache (clé = hash du token complet) ne la couvre pas
+        String forged = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThrows(JwtException.class, () -> jwtUtil.parse(forged));
+
+        JwtUtil expiring = jwtUtil(-1000L);
+        String expired = expiring.generateToken("alice", 42L, "USER");
+        assertThrows(ExpiredJwtException.class, () -> expiring.parse(expired));
+    }
+
+    @Test
+    void testParseRequest_VerifiesOncePerRequest() {
+        JwtUtil jwtUtil = jwtUtil(3600000L);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertNull(jwtUtil.parse(request));
+
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("alice", 42L, "USER"));
+        JwtClaims claims = jwtUtil.parse(request);
+
+        assertEquals(42L, claims.userId());
+        assertSame(claims, request.getAttribute(JwtClaims.class.getName()));
+        assertSame(claims, jwtUtil.parse(request));
+    }
+
+    @Test
+    void testParseRequest_TrustsSignedGatewayIdentity() {
+        JwtUtil jwtUtil = jwtUtil(3600000L);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        long expires = Instant.now().plusSeconds(60).getEpochSecond();
+        identity(request, "7", "h%C3%A9l%C3%A8ne", "ADMIN", expires);
+
+        JwtClaims claims = jwtUtil.parse(request);
+
+        assertEquals(7L, claims.userId());
+        assertEquals("hélène", claims.username());
+        assertEquals("ADMIN", claims.role());
+    }
+
+    @Test
+    void testParseRequest_RejectsTamperedOrExpiredIdentity() {
+        JwtUtil jwtUtil = jwtUtil(3600000L);
+        long expires = Instant.now().plusSeconds(60).getEpochSecond();
+
+        MockHttpServletRequest tampered = new MockHttpServletRequest();
+        identity(tampered, "7", "alice", "USER", expires);
+        tampered.removeHeader(GatewayIdentity.USER_ROLE);
+        tampered.addHeader(GatewayIdentity.USER_ROLE, "ADMIN");
+        assertThrows(JwtException.class, () -> jwtUtil.parse(tampered));
+
+        MockHttpServletRequest expired = new MockHttpServletRequest();
+        identity(expired, "7", "alice", "USER", Instant.now().minusSeconds(1).getEpochSecond());
+        assertThrows(JwtException.class, () -> jwtUtil.parse(expired));
+    }
+
+    private void identity(MockHttpServletRequest request, String userId, String username, String role, long expires) {
+        request.addHeader(GatewayIdentity.USER_ID, userId);
+        request.addHeader(GatewayIdentity.USER_NAME, username);
+        request.addHeader(GatewayIdentity.USER_ROLE, role);
+        request.addHeader(GatewayIdentity.EXPIRES, String.valueOf(expires));
+        byte[] signature = gatewayIdentity.sign(userId + "\n" + username + "\n" + role + "\n" + expires);
+        request.addHeader(GatewayIdentity.SIGNATURE, Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+    }
+
+    private JwtUtil jwtUtil(long expiration) {
+        return new JwtUtil(SECRET, expiration, Duration.ofMinutes(10), 100, meterRegistry, gatewayIdentity);
+    }
+}
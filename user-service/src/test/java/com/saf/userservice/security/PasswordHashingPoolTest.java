@@ -0,0 +1,78 @@
+package com.saf.userservice.security;
+
+import com.saf.actorpool.MailboxOverflowException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingPoolTest {
+
+    private PasswordHashingPool pool;
+
+    @AfterEach
+    void tearDown() {
+        pool.destroy();
+    }
+
+    @Test
+    void testEncodeAndMatches() throws Exception {
+        pool = new PasswordHashingPool(new BCryptPasswordEncoder(4), 2, 8, new SimpleMeterRegistry());
+
+        String hash = pool.encode("secret").get(5, TimeUnit.SECONDS);
+
+        assertTrue(pool.matches("secret", hash).get(5, TimeUnit.SECONDS));
+        assertFalse(pool.matches("autre", hash).get(5, TimeUnit.SECONDS));
+        assertEquals(2, pool.getThreads());
+    }
+
+    @Test
+    void testShedsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pool = new PasswordHashingPool(new BlockingEncoder(started, release), 1, 1, new SimpleMeterRegistry());
+
+        // Un hachage en cours, un en attente : le troisième est refusé immédiatement
+        CompletableFuture<Boolean> running = pool.matches("a", "a");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = pool.matches("b", "b");
+        CompletableFuture<Boolean> shed = pool.matches("c", "c");
+
+        ExecutionException error = assertThrows(ExecutionException.class, shed::get);
+        assertTrue(MailboxOverflowException.isCause(error));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Encodeur qui bloque jusqu'au signal du test, pour remplir le pool
+     */
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.saf.userservice.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceIdentityTest {
+
+    private static final String PATH = "/api/annonces/42/reserve";
+    private static final String QUERY = "version=3&token=abc";
+
+    private final ServiceIdentity serviceIdentity = new ServiceIdentity(new GatewayIdentity("gatewaySecret"));
+
+    @Test
+    void testVerify_AcceptsSignedCall() {
+        long now = Instant.now().getEpochSecond();
+
+        assertEquals("transaction-service", serviceIdentity.verify(request("PUT", PATH, now,
+                serviceIdentity.sign("transaction-service", "PUT", PATH, QUERY, now))));
+    }
+
+    @Test
+    void testVerify_SignatureIsBoundToQueryString() {
+        long now = Instant.now().getEpochSecond();
+        String signature = serviceIdentity.sign("transaction-service", "PUT", PATH, QUERY, now);
+
+        // Même appel rejoué avec un autre token, une autre version ou sans paramètres
+        MockHttpServletRequest otherToken = request("PUT", PATH, now, signature);
+        otherToken.setQueryString("version=3&token=autre");
+        assertNull(serviceIdentity.verify(otherToken));
+        MockHttpServletRequest otherVersion = request("PUT", PATH, now, signature);
+        otherVersion.setQueryString("version=4&token=abc");
+        assertNull(serviceIdentity.verify(otherVersion));
+        MockHttpServletRequest noQuery = request("PUT", PATH, now, signature);
+        noQuery.setQueryString(null);
+        assertNull(serviceIdentity.verify(noQuery));
+    }
+
+    @Test
+    void testVerify_SignatureIsBoundToMethodAndPath() {
+        long now = Instant.now().getEpochSecond();
+        String signature = serviceIdentity.sign("transaction-service", "PUT", PATH, QUERY, now);
+
+        assertNull(serviceIdentity.verify(request("PUT", "/api/annonces/43/reserve", now, signature)));
+        assertNull(serviceIdentity.verify(request("DELETE", PATH, now, signature)));
+    }
+
+    @Test
+    void testVerify_RejectsStaleOrForeignSignature() {
+        long stale = Instant.now().minusSeconds(300).getEpochSecond();
+        assertNull(serviceIdentity.verify(request("PUT", PATH, stale,
+                serviceIdentity.sign("transaction-service", "PUT", PATH, QUERY, stale))));
+
+        long now = Instant.now().getEpochSecond();
+        String foreign = new ServiceIdentity(new GatewayIdentity("autreSecret"))
+                .sign("transaction-service", "PUT", PATH, QUERY, now);
+        assertNull(serviceIdentity.verify(request("PUT", PATH, now, foreign)));
+        assertNull(serviceIdentity.verify(request("PUT", PATH, now, "pas du base64 !")));
+    }
+
+    @Test
+    void testVerify_IgnoresRequestsWithoutServiceHeaders() {
+        assertNull(serviceIdentity.verify(new MockHttpServletRequest("PUT", PATH)));
+    }
+
+    private static MockHttpServletRequest request(String method, String path, long timestamp, String signature) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setQueryString(QUERY);
+        request.addHeader(ServiceIdentity.SERVICE, "transaction-service");
+        request.addHeader(ServiceIdentity.TIMESTAMP, String.valueOf(timestamp));
+        request.addHeader(ServiceIdentity.SIGNATURE, signature);
+        return request;
+    }
+}
@@ -0,0 +1,31 @@
+package com.saf.userservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamTicketsTest {
+
+    private final StreamTickets streamTickets = new StreamTickets(new GatewayIdentity("gatewaySecret"),
+            Duration.ofSeconds(30));
+
+    @Test
+    void testRedeem_TicketIsSingleUse() {
+        String ticket = streamTickets.issue(42L);
+
+        assertEquals(42L, streamTickets.redeem(ticket));
+        assertNull(streamTickets.redeem(ticket));
+    }
+
+    @Test
+    void testRedeem_RejectsTamperedOrForeignTicket() {
+        String ticket = streamTickets.issue(42L);
+
+        assertNull(streamTickets.redeem("43" + ticket.substring(2)));
+        assertNull(new StreamTickets(new GatewayIdentity("autreSecret"), Duration.ofSeconds(30)).redeem(ticket));
+        assertNull(streamTickets.redeem("pas-un-ticket"));
+        assertNull(streamTickets.redeem(null));
+    }
+}
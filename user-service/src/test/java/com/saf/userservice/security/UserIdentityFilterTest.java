@@ -0,0 +1,54 @@
+package com.saf.userservice.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserIdentityFilterTest {
+
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final UserIdentityFilter filter = new UserIdentityFilter(jwtUtil);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRoleOfVerifiedUserIsGranted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/metrics");
+        when(jwtUtil.parse(request)).thenReturn(new JwtClaims("admin", 1L, "ADMIN", Instant.now().plusSeconds(60)));
+        Authentication[] seen = new Authentication[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen[0] = SecurityContextHolder.getContext().getAuthentication());
+
+        assertNotNull(seen[0]);
+        assertEquals(List.of("ROLE_ADMIN"), seen[0].getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void testInvalidIdentityLeavesRequestAnonymous() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/metrics");
+        when(jwtUtil.parse(request)).thenThrow(new JwtException("Signature d'identité invalide"));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
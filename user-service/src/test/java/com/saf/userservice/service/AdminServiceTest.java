@@ -1,5 +1,8 @@
 package com.saf.userservice.service;
 
+import com.saf.core.ActorSystem;
+import com.saf.core.EventBus;
+import com.saf.userservice.actor.messages.AnnonceMessages.AnnonceChanged;
 import com.saf.userservice.dto.*;
 import com.saf.userservice.model.AdminAction;
 import com.saf.userservice.model.Annonce;
@@ -7,6 +10,7 @@ import com.saf.userservice.model.User;
 import com.saf.userservice.repository.AdminActionRepository;
 import com.saf.userservice.repository.AnnonceRepository;
 import com.saf.userservice.repository.UserRepository;
+import com.saf.userservice.search.AnnonceSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,9 +45,18 @@ class AdminServiceTest {
     @Mock
     private AdminActionRepository adminActionRepository;
 
+    @Mock
+    private AnnonceSearchIndex annonceSearchIndex;
+
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private ActorSystem actorSystem;
+
+    @Mock
+    private EventBus eventBus;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -195,6 +208,7 @@ class AdminServiceTest {
         // Arrange
         when(annonceRepository.findById(1L)).thenReturn(Optional.of(testAnnonce));
         when(adminActionRepository.save(any(AdminAction.class))).thenReturn(new AdminAction());
+        when(actorSystem.getEventBus()).thenReturn(eventBus);
 
         // Act
         Map<String, Object> result = adminService.deleteAnnonce(1L, "Contenu inapproprié");
@@ -203,6 +217,8 @@ class AdminServiceTest {
         assertTrue((Boolean) result.get("success"));
         assertEquals("Annonce supprimée avec succès", result.get("message"));
         verify(annonceRepository).delete(testAnnonce);
+        verify(annonceSearchIndex).remove(1L);
+        verify(eventBus).publish(new AnnonceChanged(1L));
         verify(adminActionRepository).save(any(AdminAction.class));
     }
 
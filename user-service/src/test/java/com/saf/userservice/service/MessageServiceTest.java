@@ -2,9 +2,13 @@ package com.saf.userservice.service;
 
 import com.saf.userservice.dto.ConversationDTO;
 import com.saf.userservice.dto.MessageDTO;
+import com.saf.userservice.dto.MessagePageDTO;
+import com.saf.userservice.dto.PageCursor;
 import com.saf.userservice.model.Conversation;
 import com.saf.userservice.model.Message;
 import com.saf.userservice.model.User;
+import com.saf.userservice.push.PushService;
+import com.saf.userservice.push.UnreadCounters;
 import com.saf.userservice.repository.ConversationRepository;
 import com.saf.userservice.repository.MessageRepository;
 import com.saf.userservice.repository.UserRepository;
@@ -36,6 +40,12 @@ class MessageServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PushService pushService;
+
+    @Mock
+    private UnreadCounters unreadCounters;
+
     @InjectMocks
     private MessageService messageService;
 
@@ -80,6 +90,7 @@ class MessageServiceTest {
         assertEquals(2L, result.getReceiverId());
         verify(conversationRepository, times(2)).save(any(Conversation.class));
         verify(messageRepository).save(any(Message.class));
+        verify(pushService).newMessage(result);
     }
 
     @Test
@@ -126,11 +137,10 @@ class MessageServiceTest {
     @Test
     void testGetUserConversations() {
         // Arrange
-        List<Conversation> conversations = List.of(conversation);
-        List<Message> messages = List.of(message);
+        ConversationDTO summary = new ConversationDTO(1L, 2L, "receiver", "receiver@example.com",
+                "Hello!", LocalDateTime.now(), 0);
         
-        when(conversationRepository.findConversationsByUserId(1L)).thenReturn(conversations);
-        when(messageRepository.findByConversationId(1L)).thenReturn(messages);
+        when(conversationRepository.findConversationSummariesByUserId(1L)).thenReturn(List.of(summary));
 
         // Act
         List<ConversationDTO> result = messageService.getUserConversations(1L);
@@ -140,22 +150,43 @@ class MessageServiceTest {
         assertEquals(1, result.size());
         assertEquals(2L, result.get(0).getOtherUserId());
         assertEquals("receiver", result.get(0).getOtherUsername());
+        verify(messageRepository, never()).findByConversationId(any());
     }
 
     @Test
-    void testGetConversationMessages() {
+    void testGetConversationMessagesPage() {
+        // Arrange - les plus récents d'abord, un de plus que la taille demandée
+        LocalDateTime now = LocalDateTime.now();
+        Message newest = pageMessage(3L, "Troisième", now);
+        Message middle = pageMessage(2L, "Deuxième", now.minusMinutes(1));
+        Message oldest = pageMessage(1L, "Premier", now.minusMinutes(2));
+        PageCursor before = new PageCursor(now.plusMinutes(1), 10L);
+        when(conversationRepository.findById(1L)).thenReturn(Optional.of(conversation));
+        when(messageRepository.findConversationPage(eq(1L), eq(before.at()), eq(10L), any()))
+            .thenReturn(List.of(newest, middle, oldest));
+
+        // Act
+        MessagePageDTO page = messageService.getConversationMessagesPage(1L, 1L, before, 2);
+
+        // Assert
+        assertEquals(List.of("Deuxième", "Troisième"),
+            page.messages().stream().map(MessageDTO::getContent).toList());
+        assertEquals(new PageCursor(middle.getSentAt(), 2L), PageCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testGetConversationMessagesPage_LastPage() {
         // Arrange
-        List<Message> messages = List.of(message);
         when(conversationRepository.findById(1L)).thenReturn(Optional.of(conversation));
-        when(messageRepository.findByConversationId(1L)).thenReturn(messages);
+        when(messageRepository.findConversationPage(eq(1L), isNull(), isNull(), any()))
+            .thenReturn(List.of(message));
 
         // Act
-        List<MessageDTO> result = messageService.getConversationMessages(1L, 1L);
+        MessagePageDTO page = messageService.getConversationMessagesPage(1L, 2L, null, 30);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Hello!", result.get(0).getContent());
+        assertEquals(1, page.messages().size());
+        assertNull(page.nextCursor());
     }
 
     @Test
@@ -165,7 +196,7 @@ class MessageServiceTest {
 
         // Act & Assert
         assertThrows(RuntimeException.class, 
-            () -> messageService.getConversationMessages(1L, 999L));
+            () -> messageService.getConversationMessagesPage(1L, 999L, null, 30));
     }
 
     @Test
@@ -175,39 +206,35 @@ class MessageServiceTest {
 
         // Act & Assert
         assertThrows(RuntimeException.class, 
-            () -> messageService.getConversationMessages(999L, 1L));
+            () -> messageService.getConversationMessagesPage(999L, 1L, null, 30));
     }
 
     @Test
     void testMarkConversationAsRead() {
         // Arrange
-        Message unreadMessage = new Message(sender, receiver, "Test");
-        unreadMessage.setId(2L);
-        unreadMessage.setRead(false);
-        List<Message> messages = List.of(unreadMessage);
-        
-        when(messageRepository.findByConversationId(1L)).thenReturn(messages);
-        when(messageRepository.save(any(Message.class))).thenReturn(unreadMessage);
+        when(messageRepository.markConversationMessagesAsRead(1L, 2L)).thenReturn(3);
 
         // Act
-        messageService.markConversationAsRead(1L, 2L);
+        int count = messageService.markConversationAsRead(1L, 2L);
 
         // Assert
-        verify(messageRepository).save(unreadMessage);
-        assertTrue(unreadMessage.isRead());
-        assertNotNull(unreadMessage.getReadAt());
+        assertEquals(3, count);
+        verify(pushService).unreadMessages(2L, -3);
+        verify(messageRepository, never()).findByConversationId(any());
+        verify(messageRepository, never()).save(any(Message.class));
     }
 
     @Test
     void testGetUnreadMessageCount() {
         // Arrange
-        when(messageRepository.countUnreadMessages(1L)).thenReturn(5L);
+        when(unreadCounters.unreadMessages(1L)).thenReturn(5L);
 
         // Act
         long count = messageService.getUnreadMessageCount(1L);
 
         // Assert
         assertEquals(5L, count);
+        verify(messageRepository, never()).countUnreadMessages(any());
     }
 
     @Test
@@ -282,4 +309,12 @@ class MessageServiceTest {
         assertEquals("image/jpeg", result.getAttachmentType());
         assertEquals("photo.jpg", result.getAttachmentName());
     }
+
+    private Message pageMessage(Long id, String content, LocalDateTime sentAt) {
+        Message pageMessage = new Message(sender, receiver, content);
+        pageMessage.setId(id);
+        pageMessage.setSentAt(sentAt);
+        pageMessage.setConversation(conversation);
+        return pageMessage;
+    }
 }